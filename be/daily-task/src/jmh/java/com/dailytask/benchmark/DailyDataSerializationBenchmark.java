@@ -0,0 +1,59 @@
+package com.dailytask.benchmark;
+
+import com.dailytask.dto.response.DailyDataResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes {@code GET /daily-data/range} responses from a day up to the
+ * 365-day maximum, with the object mapper the message converters build.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DailyDataSerializationBenchmark {
+
+    @Param({"1", "7", "31", "365"})
+    private int days;
+
+    @Param({"5"})
+    private int tasksPerDay;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<DailyDataResponse> range;
+
+    @Setup
+    public void setUp() {
+        range = Fixtures.dailyDataRange(days, tasksPerDay);
+    }
+
+    @Benchmark
+    public void writeRange() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), range);
+    }
+
+    @Benchmark
+    public byte[] writeRangeAsBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(range);
+    }
+}
@@ -0,0 +1,139 @@
+package com.dailytask.benchmark;
+
+import com.dailytask.dto.response.DailyDataResponse;
+import com.dailytask.dto.response.EnergyAssessmentResponse;
+import com.dailytask.dto.response.ReflectionResponse;
+import com.dailytask.dto.response.TaskResponse;
+import com.dailytask.entity.EnergyAssessment;
+import com.dailytask.entity.Reflection;
+import com.dailytask.entity.Task;
+import com.dailytask.entity.User;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Entities and responses shaped like a typical user's data: about five tasks a
+ * day, a few sentences of reflection and audit timestamps on everything.
+ */
+public final class Fixtures {
+
+    public static final String USERNAME = "alice.martin";
+    public static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    private static final LocalDateTime CREATED_AT = DATE.atTime(8, 15, 30);
+    private static final String[] TITLES = {
+        "Review pull requests", "Plan sprint goals", "Gym session", "Call the dentist", "Write weekly report"
+    };
+    private static final String DESCRIPTION = "Go through the open items from yesterday and note anything blocked for the stand-up.";
+    private static final String REFLECTION_TEXT = "Productive morning, most of the planned work got done before lunch. "
+        + "The afternoon was broken up by meetings, so the report slipped to tomorrow. "
+        + "Energy dipped around three; a short walk helped more than coffee did.";
+
+    private static final Map<Class<?>, Object> NO_OP_PROXIES = new ConcurrentHashMap<>();
+
+    private Fixtures() {
+    }
+
+    public static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername(USERNAME);
+        user.setCreatedAt(CREATED_AT);
+        return user;
+    }
+
+    public static Task task(long id, LocalDate date) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(TITLES[(int) (id % TITLES.length)]);
+        task.setDescription(DESCRIPTION);
+        task.setDate(date);
+        task.setCompleted(id % 3 != 0);
+        task.setStarred(id % 5 == 0);
+        task.setCreatedAt(CREATED_AT);
+        task.setUpdatedAt(CREATED_AT);
+        task.setUser(user());
+        return task;
+    }
+
+    public static Reflection reflection(LocalDate date) {
+        Reflection reflection = new Reflection();
+        reflection.setId(1L);
+        reflection.setDate(date);
+        reflection.setEnergyRating(7);
+        reflection.setReflectionText(REFLECTION_TEXT);
+        reflection.setCreatedAt(CREATED_AT);
+        reflection.setUpdatedAt(CREATED_AT);
+        reflection.setUser(user());
+        return reflection;
+    }
+
+    public static EnergyAssessment energyAssessment(LocalDate date) {
+        EnergyAssessment energyAssessment = new EnergyAssessment();
+        energyAssessment.setId(1L);
+        energyAssessment.setDate(date);
+        energyAssessment.setEnergyLevel(4);
+        energyAssessment.setCreatedAt(CREATED_AT);
+        energyAssessment.setUpdatedAt(CREATED_AT);
+        energyAssessment.setUser(user());
+        return energyAssessment;
+    }
+
+    public static List<TaskResponse> taskResponses(LocalDate date, int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> {
+                long id = date.toEpochDay() * 10 + i;
+                return new TaskResponse(id, TITLES[i % TITLES.length], DESCRIPTION, date, i % 3 != 0, i % 5 == 0,
+                    USERNAME, CREATED_AT, CREATED_AT);
+            })
+            .toList();
+    }
+
+    public static ReflectionResponse reflectionResponse(LocalDate date) {
+        return new ReflectionResponse(date.toEpochDay(), date, 7, REFLECTION_TEXT, USERNAME, CREATED_AT, CREATED_AT);
+    }
+
+    public static EnergyAssessmentResponse energyAssessmentResponse(LocalDate date) {
+        return new EnergyAssessmentResponse(date.toEpochDay(), date, 4, USERNAME, CREATED_AT, CREATED_AT);
+    }
+
+    /** What {@code GET /daily-data/range} returns for {@code days} days ending on {@link #DATE}. */
+    public static List<DailyDataResponse> dailyDataRange(int days, int tasksPerDay) {
+        List<DailyDataResponse> range = new ArrayList<>(days);
+        for (LocalDate date = DATE.minusDays(days - 1L); !date.isAfter(DATE); date = date.plusDays(1)) {
+            List<TaskResponse> tasks = taskResponses(date, tasksPerDay);
+            long completed = tasks.stream().filter(TaskResponse::completed).count();
+            long starred = tasks.stream().filter(TaskResponse::starred).count();
+            range.add(new DailyDataResponse(USERNAME, date, tasks, reflectionResponse(date), energyAssessmentResponse(date),
+                new DailyDataResponse.DailyStats(tasks.size(), completed, tasks.size() - completed, starred, 7.0, 4.0)));
+        }
+        return range;
+    }
+
+    /**
+     * A context that accepts and discards violations, so validators can be
+     * called outside Hibernate Validator. Its builders are created once.
+     */
+    public static ConstraintValidatorContext constraintValidatorContext() {
+        return noOp(ConstraintValidatorContext.class);
+    }
+
+    private static <T> T noOp(Class<T> type) {
+        return type.cast(NO_OP_PROXIES.computeIfAbsent(type, key -> Proxy.newProxyInstance(key.getClassLoader(),
+            new Class<?>[] {key}, (proxy, method, args) -> {
+                Class<?> returnType = method.getReturnType();
+                if (returnType.isInterface()) {
+                    return noOp(returnType);
+                }
+                return returnType == boolean.class ? false : null;
+            })));
+    }
+}
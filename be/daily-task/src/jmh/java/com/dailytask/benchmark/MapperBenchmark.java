@@ -0,0 +1,92 @@
+package com.dailytask.benchmark;
+
+import com.dailytask.dto.request.CreateEnergyAssessmentRequest;
+import com.dailytask.dto.request.CreateReflectionRequest;
+import com.dailytask.dto.request.CreateTaskRequest;
+import com.dailytask.dto.response.EnergyAssessmentResponse;
+import com.dailytask.dto.response.ReflectionResponse;
+import com.dailytask.dto.response.TaskResponse;
+import com.dailytask.entity.EnergyAssessment;
+import com.dailytask.entity.Reflection;
+import com.dailytask.entity.Task;
+import com.dailytask.mapper.EnergyAssessmentMapper;
+import com.dailytask.mapper.EnergyAssessmentMapperImpl;
+import com.dailytask.mapper.ReflectionMapper;
+import com.dailytask.mapper.ReflectionMapperImpl;
+import com.dailytask.mapper.TaskMapper;
+import com.dailytask.mapper.TaskMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.dailytask.benchmark.Fixtures.DATE;
+import static com.dailytask.benchmark.Fixtures.USERNAME;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final TaskMapper taskMapper = new TaskMapperImpl();
+    private final ReflectionMapper reflectionMapper = new ReflectionMapperImpl();
+    private final EnergyAssessmentMapper energyAssessmentMapper = new EnergyAssessmentMapperImpl();
+
+    private Task task;
+    private Reflection reflection;
+    private EnergyAssessment energyAssessment;
+    private CreateTaskRequest createTaskRequest;
+    private CreateReflectionRequest createReflectionRequest;
+    private CreateEnergyAssessmentRequest createEnergyAssessmentRequest;
+
+    @Setup
+    public void setUp() {
+        task = Fixtures.task(1L, DATE);
+        reflection = Fixtures.reflection(DATE);
+        energyAssessment = Fixtures.energyAssessment(DATE);
+        createTaskRequest = new CreateTaskRequest(task.getTitle(), task.getDescription(), DATE, USERNAME);
+        createReflectionRequest = new CreateReflectionRequest(DATE, reflection.getEnergyRating(), reflection.getReflectionText(), USERNAME);
+        createEnergyAssessmentRequest = new CreateEnergyAssessmentRequest(DATE, energyAssessment.getEnergyLevel(), USERNAME);
+    }
+
+    @Benchmark
+    public TaskResponse taskToResponse() {
+        return taskMapper.toResponse(task);
+    }
+
+    @Benchmark
+    public Task taskToEntity() {
+        return taskMapper.toEntity(createTaskRequest);
+    }
+
+    @Benchmark
+    public ReflectionResponse reflectionToResponse() {
+        return reflectionMapper.toResponse(reflection);
+    }
+
+    @Benchmark
+    public Reflection reflectionToEntity() {
+        return reflectionMapper.toEntity(createReflectionRequest);
+    }
+
+    @Benchmark
+    public EnergyAssessmentResponse energyAssessmentToResponse() {
+        return energyAssessmentMapper.toResponse(energyAssessment);
+    }
+
+    @Benchmark
+    public EnergyAssessment energyAssessmentToEntity() {
+        return energyAssessmentMapper.toEntity(createEnergyAssessmentRequest);
+    }
+}
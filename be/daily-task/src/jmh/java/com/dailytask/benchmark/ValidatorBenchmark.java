@@ -0,0 +1,79 @@
+package com.dailytask.benchmark;
+
+import com.dailytask.dto.request.CreateReflectionRequest;
+import com.dailytask.dto.request.CreateTaskRequest;
+import com.dailytask.validation.DateValidator;
+import com.dailytask.validation.UsernameValidator;
+import com.dailytask.validation.ValidDate;
+import jakarta.validation.ConstraintValidatorContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the validators with the settings the request records declare. The
+ * usernames cover a valid name, a reserved one, a rule violation after the
+ * pattern matched and a pattern mismatch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private static final ConstraintValidatorContext CONTEXT = Fixtures.constraintValidatorContext();
+
+    @State(Scope.Benchmark)
+    public static class Usernames {
+
+        @Param({"alice.martin", "support", "-alice", "a"})
+        private String username;
+
+        private final UsernameValidator validator = new UsernameValidator();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Dates {
+
+        @Param({"0", "-10", "400"})
+        private int daysFromToday;
+
+        private final DateValidator taskDateValidator = new DateValidator();
+        private final DateValidator reflectionDateValidator = new DateValidator();
+        private LocalDate date;
+
+        @Setup
+        public void setUp() throws NoSuchFieldException {
+            taskDateValidator.initialize(CreateTaskRequest.class.getDeclaredField("date").getAnnotation(ValidDate.class));
+            reflectionDateValidator.initialize(CreateReflectionRequest.class.getDeclaredField("date").getAnnotation(ValidDate.class));
+            date = LocalDate.now().plusDays(daysFromToday);
+        }
+    }
+
+    @Benchmark
+    public boolean username(Usernames usernames) {
+        return usernames.validator.isValid(usernames.username, CONTEXT);
+    }
+
+    @Benchmark
+    public boolean taskDate(Dates dates) {
+        return dates.taskDateValidator.isValid(dates.date, CONTEXT);
+    }
+
+    @Benchmark
+    public boolean reflectionDate(Dates dates) {
+        return dates.reflectionDateValidator.isValid(dates.date, CONTEXT);
+    }
+}
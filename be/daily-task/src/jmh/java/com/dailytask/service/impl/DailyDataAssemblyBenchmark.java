@@ -0,0 +1,56 @@
+package com.dailytask.service.impl;
+
+import com.dailytask.benchmark.Fixtures;
+import com.dailytask.dto.response.DailyDataResponse;
+import com.dailytask.dto.response.EnergyAssessmentResponse;
+import com.dailytask.dto.response.ReflectionResponse;
+import com.dailytask.dto.response.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.dailytask.benchmark.Fixtures.DATE;
+import static com.dailytask.benchmark.Fixtures.USERNAME;
+
+/**
+ * Builds one day's response and its {@link DailyDataResponse.DailyStats} from
+ * already loaded rows, as every daily data endpoint does once per day.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DailyDataAssemblyBenchmark {
+
+    @Param({"0", "5", "20"})
+    private int tasksPerDay;
+
+    private List<TaskResponse> tasks;
+    private ReflectionResponse reflection;
+    private EnergyAssessmentResponse energyAssessment;
+
+    @Setup
+    public void setUp() {
+        tasks = Fixtures.taskResponses(DATE, tasksPerDay);
+        reflection = Fixtures.reflectionResponse(DATE);
+        energyAssessment = Fixtures.energyAssessmentResponse(DATE);
+    }
+
+    @Benchmark
+    public DailyDataResponse buildDailyData() {
+        return DailyDataServiceImpl.buildDailyData(USERNAME, DATE, tasks, reflection, energyAssessment);
+    }
+}
@@ -0,0 +1,40 @@
+package com.dailytask.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one operation in microseconds, at three significant digits,
+ * plus how many of its requests failed.
+ */
+final class EndpointStats {
+
+    private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+    private volatile String lastError;
+
+    void record(long nanos) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    void recordError(long nanos, String error) {
+        record(nanos);
+        errors.increment();
+        lastError = error;
+    }
+
+    Histogram latencies() {
+        return latencies.copy();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    String lastError() {
+        return lastError;
+    }
+}
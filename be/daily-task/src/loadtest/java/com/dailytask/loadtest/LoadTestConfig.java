@@ -0,0 +1,114 @@
+package com.dailytask.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Settings for one run, read from {@code --name=value} arguments:
+ * <ul>
+ *   <li>{@code users} - simulated users, each on its own thread (default 50)</li>
+ *   <li>{@code warmup}, {@code duration} - unrecorded then recorded phase, e.g. {@code 30s} (default 15s, 60s)</li>
+ *   <li>{@code think-time} - pause between a user's requests (default 0)</li>
+ *   <li>{@code mix} - weights per operation, e.g. {@code daily-data:40,toggle-task:25}; unlisted operations are not run</li>
+ *   <li>{@code history-days} - days of tasks and check-ins each user starts with (default 30)</li>
+ *   <li>{@code database-url}, {@code database-username}, {@code database-password} - an existing, empty
+ *       PostgreSQL database to use instead of starting an embedded one</li>
+ *   <li>{@code report} - where to write the JSON report (default target/loadtest-report.json)</li>
+ *   <li>{@code seed} - random seed, so runs replay the same sequence per user (default 42)</li>
+ * </ul>
+ */
+record LoadTestConfig(
+    int users,
+    Duration warmup,
+    Duration duration,
+    Duration thinkTime,
+    Map<Operation, Integer> mix,
+    int historyDays,
+    String databaseUrl,
+    String databaseUsername,
+    String databasePassword,
+    Path report,
+    long seed
+) {
+
+    private static final Set<String> OPTIONS = Set.of("users", "warmup", "duration", "think-time", "mix", "history-days",
+        "database-url", "database-username", "database-password", "report", "seed");
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option '" + name + "', expected one of " + new TreeSet<>(OPTIONS));
+            }
+            options.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+            Integer.parseInt(options.getOrDefault("users", "50")),
+            DurationStyle.detectAndParse(options.getOrDefault("warmup", "15s")),
+            DurationStyle.detectAndParse(options.getOrDefault("duration", "60s")),
+            DurationStyle.detectAndParse(options.getOrDefault("think-time", "0s")),
+            options.containsKey("mix") ? parseMix(options.get("mix")) : defaultMix(),
+            Integer.parseInt(options.getOrDefault("history-days", "30")),
+            options.get("database-url"),
+            options.getOrDefault("database-username", "postgres"),
+            options.getOrDefault("database-password", "postgres"),
+            Path.of(options.getOrDefault("report", "target/loadtest-report.json")),
+            Long.parseLong(options.getOrDefault("seed", "42")));
+        if (config.users() < 1 || config.duration().isZero() || config.mix().isEmpty()) {
+            throw new IllegalArgumentException("A run needs at least one user, a duration and one operation in the mix");
+        }
+        // Check-ins are limited to the last 30 days
+        if (config.historyDays() < 0 || config.historyDays() > 30) {
+            throw new IllegalArgumentException("history-days must be between 0 and 30");
+        }
+        return config;
+    }
+
+    /** The settings as written to the report, so two reports show what differed. */
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("users", users);
+        description.put("warmup", warmup.toString());
+        description.put("duration", duration.toString());
+        description.put("thinkTime", thinkTime.toString());
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((operation, weight) -> weights.put(operation.key(), weight));
+        description.put("mix", weights);
+        description.put("historyDays", historyDays);
+        description.put("database", databaseUrl != null ? "external" : "embedded");
+        description.put("seed", seed);
+        return description;
+    }
+
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        Arrays.stream(Operation.values()).forEach(operation -> mix.put(operation, operation.defaultWeight()));
+        return mix;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        return mix;
+    }
+}
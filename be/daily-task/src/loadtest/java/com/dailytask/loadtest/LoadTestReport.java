@@ -0,0 +1,100 @@
+package com.dailytask.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of a run: throughput and latency percentiles per operation and in
+ * total. Each entry also carries its full histogram, compressed and Base64
+ * encoded as HdrHistogram writes it, so runs can be compared beyond the
+ * percentiles listed here.
+ */
+record LoadTestReport(
+    Instant startedAt,
+    Map<String, Object> config,
+    double measuredSeconds,
+    Summary total,
+    Map<String, Summary> operations
+) {
+
+    record Summary(
+        String endpoint,
+        long requests,
+        long errors,
+        double throughput,
+        Map<String, Double> latencyMillis,
+        String lastError,
+        String histogram
+    ) {
+    }
+
+    static LoadTestReport of(Instant startedAt, LoadTestConfig config, long measuredNanos, Map<Operation, EndpointStats> stats) {
+        double seconds = measuredNanos / 1e9;
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        Map<String, Summary> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            Histogram latencies = entry.getValue().latencies();
+            all.add(latencies);
+            errors += entry.getValue().errors();
+            operations.put(entry.getKey().key(), summarize(entry.getKey().endpoint(), latencies, entry.getValue().errors(),
+                entry.getValue().lastError(), seconds));
+        }
+        return new LoadTestReport(startedAt, config.describe(), seconds, summarize(null, all, errors, null, seconds), operations);
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(path.toFile(), this);
+    }
+
+    void print(PrintStream out) {
+        String format = "%-20s %9s %7s %9s %9s %9s %9s %9s %9s%n";
+        out.printf(format, "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.forEach((name, summary) -> print(out, format, name, summary));
+        print(out, format, "total", total);
+    }
+
+    private static void print(PrintStream out, String format, String name, Summary summary) {
+        Map<String, Double> latency = summary.latencyMillis();
+        out.printf(format, name, summary.requests(), summary.errors(), "%.1f".formatted(summary.throughput()),
+            "%.2f".formatted(latency.get("p50")), "%.2f".formatted(latency.get("p90")), "%.2f".formatted(latency.get("p99")),
+            "%.2f".formatted(latency.get("p99.9")), "%.2f".formatted(latency.get("max")));
+    }
+
+    private static Summary summarize(String endpoint, Histogram latencies, long errors, String lastError, double seconds) {
+        Map<String, Double> latencyMillis = new LinkedHashMap<>();
+        latencyMillis.put("mean", latencies.getMean() / 1000);
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            String key = "p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile));
+            latencyMillis.put(key, latencies.getValueAtPercentile(percentile) / 1000.0);
+        }
+        latencyMillis.put("max", latencies.getMaxValue() / 1000.0);
+        return new Summary(endpoint, latencies.getTotalCount(), errors, latencies.getTotalCount() / seconds, latencyMillis,
+            lastError, encode(latencies));
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
@@ -0,0 +1,110 @@
+package com.dailytask.loadtest;
+
+import com.dailytask.DailyTaskApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Boots the application with the prod profile against an embedded PostgreSQL
+ * (or the database given with {@code --database-url}), signs up the simulated
+ * users, runs the workload mix through a warmup and a recorded phase, then
+ * prints the results and writes them as JSON. See {@link LoadTestConfig} for
+ * the arguments.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        // Devtools is on the test classpath; its restart would run main again with the application's arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        EmbeddedPostgres postgres = config.databaseUrl() == null ? EmbeddedPostgres.builder().start() : null;
+        try {
+            String databaseUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres") : config.databaseUrl();
+            try (ConfigurableApplicationContext application = new SpringApplicationBuilder(DailyTaskApplication.class).run(
+                    "--spring.profiles.active=prod",
+                    "--server.port=0",
+                    "--spring.datasource.url=" + databaseUrl,
+                    "--spring.datasource.username=" + config.databaseUsername(),
+                    "--spring.datasource.password=" + config.databasePassword(),
+                    "--spring.devtools.add-properties=false",
+                    "--logging.level.com.dailytask=WARN")) {
+                int port = application.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                LoadTestReport report = run(config, new ApiClient(URI.create("http://localhost:" + port), new ObjectMapper().findAndRegisterModules()));
+                report.print(System.out);
+                report.write(config.report());
+                System.out.println("Report written to " + config.report().toAbsolutePath());
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static LoadTestReport run(LoadTestConfig config, ApiClient api) throws Exception {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        config.mix().keySet().forEach(operation -> stats.put(operation, new EndpointStats()));
+        Workload workload = new Workload(config.mix());
+        AtomicBoolean recording = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 1; i <= config.users(); i++) {
+            users.add(new VirtualUser(api, "loaduser%05d".formatted(i), config, workload, stats, recording, running));
+        }
+
+        System.out.printf("Signing up %d users with %d days of history%n", config.users(), config.historyDays());
+        // Sign-ups are not measured, so they run only a few at a time rather than time out against each other
+        ExecutorService signUpThreads = Executors.newFixedThreadPool(
+            Math.min(config.users(), 4 * Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Callable<Void>> signUps = users.stream().<Callable<Void>>map(user -> () -> {
+                user.signUp();
+                return null;
+            }).toList();
+            for (Future<Void> signUp : signUpThreads.invokeAll(signUps)) {
+                signUp.get();
+            }
+        } finally {
+            signUpThreads.shutdownNow();
+        }
+
+        ExecutorService threads = Executors.newFixedThreadPool(config.users());
+        try {
+
+            System.out.printf("Warming up for %s, then recording for %s%n", config.warmup(), config.duration());
+            users.forEach(threads::execute);
+            Thread.sleep(config.warmup().toMillis());
+            Instant startedAt = Instant.now();
+            recording.set(true);
+            long start = System.nanoTime();
+            Thread.sleep(config.duration().toMillis());
+            recording.set(false);
+            long measuredNanos = System.nanoTime() - start;
+            running.set(false);
+            threads.shutdown();
+            threads.awaitTermination(1, TimeUnit.MINUTES);
+            return LoadTestReport.of(startedAt, config, measuredNanos, stats);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
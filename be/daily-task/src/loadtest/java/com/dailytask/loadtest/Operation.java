@@ -0,0 +1,47 @@
+package com.dailytask.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * A request a simulated user makes, with its share of the default mix. The
+ * defaults follow our traffic: mostly opening today, then ticking tasks off.
+ */
+enum Operation {
+
+    DAILY_DATA("daily-data", "GET /api/users/{username}/daily-data", 40),
+    TOGGLE_TASK("toggle-task", "PATCH /api/users/{username}/tasks/{id}/complete", 25),
+    CREATE_TASK("create-task", "POST /api/users/{username}/tasks", 10),
+    RANGE_DASHBOARD("range-dashboard", "GET /api/users/{username}/daily-data/range", 10),
+    ENERGY_CHECK_IN("energy-check-in", "POST /api/users/{username}/energy", 8),
+    REFLECTION_CHECK_IN("reflection-check-in", "POST /api/users/{username}/reflections", 7);
+
+    private final String key;
+    private final String endpoint;
+    private final int defaultWeight;
+
+    Operation(String key, String endpoint, int defaultWeight) {
+        this.key = key;
+        this.endpoint = endpoint;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+            .filter(operation -> operation.key.equals(key))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "', expected one of "
+                + Arrays.stream(values()).map(Operation::key).toList()));
+    }
+}
@@ -0,0 +1,152 @@
+package com.dailytask.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One simulated user: signs up with some history, then issues requests from
+ * the mix back to back (a closed loop), each as soon as the previous answered
+ * plus the think time.
+ */
+final class VirtualUser implements Runnable {
+
+    private static final int TASKS_PER_DAY = 5;
+    private static final int DAYS_AHEAD = 7;
+    // Spreads created tasks so long runs stay under the 50 tasks per day limit
+    private static final int CREATE_WINDOW_DAYS = 60;
+    private static final int BULK_LIMIT = 200;
+
+    private final ApiClient api;
+    private final String username;
+    private final String basePath;
+    private final LoadTestConfig config;
+    private final Workload workload;
+    private final Map<Operation, EndpointStats> stats;
+    private final AtomicBoolean recording;
+    private final AtomicBoolean running;
+    private final Random random;
+    private final List<Long> taskIds = new ArrayList<>();
+
+    VirtualUser(ApiClient api, String username, LoadTestConfig config, Workload workload,
+                Map<Operation, EndpointStats> stats, AtomicBoolean recording, AtomicBoolean running) {
+        this.api = api;
+        this.username = username;
+        this.basePath = "/api/users/" + username;
+        this.config = config;
+        this.workload = workload;
+        this.stats = stats;
+        this.recording = recording;
+        this.running = running;
+        this.random = new Random(config.seed() ^ username.hashCode());
+    }
+
+    /** Creates the user with tasks and check-ins for the configured history. */
+    void signUp() throws IOException, InterruptedException {
+        expectSuccess(api.send("POST", "/api/users", Map.of("username", username)));
+
+        LocalDate today = LocalDate.now();
+        List<Map<String, Object>> creates = new ArrayList<>();
+        for (LocalDate date = today.minusDays(config.historyDays()); !date.isAfter(today.plusDays(DAYS_AHEAD)); date = date.plusDays(1)) {
+            for (int i = 0; i < TASKS_PER_DAY; i++) {
+                creates.add(Map.of("title", "Task " + (i + 1), "description", "Seeded by the load test", "date", date.toString()));
+            }
+        }
+        for (int from = 0; from < creates.size(); from += BULK_LIMIT) {
+            List<Map<String, Object>> chunk = creates.subList(from, Math.min(from + BULK_LIMIT, creates.size()));
+            JsonNode created = api.read(expectSuccess(api.send("POST", basePath + "/tasks/bulk", Map.of("create", chunk)))).get("created");
+            created.forEach(task -> taskIds.add(task.get("id").asLong()));
+        }
+
+        for (LocalDate date = today.minusDays(config.historyDays()); date.isBefore(today); date = date.plusDays(1)) {
+            expectSuccess(checkInEnergy(date));
+            expectSuccess(checkInReflection(date));
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running.get()) {
+            Operation operation = workload.pick(random);
+            boolean recorded = recording.get();
+            long start = System.nanoTime();
+            String error;
+            try {
+                HttpResponse<String> response = execute(operation);
+                error = response.statusCode() / 100 == 2 ? null : "HTTP " + response.statusCode() + " " + response.body();
+            } catch (IOException e) {
+                error = e.toString();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long nanos = System.nanoTime() - start;
+            if (recorded) {
+                if (error == null) {
+                    stats.get(operation).record(nanos);
+                } else {
+                    stats.get(operation).recordError(nanos, error);
+                }
+            }
+            thinkTime();
+        }
+    }
+
+    private HttpResponse<String> execute(Operation operation) throws IOException, InterruptedException {
+        LocalDate today = LocalDate.now();
+        return switch (operation) {
+            case DAILY_DATA -> api.get(basePath + "/daily-data");
+            case RANGE_DASHBOARD -> api.get(basePath + "/daily-data/range?startDate=" + today.minusDays(29) + "&endDate=" + today);
+            case TOGGLE_TASK -> api.send("PATCH", basePath + "/tasks/" + taskIds.get(random.nextInt(taskIds.size())) + "/complete", null);
+            case CREATE_TASK -> createTask(today.plusDays(random.nextInt(CREATE_WINDOW_DAYS)));
+            case ENERGY_CHECK_IN -> checkInEnergy(today);
+            case REFLECTION_CHECK_IN -> checkInReflection(today);
+        };
+    }
+
+    private HttpResponse<String> createTask(LocalDate date) throws IOException, InterruptedException {
+        HttpResponse<String> response = api.send("POST", basePath + "/tasks", Map.of(
+            "title", "Follow up " + random.nextInt(1000), "description", "Created by the load test",
+            "date", date.toString(), "username", username));
+        if (response.statusCode() / 100 == 2) {
+            taskIds.add(api.read(response).get("id").asLong());
+        }
+        return response;
+    }
+
+    private HttpResponse<String> checkInEnergy(LocalDate date) throws IOException, InterruptedException {
+        return api.send("POST", basePath + "/energy", Map.of(
+            "date", date.toString(), "energyLevel", 1 + random.nextInt(5), "username", username));
+    }
+
+    private HttpResponse<String> checkInReflection(LocalDate date) throws IOException, InterruptedException {
+        return api.send("POST", basePath + "/reflections", Map.of(
+            "date", date.toString(), "energyRating", 1 + random.nextInt(10),
+            "reflectionText", "Steady day, got through most of the list.", "username", username));
+    }
+
+    private void thinkTime() {
+        if (!config.thinkTime().isZero()) {
+            try {
+                Thread.sleep(config.thinkTime().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static HttpResponse<String> expectSuccess(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Setup request " + response.request().method() + " " + response.request().uri()
+                + " failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
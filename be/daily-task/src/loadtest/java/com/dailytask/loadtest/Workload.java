@@ -0,0 +1,32 @@
+package com.dailytask.loadtest;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Picks operations at random in proportion to their weights in the mix.
+ */
+final class Workload {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(Map<Operation, Integer> mix) {
+        operations = mix.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation pick(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (roll >= cumulativeWeights[i]) {
+            i++;
+        }
+        return operations[i];
+    }
+}
@@ -0,0 +1,12 @@
+package com.dailytask.config;
+
+import com.dailytask.dataset.DatasetProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("dataset")
+@EnableConfigurationProperties(DatasetProperties.class)
+public class DatasetConfig {
+}
@@ -0,0 +1,23 @@
+package com.dailytask.config;
+
+import com.dailytask.metrics.QueryBudgetProperties;
+import com.dailytask.metrics.SqlStatementStats;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class MetricsConfig {
+
+    /**
+     * Applied by Spring Boot to the application task executor, which runs both
+     * fanned-out reads and async request processing, so their statements count
+     * against the request that started them.
+     */
+    @Bean
+    public TaskDecorator sqlStatementStatsTaskDecorator() {
+        return SqlStatementStats::propagate;
+    }
+}
@@ -0,0 +1,15 @@
+package com.dailytask.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+/**
+ * Kept off the application class so test slices without a servlet context,
+ * such as {@code @DataJpaTest}, can start from it.
+ */
+@Configuration
+@EnableWebMvc
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebMvcConfig {
+}
@@ -0,0 +1,59 @@
+package com.dailytask.controller;
+
+import com.dailytask.dto.response.ActivityCalendarResponse;
+import com.dailytask.dto.response.HeatmapResponse;
+import com.dailytask.service.DailyDataService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/users/{username}")
+@CrossOrigin(origins = "*")
+public class CalendarController {
+
+    private final DailyDataService dailyDataService;
+
+    @Autowired
+    public CalendarController(DailyDataService dailyDataService) {
+        this.dailyDataService = dailyDataService;
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<ActivityCalendarResponse> getActivityCalendar(
+            @PathVariable String username,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        // Either a whole year or month, or an explicit range such as the 42 cells of a month view
+        if (year != null) {
+            if (month != null && (month < 1 || month > 12)) {
+                throw new IllegalArgumentException("Month must be between 1 and 12");
+            }
+            YearMonth first = YearMonth.of(year, month != null ? month : 1);
+            YearMonth last = YearMonth.of(year, month != null ? month : 12);
+            startDate = first.atDay(1);
+            endDate = last.atEndOfMonth();
+        }
+        
+        ActivityCalendarResponse response = dailyDataService.getActivityCalendar(username, startDate, endDate);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/heatmap")
+    public ResponseEntity<HeatmapResponse> getHeatmap(
+            @PathVariable String username,
+            @RequestParam(required = false) Integer year) {
+        
+        HeatmapResponse response = dailyDataService.getHeatmap(username, year != null ? year : LocalDate.now().getYear());
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,17 +1,18 @@
 package com.dailytask.controller;
 
+import com.dailytask.controller.support.ETags;
+import com.dailytask.controller.support.NdjsonStreams;
 import com.dailytask.dto.response.DailyDataResponse;
-import com.dailytask.dto.response.EnergyAssessmentResponse;
-import com.dailytask.dto.response.ReflectionResponse;
-import com.dailytask.dto.response.TaskResponse;
-import com.dailytask.service.EnergyAssessmentService;
-import com.dailytask.service.ReflectionService;
-import com.dailytask.service.TaskService;
+import com.dailytask.service.DailyDataService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -20,55 +21,29 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class DailyDataController {
 
-    private final TaskService taskService;
-    private final ReflectionService reflectionService;
-    private final EnergyAssessmentService energyAssessmentService;
+    private final DailyDataService dailyDataService;
+    private final NdjsonStreams ndjsonStreams;
 
     @Autowired
-    public DailyDataController(TaskService taskService, 
-                              ReflectionService reflectionService, 
-                              EnergyAssessmentService energyAssessmentService) {
-        this.taskService = taskService;
-        this.reflectionService = reflectionService;
-        this.energyAssessmentService = energyAssessmentService;
+    public DailyDataController(DailyDataService dailyDataService, NdjsonStreams ndjsonStreams) {
+        this.dailyDataService = dailyDataService;
+        this.ndjsonStreams = ndjsonStreams;
     }
 
     @GetMapping
     public ResponseEntity<DailyDataResponse> getDailyData(
             @PathVariable String username,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
         
         LocalDate queryDate = date != null ? date : LocalDate.now();
         
-        List<TaskResponse> tasks = taskService.getTasksByUserAndDate(username, queryDate);
-        ReflectionResponse reflection = reflectionService.getReflectionByUserAndDate(username, queryDate);
-        EnergyAssessmentResponse energyAssessment = energyAssessmentService.getEnergyAssessmentByUserAndDate(username, queryDate);
+        // Answers 304 from one aggregate query when the client's copy is current
+        if (request.checkNotModified(ETags.of(queryDate, dailyDataService.getDailyDataVersion(username, queryDate)))) {
+            return null;
+        }
         
-        long totalTasks = tasks.size();
-        long completedTasks = tasks.stream().mapToLong(task -> task.completed() ? 1 : 0).sum();
-        long incompleteTasks = totalTasks - completedTasks;
-        long starredTasks = tasks.stream().mapToLong(task -> task.starred() ? 1 : 0).sum();
-        
-        Double averageEnergyRating = reflection != null ? reflection.energyRating().doubleValue() : null;
-        Double averageEnergyLevel = energyAssessment != null ? energyAssessment.energyLevel().doubleValue() : null;
-        
-        DailyDataResponse.DailyStats stats = new DailyDataResponse.DailyStats(
-            totalTasks,
-            completedTasks,
-            incompleteTasks,
-            starredTasks,
-            averageEnergyRating,
-            averageEnergyLevel
-        );
-        
-        DailyDataResponse response = new DailyDataResponse(
-            username,
-            queryDate,
-            tasks,
-            reflection,
-            energyAssessment,
-            stats
-        );
+        DailyDataResponse response = dailyDataService.getDailyData(username, queryDate);
         
         return ResponseEntity.ok(response);
     }
@@ -79,40 +54,18 @@ public class DailyDataController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         
-        List<DailyDataResponse> dailyDataList = startDate.datesUntil(endDate.plusDays(1))
-            .map(date -> {
-                List<TaskResponse> tasks = taskService.getTasksByUserAndDate(username, date);
-                ReflectionResponse reflection = reflectionService.getReflectionByUserAndDate(username, date);
-                EnergyAssessmentResponse energyAssessment = energyAssessmentService.getEnergyAssessmentByUserAndDate(username, date);
-                
-                long totalTasks = tasks.size();
-                long completedTasks = tasks.stream().mapToLong(task -> task.completed() ? 1 : 0).sum();
-                long incompleteTasks = totalTasks - completedTasks;
-                long starredTasks = tasks.stream().mapToLong(task -> task.starred() ? 1 : 0).sum();
-                
-                Double averageEnergyRating = reflection != null ? reflection.energyRating().doubleValue() : null;
-                Double averageEnergyLevel = energyAssessment != null ? energyAssessment.energyLevel().doubleValue() : null;
-                
-                DailyDataResponse.DailyStats stats = new DailyDataResponse.DailyStats(
-                    totalTasks,
-                    completedTasks,
-                    incompleteTasks,
-                    starredTasks,
-                    averageEnergyRating,
-                    averageEnergyLevel
-                );
-                
-                return new DailyDataResponse(
-                    username,
-                    date,
-                    tasks,
-                    reflection,
-                    energyAssessment,
-                    stats
-                );
-            })
-            .toList();
+        List<DailyDataResponse> dailyDataList = dailyDataService.getDailyDataRange(username, startDate, endDate);
         
         return ResponseEntity.ok(dailyDataList);
     }
+
+    @GetMapping(value = "/range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamDailyDataRange(
+            @PathVariable String username,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            HttpServletResponse response) throws IOException {
+
+        ndjsonStreams.write(response, day -> dailyDataService.streamDailyDataRange(username, startDate, endDate, day));
+    }
 } 
\ No newline at end of file
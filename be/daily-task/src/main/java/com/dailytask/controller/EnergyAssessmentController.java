@@ -1,15 +1,22 @@
 package com.dailytask.controller;
 
+import com.dailytask.controller.support.ETags;
+import com.dailytask.controller.support.NdjsonStreams;
 import com.dailytask.dto.request.CreateEnergyAssessmentRequest;
 import com.dailytask.dto.response.EnergyAssessmentResponse;
+import com.dailytask.repository.projection.ContentVersion;
 import com.dailytask.service.EnergyAssessmentService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,10 +26,12 @@ import java.util.List;
 public class EnergyAssessmentController {
 
     private final EnergyAssessmentService energyAssessmentService;
+    private final NdjsonStreams ndjsonStreams;
 
     @Autowired
-    public EnergyAssessmentController(EnergyAssessmentService energyAssessmentService) {
+    public EnergyAssessmentController(EnergyAssessmentService energyAssessmentService, NdjsonStreams ndjsonStreams) {
         this.energyAssessmentService = energyAssessmentService;
+        this.ndjsonStreams = ndjsonStreams;
     }
 
     @GetMapping
@@ -50,6 +59,28 @@ public class EnergyAssessmentController {
         return ResponseEntity.ok(energyAssessments);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamEnergyAssessments(
+            @PathVariable String username,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer minLevel,
+            @RequestParam(required = false) Integer maxLevel,
+            HttpServletResponse response) throws IOException {
+
+        if (date != null) {
+            EnergyAssessmentResponse assessment = energyAssessmentService.getEnergyAssessmentByUserAndDate(username, date);
+            ndjsonStreams.write(response, List.of(assessment));
+        } else if (startDate != null && endDate != null) {
+            ndjsonStreams.write(response, sink -> energyAssessmentService.streamEnergyAssessmentsByUserAndDateRange(username, startDate, endDate, sink));
+        } else if (minLevel != null && maxLevel != null) {
+            ndjsonStreams.write(response, sink -> energyAssessmentService.streamEnergyAssessmentsByEnergyLevel(username, minLevel, maxLevel, sink));
+        } else {
+            ndjsonStreams.write(response, sink -> energyAssessmentService.streamAllEnergyAssessmentsByUser(username, sink));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<EnergyAssessmentResponse> createOrUpdateEnergyAssessment(
             @PathVariable String username,
@@ -84,8 +115,14 @@ public class EnergyAssessmentController {
     }
 
     @GetMapping("/today")
-    public ResponseEntity<EnergyAssessmentResponse> getTodayEnergyAssessment(@PathVariable String username) {
-        EnergyAssessmentResponse assessment = energyAssessmentService.getEnergyAssessmentByUserAndDate(username, LocalDate.now());
+    public ResponseEntity<EnergyAssessmentResponse> getTodayEnergyAssessment(@PathVariable String username, WebRequest request) {
+        LocalDate today = LocalDate.now();
+        // A day without a row is a 404, which must not be answered with 304
+        ContentVersion version = energyAssessmentService.getEnergyAssessmentVersion(username, today);
+        if (version.rowCount() > 0 && request.checkNotModified(ETags.of(today, version))) {
+            return null;
+        }
+        EnergyAssessmentResponse assessment = energyAssessmentService.getEnergyAssessmentByUserAndDate(username, today);
         return ResponseEntity.ok(assessment);
     }
 
@@ -1,15 +1,22 @@
 package com.dailytask.controller;
 
+import com.dailytask.controller.support.ETags;
+import com.dailytask.controller.support.NdjsonStreams;
 import com.dailytask.dto.request.CreateReflectionRequest;
 import com.dailytask.dto.response.ReflectionResponse;
+import com.dailytask.repository.projection.ContentVersion;
 import com.dailytask.service.ReflectionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,10 +26,12 @@ import java.util.List;
 public class ReflectionController {
 
     private final ReflectionService reflectionService;
+    private final NdjsonStreams ndjsonStreams;
 
     @Autowired
-    public ReflectionController(ReflectionService reflectionService) {
+    public ReflectionController(ReflectionService reflectionService, NdjsonStreams ndjsonStreams) {
         this.reflectionService = reflectionService;
+        this.ndjsonStreams = ndjsonStreams;
     }
 
     @GetMapping
@@ -50,6 +59,28 @@ public class ReflectionController {
         return ResponseEntity.ok(reflections);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamReflections(
+            @PathVariable String username,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating,
+            HttpServletResponse response) throws IOException {
+
+        if (date != null) {
+            ReflectionResponse reflection = reflectionService.getReflectionByUserAndDate(username, date);
+            ndjsonStreams.write(response, List.of(reflection));
+        } else if (startDate != null && endDate != null) {
+            ndjsonStreams.write(response, sink -> reflectionService.streamReflectionsByUserAndDateRange(username, startDate, endDate, sink));
+        } else if (minRating != null && maxRating != null) {
+            ndjsonStreams.write(response, sink -> reflectionService.streamReflectionsByEnergyRating(username, minRating, maxRating, sink));
+        } else {
+            ndjsonStreams.write(response, sink -> reflectionService.streamAllReflectionsByUser(username, sink));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<ReflectionResponse> createOrUpdateReflection(
             @PathVariable String username,
@@ -84,8 +115,14 @@ public class ReflectionController {
     }
 
     @GetMapping("/today")
-    public ResponseEntity<ReflectionResponse> getTodayReflection(@PathVariable String username) {
-        ReflectionResponse reflection = reflectionService.getReflectionByUserAndDate(username, LocalDate.now());
+    public ResponseEntity<ReflectionResponse> getTodayReflection(@PathVariable String username, WebRequest request) {
+        LocalDate today = LocalDate.now();
+        // A day without a row is a 404, which must not be answered with 304
+        ContentVersion version = reflectionService.getReflectionVersion(username, today);
+        if (version.rowCount() > 0 && request.checkNotModified(ETags.of(today, version))) {
+            return null;
+        }
+        ReflectionResponse reflection = reflectionService.getReflectionByUserAndDate(username, today);
         return ResponseEntity.ok(reflection);
     }
 
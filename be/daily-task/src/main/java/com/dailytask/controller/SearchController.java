@@ -0,0 +1,40 @@
+package com.dailytask.controller;
+
+import com.dailytask.dto.response.CursorPageResponse;
+import com.dailytask.dto.response.SearchResultResponse;
+import com.dailytask.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/{username}/search")
+@CrossOrigin(origins = "*", exposedHeaders = TaskController.NEXT_CURSOR_HEADER)
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @Autowired
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SearchResultResponse>> search(
+            @PathVariable String username,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        CursorPageResponse<SearchResultResponse> page = searchService.search(username, q, cursor, limit);
+
+        // Same paging contract as the task listings: a plain array, the next cursor in a header
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(TaskController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+}
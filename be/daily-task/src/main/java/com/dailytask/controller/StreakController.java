@@ -0,0 +1,35 @@
+package com.dailytask.controller;
+
+import com.dailytask.dto.response.StreakResponse;
+import com.dailytask.service.StreakService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/users/{username}/streaks")
+@CrossOrigin(origins = "*")
+public class StreakController {
+
+    private final StreakService streakService;
+
+    @Autowired
+    public StreakController(StreakService streakService) {
+        this.streakService = streakService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreakResponse> getStreaks(
+            @PathVariable String username,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        
+        LocalDate asOf = date != null ? date : LocalDate.now();
+        
+        StreakResponse response = streakService.getStreaks(username, asOf);
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,29 +1,44 @@
 package com.dailytask.controller;
 
+import com.dailytask.controller.support.ETags;
+import com.dailytask.controller.support.NdjsonStreams;
+import com.dailytask.dto.request.BulkTaskRequest;
 import com.dailytask.dto.request.CreateTaskRequest;
 import com.dailytask.dto.request.UpdateTaskRequest;
+import com.dailytask.dto.response.BulkTaskResponse;
+import com.dailytask.dto.response.CursorPageResponse;
+import com.dailytask.dto.response.DailyTaskStatsResponse;
 import com.dailytask.dto.response.TaskResponse;
+import com.dailytask.dto.response.TaskStatsResponse;
 import com.dailytask.service.TaskService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/users/{username}/tasks")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = TaskController.NEXT_CURSOR_HEADER)
 public class TaskController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TaskService taskService;
+    private final NdjsonStreams ndjsonStreams;
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, NdjsonStreams ndjsonStreams) {
         this.taskService = taskService;
+        this.ndjsonStreams = ndjsonStreams;
     }
 
     @GetMapping
@@ -33,23 +48,51 @@ public class TaskController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) Boolean starred,
-            @RequestParam(required = false) Boolean incomplete) {
-        
-        List<TaskResponse> tasks;
+            @RequestParam(required = false) Boolean incomplete,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
         
         if (date != null) {
-            tasks = taskService.getTasksByUserAndDate(username, date);
-        } else if (startDate != null && endDate != null) {
-            tasks = taskService.getTasksByUserAndDateRange(username, startDate, endDate);
-        } else if (Boolean.TRUE.equals(starred)) {
-            tasks = taskService.getStarredTasksByUser(username);
-        } else if (Boolean.TRUE.equals(incomplete)) {
-            tasks = taskService.getIncompleteTasksByUser(username);
-        } else {
-            tasks = taskService.getAllTasksByUser(username);
+            if (request.checkNotModified(ETags.of(date, taskService.getTasksVersion(username, date)))) {
+                return null;
+            }
+            return ResponseEntity.ok(taskService.getTasksByUserAndDate(username, date));
         }
-        
-        return ResponseEntity.ok(tasks);
+        if (startDate != null && endDate != null) {
+            return ResponseEntity.ok(taskService.getTasksByUserAndDateRange(username, startDate, endDate));
+        }
+        return getTaskPage(username, starred, incomplete, cursor, limit);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamTasks(
+            @PathVariable String username,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Boolean starred,
+            @RequestParam(required = false) Boolean incomplete,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            HttpServletResponse response) throws IOException {
+
+        // Only the date range is unbounded; a single day and the paged listings are already small
+        if (date != null) {
+            ndjsonStreams.write(response, taskService.getTasksByUserAndDate(username, date));
+            return;
+        }
+        if (startDate != null && endDate != null) {
+            ndjsonStreams.write(response, sink -> taskService.streamTasksByUserAndDateRange(username, startDate, endDate, sink));
+            return;
+        }
+
+        ResponseEntity<List<TaskResponse>> tasks = getTaskPage(username, starred, incomplete, cursor, limit);
+        String nextCursor = tasks.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+        if (nextCursor != null) {
+            response.setHeader(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        ndjsonStreams.write(response, tasks.getBody());
     }
 
     @PostMapping
@@ -60,6 +103,14 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> bulkWriteTasks(
+            @PathVariable String username,
+            @Valid @RequestBody BulkTaskRequest request) {
+        BulkTaskResponse response = taskService.bulkWriteTasks(username, request);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable String username,
@@ -89,30 +140,16 @@ public class TaskController {
     public ResponseEntity<TaskResponse> toggleTaskCompletion(
             @PathVariable String username,
             @PathVariable Long id) {
-        TaskResponse task = taskService.getTaskById(id);
-        UpdateTaskRequest request = new UpdateTaskRequest(
-            null, 
-            null, 
-            !task.completed(), 
-            null
-        );
-        TaskResponse updatedTask = taskService.updateTask(id, request);
-        return ResponseEntity.ok(updatedTask);
+        TaskResponse task = taskService.toggleTaskCompletion(username, id);
+        return ResponseEntity.ok(task);
     }
 
     @PatchMapping("/{id}/star")
     public ResponseEntity<TaskResponse> toggleTaskStar(
             @PathVariable String username,
             @PathVariable Long id) {
-        TaskResponse task = taskService.getTaskById(id);
-        UpdateTaskRequest request = new UpdateTaskRequest(
-            null, 
-            null, 
-            null, 
-            !task.starred()
-        );
-        TaskResponse updatedTask = taskService.updateTask(id, request);
-        return ResponseEntity.ok(updatedTask);
+        TaskResponse task = taskService.toggleTaskStar(username, id);
+        return ResponseEntity.ok(task);
     }
 
     @GetMapping("/stats")
@@ -121,25 +158,35 @@ public class TaskController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         
         LocalDate queryDate = date != null ? date : LocalDate.now();
-        
-        long totalTasks = taskService.getTaskCountByUserAndDate(username, queryDate);
-        long completedTasks = taskService.getCompletedTaskCountByUserAndDate(username, queryDate);
-        long starredTasks = taskService.getStarredTaskCountByUser(username);
-        
-        TaskStatsResponse stats = new TaskStatsResponse(
-            totalTasks,
-            completedTasks,
-            starredTasks,
-            totalTasks - completedTasks
-        );
-        
+        TaskStatsResponse stats = taskService.getTaskStats(username, queryDate);
         return ResponseEntity.ok(stats);
     }
 
-    public record TaskStatsResponse(
-        long totalTasks,
-        long completedTasks,
-        long starredTasks,
-        long incompleteTasks
-    ) {}
-} 
\ No newline at end of file
+    @GetMapping("/stats/daily")
+    public ResponseEntity<List<DailyTaskStatsResponse>> getDailyTaskStats(
+            @PathVariable String username,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<DailyTaskStatsResponse> stats = taskService.getDailyTaskStats(username, startDate, endDate);
+        return ResponseEntity.ok(stats);
+    }
+
+    private ResponseEntity<List<TaskResponse>> getTaskPage(String username, Boolean starred, Boolean incomplete,
+                                                           String cursor, Integer limit) {
+        // Open-ended listings are paged; the body stays a plain array and the next cursor goes in a header
+        CursorPageResponse<TaskResponse> page;
+        if (Boolean.TRUE.equals(starred)) {
+            page = taskService.getStarredTasksByUser(username, cursor, limit);
+        } else if (Boolean.TRUE.equals(incomplete)) {
+            page = taskService.getIncompleteTasksByUser(username, cursor, limit);
+        } else {
+            page = taskService.getAllTasksByUser(username, cursor, limit);
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+}
@@ -3,6 +3,7 @@ package com.dailytask.controller;
 import com.dailytask.dto.request.CreateUserRequest;
 import com.dailytask.dto.response.UserResponse;
 import com.dailytask.service.UserService;
+import com.dailytask.service.search.UserSearchMode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -48,8 +49,11 @@ public class UserController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<UserResponse>> searchUsers(@RequestParam String searchTerm) {
-        List<UserResponse> users = userService.searchUsers(searchTerm);
+    public ResponseEntity<List<UserResponse>> searchUsers(
+            @RequestParam String searchTerm,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) Integer limit) {
+        List<UserResponse> users = userService.searchUsers(searchTerm, UserSearchMode.fromParameter(mode), limit);
         return ResponseEntity.ok(users);
     }
 
@@ -0,0 +1,33 @@
+package com.dailytask.controller.support;
+
+import com.dailytask.repository.projection.ContentVersion;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Builds entity tags from a {@link ContentVersion}, for handlers that answer
+ * {@code If-None-Match} before loading anything.
+ * <p>
+ * The tags are weak: the same rows always serialize to the same JSON, but the
+ * bytes on the wire may still differ by compression. No {@code Last-Modified}
+ * is sent, because deleting the newest row moves the latest
+ * {@code updated_at} backwards and {@code If-Modified-Since} would then miss
+ * the change.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @param date the day the rows belong to; it is part of the tag because
+     *             {@code /today} URLs and empty days would otherwise share one
+     */
+    public static String of(LocalDate date, ContentVersion version) {
+        long lastModified = version.lastModified() != null
+            ? ChronoUnit.MICROS.between(LocalDate.EPOCH.atStartOfDay(), version.lastModified())
+            : 0;
+        return "W/\"" + date + "." + version.rowCount() + "." + Long.toString(lastModified, 36) + "\"";
+    }
+}
@@ -0,0 +1,76 @@
+package com.dailytask.controller.support;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Writes {@code application/x-ndjson} bodies, one JSON document per line, as the
+ * service produces each element. Nothing is collected first, so memory use does
+ * not grow with the size of the result.
+ * <p>
+ * Writing happens on the request thread. Until the first lines fill the response
+ * buffer nothing is committed, so validation and lookup failures raised before
+ * the first element still reach the exception handler with their proper status.
+ */
+@Component
+public class NdjsonStreams {
+
+    private final ObjectWriter writer;
+
+    public NdjsonStreams(RequestMappingHandlerAdapter handlerAdapter) {
+        // Reuse the mapper of the converter that writes JSON responses, so each line matches what the
+        // JSON endpoints return; Spring Data's projecting converter ahead of it only reads
+        ObjectMapper objectMapper = handlerAdapter.getMessageConverters().stream()
+            .filter(converter -> converter instanceof MappingJackson2HttpMessageConverter
+                && converter.canWrite(Map.class, MediaType.APPLICATION_JSON))
+            .map(converter -> ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No Jackson message converter registered"));
+
+        // One generator spans the whole body; only the servlet container flushes, so an error
+        // before the buffer fills leaves the response uncommitted
+        this.writer = objectMapper.writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator(new SerializedString(""));
+    }
+
+    /**
+     * @param producer receives a sink and pushes every element into it
+     */
+    public <T> void write(HttpServletResponse response, Consumer<Consumer<T>> producer) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (JsonGenerator generator = writer.createGenerator(response.getOutputStream())) {
+            producer.accept(element -> writeLine(generator, element));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public <T> void write(HttpServletResponse response, Iterable<T> elements) throws IOException {
+        write(response, elements::forEach);
+    }
+
+    private void writeLine(JsonGenerator generator, Object element) {
+        try {
+            writer.writeValue(generator, element);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.dailytask.dataset;
+
+import com.dailytask.entity.ActivityKind;
+import com.dailytask.repository.projection.ActivitySpan;
+import com.dailytask.repository.projection.EnergySums;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads {@code app.dataset.users} synthetic users and their histories, see
+ * {@link SyntheticHistory}, then shuts the application down. Run it with the {@code dataset}
+ * profile against an empty or existing database; the prefix of the generated
+ * usernames must not be in use yet.
+ * <p>
+ * Every table is written with PostgreSQL {@code COPY}, one transaction per
+ * batch of users. The summary, energy aggregate and streak rows are derived
+ * from the generated days in memory and copied as well, so the data is
+ * consistent without running {@code DailySummaryRebuildJob} afterwards.
+ */
+@Slf4j
+@Component
+@Profile("dataset")
+public class DatasetGenerator implements CommandLineRunner {
+
+    private final DataSource dataSource;
+    private final DatasetProperties properties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    public DatasetGenerator(DataSource dataSource, DatasetProperties properties, ConfigurableApplicationContext applicationContext) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(String... args) throws SQLException {
+        LocalDate today = LocalDate.now();
+        SyntheticHistory history = new SyntheticHistory(properties, today);
+        Map<String, Long> rows = new LinkedHashMap<>();
+        long started = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new IllegalStateException("The dataset generator loads with COPY and needs a PostgreSQL datasource");
+            }
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            requireUnusedPrefix(connection);
+            connection.setAutoCommit(false);
+
+            for (int first = 0; first < properties.users(); first += properties.batchSize()) {
+                int count = Math.min(properties.batchSize(), properties.users() - first);
+                List<SyntheticUser> users = new ArrayList<>(count);
+                for (int i = first; i < first + count; i++) {
+                    users.add(history.user(i));
+                }
+                try {
+                    load(copyManager, reserveUserIds(connection, count), users, today)
+                        .forEach((table, copied) -> rows.merge(table, copied, Long::sum));
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                }
+                log.info("Loaded {} of {} users", first + count, properties.users());
+            }
+        }
+        log.info("Generated {} users in {} s: {}", properties.users(), (System.nanoTime() - started) / 1_000_000_000, rows);
+        SpringApplication.exit(applicationContext);
+    }
+
+    private void requireUnusedPrefix(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT EXISTS (SELECT 1 FROM users WHERE username LIKE ?)")) {
+            statement.setString(1, properties.usernamePrefix() + "-%");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                if (resultSet.getBoolean(1)) {
+                    throw new IllegalStateException("Users named " + properties.usernamePrefix()
+                        + "-* already exist; choose another app.dataset.username-prefix");
+                }
+            }
+        }
+    }
+
+    // Taken from the sequence like any other insert, so later sign-ups do not collide with them
+    private static long[] reserveUserIds(Connection connection, int count) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT nextval('users_id_seq') FROM generate_series(1, ?)")) {
+            statement.setInt(1, count);
+            long[] ids = new long[count];
+            try (ResultSet resultSet = statement.executeQuery()) {
+                for (int i = 0; resultSet.next(); i++) {
+                    ids[i] = resultSet.getLong(1);
+                }
+            }
+            return ids;
+        }
+    }
+
+    private static Map<String, Long> load(CopyManager copyManager, long[] ids, List<SyntheticUser> users, LocalDate today) throws SQLException {
+        Map<String, Long> rows = new LinkedHashMap<>();
+
+        try (CopyWriter writer = new CopyWriter(copyManager, "users", "id, username, created_at, updated_at")) {
+            for (int i = 0; i < users.size(); i++) {
+                SyntheticUser user = users.get(i);
+                writer.row(ids[i], user.username(), user.createdAt(), user.createdAt());
+            }
+            rows.put("users", writer.end());
+        }
+
+        try (CopyWriter writer = new CopyWriter(copyManager, "tasks",
+                "user_id, title, description, completed, starred, date, created_at, updated_at")) {
+            for (int i = 0; i < users.size(); i++) {
+                for (SyntheticUser.Day day : users.get(i).days()) {
+                    // Tasks planned ahead were created today; distinct minutes keep the listing order stable
+                    LocalDateTime createdAt = (day.date().isAfter(today) ? today : day.date()).atTime(7, 0);
+                    for (int t = 0; t < day.tasks().size(); t++) {
+                        SyntheticUser.Task task = day.tasks().get(t);
+                        LocalDateTime taskCreatedAt = createdAt.plusMinutes(t);
+                        writer.row(ids[i], task.title(), task.description(), task.completed(), task.starred(), day.date(),
+                            taskCreatedAt, task.completed() ? taskCreatedAt.plusHours(6) : taskCreatedAt);
+                    }
+                }
+            }
+            rows.put("tasks", writer.end());
+        }
+
+        try (CopyWriter writer = new CopyWriter(copyManager, "reflections",
+                "user_id, date, energy_rating, reflection_text, created_at, updated_at")) {
+            for (int i = 0; i < users.size(); i++) {
+                for (SyntheticUser.Day day : users.get(i).days()) {
+                    if (day.energyRating() != null) {
+                        LocalDateTime createdAt = day.date().atTime(21, 0);
+                        writer.row(ids[i], day.date(), day.energyRating(), day.reflectionText(), createdAt, createdAt);
+                    }
+                }
+            }
+            rows.put("reflections", writer.end());
+        }
+
+        try (CopyWriter writer = new CopyWriter(copyManager, "energy_assessments",
+                "user_id, date, energy_level, created_at, updated_at")) {
+            for (int i = 0; i < users.size(); i++) {
+                for (SyntheticUser.Day day : users.get(i).days()) {
+                    if (day.energyLevel() != null) {
+                        LocalDateTime createdAt = day.date().atTime(9, 0);
+                        writer.row(ids[i], day.date(), day.energyLevel(), createdAt, createdAt);
+                    }
+                }
+            }
+            rows.put("energy_assessments", writer.end());
+        }
+
+        try (CopyWriter writer = new CopyWriter(copyManager, "daily_summaries",
+                "user_id, date, total_tasks, completed_tasks, starred_tasks, energy_level, energy_rating")) {
+            for (int i = 0; i < users.size(); i++) {
+                for (SyntheticUser.Day day : users.get(i).days()) {
+                    writer.row(ids[i], day.date(), day.tasks().size(), day.completedTasks(), day.starredTasks(),
+                        day.energyLevel(), day.energyRating());
+                }
+            }
+            rows.put("daily_summaries", writer.end());
+        }
+
+        List<Map<LocalDate, EnergySums>> energyByMonth = users.stream().map(SyntheticUser::energyByMonth).toList();
+        try (CopyWriter writer = new CopyWriter(copyManager, "monthly_energy_summaries",
+                "user_id, month, energy_level_sum, energy_level_count, energy_rating_sum, energy_rating_count")) {
+            for (int i = 0; i < users.size(); i++) {
+                for (Map.Entry<LocalDate, EnergySums> month : energyByMonth.get(i).entrySet()) {
+                    EnergySums sums = month.getValue();
+                    writer.row(ids[i], month.getKey(), sums.energyLevelSum(), sums.energyLevelCount(),
+                        sums.energyRatingSum(), sums.energyRatingCount());
+                }
+            }
+            rows.put("monthly_energy_summaries", writer.end());
+        }
+
+        try (CopyWriter writer = new CopyWriter(copyManager, "energy_totals",
+                "user_id, energy_level_sum, energy_level_count, energy_rating_sum, energy_rating_count")) {
+            for (int i = 0; i < users.size(); i++) {
+                // Like the V9 backfill, only users with at least one month get a row
+                if (!energyByMonth.get(i).isEmpty()) {
+                    EnergySums sums = energyByMonth.get(i).values().stream().reduce(EnergySums.EMPTY, EnergySums::plus);
+                    writer.row(ids[i], sums.energyLevelSum(), sums.energyLevelCount(), sums.energyRatingSum(), sums.energyRatingCount());
+                }
+            }
+            rows.put("energy_totals", writer.end());
+        }
+
+        List<ActivitySpan> longest = new ArrayList<>();
+        List<Long> longestUserIds = new ArrayList<>();
+        try (CopyWriter writer = new CopyWriter(copyManager, "activity_runs", "user_id, kind, start_date, end_date")) {
+            for (int i = 0; i < users.size(); i++) {
+                for (ActivityKind kind : ActivityKind.values()) {
+                    ActivitySpan longestRun = null;
+                    for (ActivitySpan run : users.get(i).runs(kind)) {
+                        writer.row(ids[i], kind.name(), run.startDate(), run.endDate());
+                        if (longestRun == null || run.isLongerThan(longestRun)) {
+                            longestRun = run;
+                        }
+                    }
+                    if (longestRun != null) {
+                        longest.add(longestRun);
+                        longestUserIds.add(ids[i]);
+                    }
+                }
+            }
+            rows.put("activity_runs", writer.end());
+        }
+
+        try (CopyWriter writer = new CopyWriter(copyManager, "activity_streaks", "user_id, kind, longest_start, longest_end")) {
+            for (int i = 0; i < longest.size(); i++) {
+                ActivitySpan run = longest.get(i);
+                writer.row(longestUserIds.get(i), run.kind().name(), run.startDate(), run.endDate());
+            }
+            rows.put("activity_streaks", writer.end());
+        }
+        return rows;
+    }
+}
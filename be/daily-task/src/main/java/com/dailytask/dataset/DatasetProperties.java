@@ -0,0 +1,37 @@
+package com.dailytask.dataset;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Size and shape of the synthetic dataset, bound from {@code app.dataset.*}
+ * under the {@code dataset} profile.
+ *
+ * @param users          number of users to create
+ * @param years          longest history a user can have; join dates are spread over this span
+ * @param tasksPerDay    average number of tasks on a day the user plans anything
+ * @param usernamePrefix usernames are this prefix, a dash and the user's index
+ * @param seed           same seed and settings produce the same data
+ * @param batchSize      users loaded per transaction
+ */
+@ConfigurationProperties("app.dataset")
+public record DatasetProperties(
+    int users,
+    int years,
+    double tasksPerDay,
+    String usernamePrefix,
+    long seed,
+    int batchSize
+) {
+
+    public DatasetProperties {
+        if (users < 1 || years < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("app.dataset.users, years and batch-size must be at least 1");
+        }
+        if (tasksPerDay < 1 || tasksPerDay > 20) {
+            throw new IllegalArgumentException("app.dataset.tasks-per-day must be between 1 and 20");
+        }
+        if (usernamePrefix == null || !usernamePrefix.matches("[a-zA-Z0-9._]{3,30}")) {
+            throw new IllegalArgumentException("app.dataset.username-prefix must be 3 to 30 letters, digits, dots or underscores");
+        }
+    }
+}
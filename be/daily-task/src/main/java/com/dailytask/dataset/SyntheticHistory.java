@@ -0,0 +1,140 @@
+package com.dailytask.dataset;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates each user's history from the seed and the user's index alone, so
+ * users can be produced in any order and the same settings always yield the
+ * same data.
+ * <p>
+ * Users join at a uniformly spread point of the history span, and three in
+ * ten of them stop using the app at some later point. Each user has their
+ * own habits, drawn once: how often they plan a day (less at weekends), how
+ * many tasks they plan, how many they complete, and how often they check in.
+ * Active users also plan up to a week ahead; those tasks are not completed yet.
+ * Energy levels vary around the user's baseline, and reflection ratings follow
+ * the day's energy and completion.
+ */
+public class SyntheticHistory {
+
+    static final int MAX_TASKS_PER_DAY = 50;
+    static final int DAYS_PLANNED_AHEAD = 7;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final String[] VERBS = {
+        "Review", "Write", "Call", "Plan", "Fix", "Update", "Prepare", "Clean", "Book", "Read",
+        "Finish", "Email", "Schedule", "Buy", "Organize", "Draft", "Check", "Submit", "Practice", "Pay"
+    };
+    private static final String[] OBJECTS = {
+        "pull request", "weekly report", "dentist appointment", "sprint goals", "kitchen", "budget spreadsheet",
+        "flight tickets", "project proposal", "groceries", "running plan", "team retrospective", "tax documents",
+        "blog post", "meeting notes", "birthday gift", "garden", "guitar lesson", "insurance claim", "backlog",
+        "onboarding guide", "car service", "reading list", "presentation slides", "electricity bill"
+    };
+    private static final String[] DESCRIPTIONS = {
+        "Follow up with the team afterwards.",
+        "Needs about an hour of focus time.",
+        "Check the notes from last week first.",
+        "Blocked until the reply comes in.",
+        "Split into smaller steps if it drags on."
+    };
+    private static final String[] REFLECTIONS = {
+        "Productive day, got the important things done.",
+        "Too many meetings, little time for deep work.",
+        "Slept badly and it showed in the afternoon.",
+        "Good workout in the morning, felt energized all day.",
+        "Got distracted often, need to plan fewer tasks.",
+        "Calm day, finished everything I planned.",
+        "Stressful deadline, but made it in time."
+    };
+
+    private final DatasetProperties properties;
+    private final LocalDate today;
+
+    public SyntheticHistory(DatasetProperties properties, LocalDate today) {
+        this.properties = properties;
+        this.today = today;
+    }
+
+    public SyntheticUser user(int index) {
+        SplittableRandom random = new SplittableRandom(properties.seed() + index * GOLDEN_GAMMA);
+        int historyDays = properties.years() * 365;
+        LocalDate joined = today.minusDays(random.nextInt(historyDays));
+        LocalDate lastActive = random.nextDouble() < 0.3
+            ? joined.plusDays(random.nextLong(ChronoUnit.DAYS.between(joined, today) + 1))
+            : today.plusDays(DAYS_PLANNED_AHEAD);
+
+        double planningRate = 0.25 + 0.7 * Math.pow(random.nextDouble(), 0.7);
+        double tasksPerDay = properties.tasksPerDay() * (0.5 + random.nextDouble());
+        double completionRate = 0.45 + 0.5 * random.nextDouble();
+        double energyRate = 0.1 + 0.8 * random.nextDouble();
+        double reflectionRate = 0.05 + 0.65 * random.nextDouble();
+        double baselineEnergy = 2 + 2 * random.nextDouble();
+
+        List<SyntheticUser.Day> days = new ArrayList<>();
+        for (LocalDate date = joined; !date.isAfter(lastActive); date = date.plusDays(1)) {
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+            List<SyntheticUser.Task> tasks = List.of();
+            if (random.nextDouble() < (weekend ? planningRate / 2 : planningRate)) {
+                double dayCompletionRate = date.isBefore(today) ? completionRate : date.isEqual(today) ? completionRate / 2 : 0;
+                tasks = tasks(random, Math.min(1 + poisson(random, tasksPerDay - 1), MAX_TASKS_PER_DAY), dayCompletionRate);
+            }
+
+            Integer energyLevel = null;
+            Integer energyRating = null;
+            String reflectionText = null;
+            if (!date.isAfter(today)) {
+                double energy = baselineEnergy + (weekend ? 0.3 : 0) + 0.8 * random.nextGaussian();
+                if (random.nextDouble() < energyRate) {
+                    energyLevel = clamp(Math.round(energy), 1, 5);
+                }
+                if (random.nextDouble() < reflectionRate) {
+                    double completed = tasks.isEmpty() ? 0.5 : tasks.stream().filter(SyntheticUser.Task::completed).count() / (double) tasks.size();
+                    energyRating = clamp(Math.round(1 + 9 * (0.6 * (energy - 1) / 4 + 0.4 * completed) + random.nextGaussian()), 1, 10);
+                    reflectionText = random.nextDouble() < 0.7 ? pick(random, REFLECTIONS) : null;
+                }
+            }
+
+            if (!tasks.isEmpty() || energyLevel != null || energyRating != null) {
+                days.add(new SyntheticUser.Day(date, tasks, energyLevel, energyRating, reflectionText));
+            }
+        }
+        return new SyntheticUser(properties.usernamePrefix() + "-" + index, joined.atTime(8, 0).plusMinutes(random.nextInt(720)), days);
+    }
+
+    private static List<SyntheticUser.Task> tasks(SplittableRandom random, int count, double completionRate) {
+        List<SyntheticUser.Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = pick(random, VERBS) + " " + pick(random, OBJECTS);
+            String description = random.nextDouble() < 0.25 ? pick(random, DESCRIPTIONS) : null;
+            tasks.add(new SyntheticUser.Task(title, description, random.nextDouble() < completionRate, random.nextDouble() < 0.12));
+        }
+        return tasks;
+    }
+
+    // Knuth's method, fine for the small means used here
+    private static int poisson(SplittableRandom random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int clamp(long value, int min, int max) {
+        return (int) Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,75 @@
+package com.dailytask.dataset;
+
+import com.dailytask.entity.ActivityKind;
+import com.dailytask.repository.projection.ActivitySpan;
+import com.dailytask.repository.projection.EnergySums;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One generated user and every day on which they have anything, in date order.
+ */
+public record SyntheticUser(String username, LocalDateTime createdAt, List<Day> days) {
+
+    // Like monthly_energy_summaries, a month for every month that has a day
+    public Map<LocalDate, EnergySums> energyByMonth() {
+        Map<LocalDate, EnergySums> months = new TreeMap<>();
+        for (Day day : days) {
+            EnergySums sums = new EnergySums(
+                day.energyLevel() != null ? day.energyLevel() : 0, day.energyLevel() != null ? 1 : 0,
+                day.energyRating() != null ? day.energyRating() : 0, day.energyRating() != null ? 1 : 0);
+            months.merge(day.date().withDayOfMonth(1), sums, EnergySums::plus);
+        }
+        return months;
+    }
+
+    // Maximal runs of consecutive active days, oldest first
+    public List<ActivitySpan> runs(ActivityKind kind) {
+        List<ActivitySpan> runs = new ArrayList<>();
+        ActivitySpan current = null;
+        for (Day day : days) {
+            if (!day.isActive(kind)) {
+                continue;
+            }
+            if (current != null && current.endDate().plusDays(1).equals(day.date())) {
+                current = new ActivitySpan(kind, current.startDate(), day.date());
+            } else {
+                if (current != null) {
+                    runs.add(current);
+                }
+                current = new ActivitySpan(kind, day.date(), day.date());
+            }
+        }
+        if (current != null) {
+            runs.add(current);
+        }
+        return runs;
+    }
+
+    public record Day(LocalDate date, List<Task> tasks, Integer energyLevel, Integer energyRating, String reflectionText) {
+
+        public long completedTasks() {
+            return tasks.stream().filter(Task::completed).count();
+        }
+
+        public long starredTasks() {
+            return tasks.stream().filter(Task::starred).count();
+        }
+
+        public boolean isActive(ActivityKind kind) {
+            return switch (kind) {
+                case TASKS -> !tasks.isEmpty();
+                case REFLECTIONS -> energyRating != null;
+                case ENERGY_ASSESSMENTS -> energyLevel != null;
+            };
+        }
+    }
+
+    public record Task(String title, String description, boolean completed, boolean starred) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.dailytask.dto.request;
+
+import com.dailytask.validation.ValidDate;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BulkTaskRequest(
+    @Size(max = 200, message = "Cannot create more than 200 tasks in one request")
+    List<@Valid @NotNull Create> create,
+
+    @Size(max = 200, message = "Cannot update more than 200 tasks in one request")
+    List<@Valid @NotNull Update> update,
+
+    @Size(max = 200, message = "Cannot delete more than 200 tasks in one request")
+    List<@NotNull Long> delete
+) {
+
+    public BulkTaskRequest {
+        create = create != null ? create : List.of();
+        update = update != null ? update : List.of();
+        delete = delete != null ? delete : List.of();
+    }
+
+    public record Create(
+        @NotBlank(message = "Title is required")
+        @Size(max = 200, message = "Title must not exceed 200 characters")
+        String title,
+
+        @Size(max = 1000, message = "Description must not exceed 1000 characters")
+        String description,
+
+        @NotNull(message = "Date is required")
+        @ValidDate(maxDaysInFuture = 365, message = "Task date cannot be more than 1 year in the future")
+        LocalDate date
+    ) {
+    }
+
+    public record Update(
+        @NotNull(message = "Task id is required")
+        Long id,
+
+        @Size(max = 200, message = "Title must not exceed 200 characters")
+        String title,
+
+        @Size(max = 1000, message = "Description must not exceed 1000 characters")
+        String description,
+
+        Boolean completed,
+
+        Boolean starred
+    ) {
+    }
+}
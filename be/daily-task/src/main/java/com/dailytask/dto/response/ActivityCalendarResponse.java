@@ -0,0 +1,17 @@
+package com.dailytask.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One element of {@code days} per date from {@code startDate} to {@code endDate}:
+ * bit 1 has tasks, bit 2 all tasks completed, bit 4 has reflection, bit 8 has
+ * energy assessment.
+ */
+public record ActivityCalendarResponse(
+    String username,
+    LocalDate startDate,
+    LocalDate endDate,
+    List<Integer> days
+) {
+}
@@ -0,0 +1,10 @@
+package com.dailytask.dto.response;
+
+import java.util.List;
+
+public record BulkTaskResponse(
+    List<TaskResponse> created,
+    List<TaskResponse> updated,
+    List<Long> deleted
+) {
+}
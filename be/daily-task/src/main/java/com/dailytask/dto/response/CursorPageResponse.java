@@ -0,0 +1,9 @@
+package com.dailytask.dto.response;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+    List<T> items,
+    String nextCursor
+) {
+}
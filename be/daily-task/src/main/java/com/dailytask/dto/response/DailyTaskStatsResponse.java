@@ -0,0 +1,12 @@
+package com.dailytask.dto.response;
+
+import java.time.LocalDate;
+
+public record DailyTaskStatsResponse(
+    LocalDate date,
+    long totalTasks,
+    long completedTasks,
+    long starredTasks,
+    long incompleteTasks
+) {
+}
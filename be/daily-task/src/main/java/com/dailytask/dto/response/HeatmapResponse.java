@@ -0,0 +1,20 @@
+package com.dailytask.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Parallel arrays with one element per day of {@code year}, starting at
+ * {@code startDate}. The energy arrays hold {@code null} on days without an
+ * energy assessment or reflection.
+ */
+public record HeatmapResponse(
+    String username,
+    int year,
+    LocalDate startDate,
+    List<Integer> totalTasks,
+    List<Integer> completedTasks,
+    List<Integer> energyLevels,
+    List<Integer> energyRatings
+) {
+}
@@ -0,0 +1,19 @@
+package com.dailytask.dto.response;
+
+import java.time.LocalDate;
+
+/**
+ * A matching task or reflection. {@code title} (tasks only) and
+ * {@code snippet} are HTML-escaped, with matched words wrapped in
+ * {@code <mark>}; the snippet is the best matching fragments of the task
+ * description or reflection text.
+ */
+public record SearchResultResponse(
+    String type,
+    Long id,
+    LocalDate date,
+    String title,
+    String snippet,
+    float rank
+) {
+}
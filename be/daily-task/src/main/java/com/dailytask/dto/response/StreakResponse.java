@@ -0,0 +1,28 @@
+package com.dailytask.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record StreakResponse(
+    String username,
+    LocalDate asOf,
+    ActivityStreak tasks,
+    ActivityStreak reflections,
+    ActivityStreak energyAssessments
+) {
+    public record ActivityStreak(
+        int currentStreak,
+        LocalDate currentStreakStart,
+        int longestStreak,
+        LocalDate longestStreakStart,
+        LocalDate longestStreakEnd,
+        List<Window> windows
+    ) {}
+
+    public record Window(
+        int days,
+        int activeDays,
+        double consistency,
+        Double completionRate
+    ) {}
+}
@@ -0,0 +1,9 @@
+package com.dailytask.dto.response;
+
+public record TaskStatsResponse(
+    long totalTasks,
+    long completedTasks,
+    long starredTasks,
+    long incompleteTasks
+) {
+}
@@ -0,0 +1,11 @@
+package com.dailytask.entity;
+
+/**
+ * What makes a day count towards a streak: at least one task, a reflection,
+ * or an energy assessment on that day.
+ */
+public enum ActivityKind {
+    TASKS,
+    REFLECTIONS,
+    ENERGY_ASSESSMENTS
+}
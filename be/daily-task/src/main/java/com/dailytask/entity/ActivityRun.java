@@ -0,0 +1,50 @@
+package com.dailytask.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * A maximal run of consecutive days on which a user was active in one
+ * {@link ActivityKind}. Rows are written only by
+ * {@link com.dailytask.repository.ActivityRunRepository}'s bulk statements.
+ */
+@Entity
+@Table(name = "activity_runs")
+@IdClass(ActivityRun.Key.class)
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityRun {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ActivityKind kind;
+
+    @Id
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private ActivityKind kind;
+        private LocalDate startDate;
+    }
+}
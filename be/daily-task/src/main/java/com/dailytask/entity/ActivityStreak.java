@@ -0,0 +1,47 @@
+package com.dailytask.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Longest run of a user in one {@link ActivityKind}. Rows are written only by
+ * {@link com.dailytask.repository.ActivityStreakRepository}'s SQL statements.
+ */
+@Entity
+@Table(name = "activity_streaks")
+@IdClass(ActivityStreak.Key.class)
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityStreak {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ActivityKind kind;
+
+    @Column(name = "longest_start")
+    private LocalDate longestStart;
+
+    @Column(name = "longest_end")
+    private LocalDate longestEnd;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private ActivityKind kind;
+    }
+}
@@ -0,0 +1,58 @@
+package com.dailytask.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Per-day rollup of a user's tasks, reflection and energy assessment. Rows are
+ * written only by {@link com.dailytask.repository.DailySummaryRepository}'s SQL
+ * refresh, never through the persistence context.
+ */
+@Entity
+@Table(name = "daily_summaries")
+@IdClass(DailySummary.Key.class)
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    private LocalDate date;
+
+    @Column(name = "total_tasks", nullable = false)
+    private int totalTasks;
+
+    @Column(name = "completed_tasks", nullable = false)
+    private int completedTasks;
+
+    @Column(name = "starred_tasks", nullable = false)
+    private int starredTasks;
+
+    @Column(name = "energy_level")
+    private Integer energyLevel;
+
+    @Column(name = "energy_rating")
+    private Integer energyRating;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate date;
+    }
+}
@@ -0,0 +1,36 @@
+package com.dailytask.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * All-time energy level and rating sums of a user. Rows are written only by
+ * {@link com.dailytask.repository.EnergyTotalsRepository}'s SQL refresh.
+ */
+@Entity
+@Table(name = "energy_totals")
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnergyTotals {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "energy_level_sum", nullable = false)
+    private long energyLevelSum;
+
+    @Column(name = "energy_level_count", nullable = false)
+    private int energyLevelCount;
+
+    @Column(name = "energy_rating_sum", nullable = false)
+    private long energyRatingSum;
+
+    @Column(name = "energy_rating_count", nullable = false)
+    private int energyRatingCount;
+}
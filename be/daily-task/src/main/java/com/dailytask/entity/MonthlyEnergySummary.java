@@ -0,0 +1,52 @@
+package com.dailytask.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Per-month energy level and rating sums of a user, keyed by the first day of
+ * the month. Rows are written only by
+ * {@link com.dailytask.repository.MonthlyEnergySummaryRepository}'s SQL refresh.
+ */
+@Entity
+@Table(name = "monthly_energy_summaries")
+@IdClass(MonthlyEnergySummary.Key.class)
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyEnergySummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    private LocalDate month;
+
+    @Column(name = "energy_level_sum", nullable = false)
+    private long energyLevelSum;
+
+    @Column(name = "energy_level_count", nullable = false)
+    private int energyLevelCount;
+
+    @Column(name = "energy_rating_sum", nullable = false)
+    private long energyRatingSum;
+
+    @Column(name = "energy_rating_count", nullable = false)
+    private int energyRatingCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate month;
+    }
+}
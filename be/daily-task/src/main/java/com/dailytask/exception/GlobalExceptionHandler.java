@@ -4,6 +4,7 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -33,7 +34,7 @@ public class GlobalExceptionHandler {
             ex.getMessage(),
             request.getDescription(false)
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return buildResponse(errorResponse, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(DuplicateResourceException.class)
@@ -46,7 +47,7 @@ public class GlobalExceptionHandler {
             ex.getMessage(),
             request.getDescription(false)
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        return buildResponse(errorResponse, HttpStatus.CONFLICT);
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
@@ -72,7 +73,7 @@ public class GlobalExceptionHandler {
             message,
             request.getDescription(false)
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        return buildResponse(errorResponse, HttpStatus.CONFLICT);
     }
 
     @ExceptionHandler(BusinessRuleViolationException.class)
@@ -85,7 +86,7 @@ public class GlobalExceptionHandler {
             ex.getMessage(),
             request.getDescription(false)
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return buildResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -98,7 +99,7 @@ public class GlobalExceptionHandler {
             ex.getMessage() != null ? ex.getMessage() : "Invalid argument provided",
             request.getDescription(false)
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return buildResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
@@ -119,7 +120,7 @@ public class GlobalExceptionHandler {
             request.getDescription(false),
             errors
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return buildResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -140,7 +141,7 @@ public class GlobalExceptionHandler {
             request.getDescription(false),
             errors
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return buildResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
@@ -163,7 +164,7 @@ public class GlobalExceptionHandler {
             message,
             request.getDescription(false)
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return buildResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
@@ -179,7 +180,7 @@ public class GlobalExceptionHandler {
             message,
             request.getDescription(false)
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return buildResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MissingServletRequestParameterException.class)
@@ -195,7 +196,7 @@ public class GlobalExceptionHandler {
             message,
             request.getDescription(false)
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return buildResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
@@ -211,7 +212,7 @@ public class GlobalExceptionHandler {
             message,
             request.getDescription(false)
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.METHOD_NOT_ALLOWED);
+        return buildResponse(errorResponse, HttpStatus.METHOD_NOT_ALLOWED);
     }
 
     @ExceptionHandler(Exception.class)
@@ -228,7 +229,14 @@ public class GlobalExceptionHandler {
             "An unexpected error occurred. Please try again later.",
             request.getDescription(false)
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        return buildResponse(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    // Errors are always JSON, including on NDJSON streaming requests whose Accept header would otherwise rule it out
+    private <T> ResponseEntity<T> buildResponse(T body, HttpStatus status) {
+        return ResponseEntity.status(status)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
     }
 
     public record ErrorResponse(
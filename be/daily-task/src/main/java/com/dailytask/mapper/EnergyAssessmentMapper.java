@@ -13,6 +13,9 @@ public interface EnergyAssessmentMapper {
     @Mapping(source = "user.username", target = "username")
     EnergyAssessmentResponse toResponse(EnergyAssessment energyAssessment);
 
+    @Mapping(source = "username", target = "username")
+    EnergyAssessmentResponse toResponse(EnergyAssessment energyAssessment, String username);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -13,6 +13,9 @@ public interface ReflectionMapper {
     @Mapping(source = "user.username", target = "username")
     ReflectionResponse toResponse(Reflection reflection);
 
+    @Mapping(source = "username", target = "username")
+    ReflectionResponse toResponse(Reflection reflection, String username);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -4,6 +4,7 @@ import com.dailytask.dto.request.CreateTaskRequest;
 import com.dailytask.dto.request.UpdateTaskRequest;
 import com.dailytask.dto.response.TaskResponse;
 import com.dailytask.entity.Task;
+import com.dailytask.repository.projection.ToggledTask;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -15,6 +16,12 @@ public interface TaskMapper {
     @Mapping(source = "user.username", target = "username")
     TaskResponse toResponse(Task task);
 
+    @Mapping(source = "username", target = "username")
+    TaskResponse toResponse(Task task, String username);
+
+    @Mapping(source = "username", target = "username")
+    TaskResponse toResponse(ToggledTask task, String username);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -0,0 +1,56 @@
+package com.dailytask.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes Hibernate's session factory statistics as {@code hibernate.*}
+ * counters. They only move while {@code hibernate.generate_statistics} is on.
+ */
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "hibernate.statements.prepared", "JDBC statements prepared", Statistics::getPrepareStatementCount);
+        counter(registry, "hibernate.flushes", "Session flushes", Statistics::getFlushCount);
+        counter(registry, "hibernate.connections.obtained", "JDBC connections obtained", Statistics::getConnectCount);
+        counter(registry, "hibernate.transactions", "Transactions completed", Statistics::getTransactionCount);
+        counter(registry, "hibernate.query.executions", "HQL and native queries executed", Statistics::getQueryExecutionCount);
+
+        counter(registry, "hibernate.entities", "Entities loaded", Statistics::getEntityLoadCount, "type", "load");
+        counter(registry, "hibernate.entities", "Entities fetched lazily", Statistics::getEntityFetchCount, "type", "fetch");
+        counter(registry, "hibernate.entities", "Entities inserted", Statistics::getEntityInsertCount, "type", "insert");
+        counter(registry, "hibernate.entities", "Entities updated", Statistics::getEntityUpdateCount, "type", "update");
+        counter(registry, "hibernate.entities", "Entities deleted", Statistics::getEntityDeleteCount, "type", "delete");
+        counter(registry, "hibernate.collections", "Collections loaded", Statistics::getCollectionLoadCount, "type", "load");
+        counter(registry, "hibernate.collections", "Collections fetched lazily", Statistics::getCollectionFetchCount, "type", "fetch");
+
+        counter(registry, "hibernate.second.level.cache.requests", "Second-level cache lookups", Statistics::getSecondLevelCacheHitCount, "result", "hit");
+        counter(registry, "hibernate.second.level.cache.requests", "Second-level cache lookups", Statistics::getSecondLevelCacheMissCount, "result", "miss");
+        counter(registry, "hibernate.second.level.cache.puts", "Entries put in the second-level cache", Statistics::getSecondLevelCachePutCount);
+        counter(registry, "hibernate.query.plan.cache.requests", "Query plan cache lookups", Statistics::getQueryPlanCacheHitCount, "result", "hit");
+        counter(registry, "hibernate.query.plan.cache.requests", "Query plan cache lookups", Statistics::getQueryPlanCacheMissCount, "result", "miss");
+    }
+
+    private void counter(MeterRegistry registry, String name, String description,
+                         ToDoubleFunction<Statistics> count, String... tags) {
+        FunctionCounter.builder(name, statistics, count)
+            .description(description)
+            .tags(tags)
+            .register(registry);
+    }
+}
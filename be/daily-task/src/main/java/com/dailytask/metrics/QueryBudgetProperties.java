@@ -0,0 +1,42 @@
+package com.dailytask.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Most SQL statements a request to an endpoint may execute, keyed by HTTP
+ * method and then by the endpoint's URI template, e.g.
+ * {@code app.metrics.query-budgets.get.[/api/users/{username}/daily-data]=3}.
+ *
+ * @param queryBudgets budgets per method and URI template; endpoints without one are not checked
+ * @param budgetMode   whether an exceeded budget is logged or fails the request
+ * @param serverTiming whether responses carry a {@code Server-Timing} header
+ */
+@ConfigurationProperties("app.metrics")
+public record QueryBudgetProperties(
+    Map<String, Map<String, Integer>> queryBudgets,
+    BudgetMode budgetMode,
+    boolean serverTiming
+) {
+
+    public enum BudgetMode {
+        LOG,
+        FAIL
+    }
+
+    public QueryBudgetProperties {
+        Map<String, Map<String, Integer>> byMethod = new HashMap<>();
+        if (queryBudgets != null) {
+            queryBudgets.forEach((method, budgets) -> byMethod.put(method.toUpperCase(Locale.ROOT), Map.copyOf(budgets)));
+        }
+        queryBudgets = Map.copyOf(byMethod);
+        budgetMode = budgetMode != null ? budgetMode : BudgetMode.LOG;
+    }
+
+    public Integer budget(String method, String uriTemplate) {
+        return queryBudgets.getOrDefault(method, Map.of()).get(uriTemplate);
+    }
+}
@@ -0,0 +1,240 @@
+package com.dailytask.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts and times the SQL statements each request executes, records them per
+ * endpoint as {@code http.server.requests.sql.statements} and
+ * {@code http.server.requests.sql.duration}, and checks them against the
+ * configured {@link QueryBudgetProperties query budgets}.
+ * <p>
+ * With {@code app.metrics.server-timing} on, responses also carry a
+ * {@code Server-Timing} header. It is added just before the first byte of the
+ * body is written, which for JSON responses is after all reads are done; a
+ * streamed body reports what ran before its first line.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetProperties properties;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, QueryBudgetProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = new SqlStatementStats();
+        ServerTimingResponse timedResponse = properties.serverTiming()
+            ? new ServerTimingResponse(response, stats, System.nanoTime())
+            : null;
+
+        try (SqlStatementStats.Scope ignored = stats.bind()) {
+            filterChain.doFilter(request, timedResponse != null ? timedResponse : response);
+        }
+
+        if (request.isAsyncStarted()) {
+            // The work continues on another thread; account for it once the exchange completes
+            request.getAsyncContext().addListener(new CompletionListener(request, stats));
+            return;
+        }
+        if (timedResponse != null) {
+            // Bodiless responses such as 304 and 204 are only committed after the chain returns
+            timedResponse.addServerTiming();
+        }
+        record(request, stats, properties.budgetMode() == QueryBudgetProperties.BudgetMode.FAIL);
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats, boolean failOverBudget) {
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        Tags tags = Tags.of("method", method, "uri", uri);
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+            .description("SQL statements executed per request")
+            .baseUnit("statements")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(stats.statements());
+        Timer.builder("http.server.requests.sql.duration")
+            .description("Time spent executing SQL statements per request")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        Integer budget = properties.budget(method, uri);
+        if (budget != null && stats.statements() > budget) {
+            String message = String.format("%s %s executed %d SQL statements, over its budget of %d",
+                method, uri, stats.statements(), budget);
+            if (failOverBudget) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final SqlStatementStats stats;
+
+        CompletionListener(HttpServletRequest request, SqlStatementStats stats) {
+            this.request = request;
+            this.stats = stats;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // Too late to fail the response, so an exceeded budget is only logged
+            record(request, stats, false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementStats stats;
+        private final long startNanos;
+        private boolean added;
+        private ServletOutputStream outputStream;
+
+        ServerTimingResponse(HttpServletResponse response, SqlStatementStats stats, long startNanos) {
+            super(response);
+            this.stats = stats;
+            this.startNanos = startNanos;
+        }
+
+        void addServerTiming() {
+            if (added || isCommitted()) {
+                return;
+            }
+            added = true;
+            addHeader("Server-Timing", String.format(Locale.ROOT, "sql;desc=\"%d statements\";dur=%.2f, app;dur=%.2f",
+                stats.statements(), stats.nanos() / 1e6, (System.nanoTime() - startNanos) / 1e6));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new HeaderOnFirstWrite(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+
+        private final class HeaderOnFirstWrite extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            HeaderOnFirstWrite(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                addServerTiming();
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                addServerTiming();
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                addServerTiming();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                addServerTiming();
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.dailytask.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Feeds every statement and batch a session executes into the
+ * {@link SqlStatementStats} of the current request. Hibernate creates one per
+ * session from {@code hibernate.session.events.auto}; a session is used by one
+ * thread at a time, so the start time needs no synchronization.
+ */
+public class SqlStatementListener implements SessionEventListener {
+
+    private long startNanos;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.record(System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.dailytask.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statements executed and time spent executing them on behalf of one request.
+ * Bound to the request thread by {@link RequestMetricsFilter} and carried onto
+ * the threads the request forks work to by {@link #propagate}, so reads a
+ * composite endpoint runs in parallel are counted against it too.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    /**
+     * Stats of the request running on this thread, or {@code null} outside one.
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds these stats to the calling thread until the returned scope is closed.
+     */
+    public Scope bind() {
+        SqlStatementStats previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> restore(previous);
+    }
+
+    /**
+     * Wraps a task so it runs with the stats of the thread that submitted it.
+     */
+    public static Runnable propagate(Runnable task) {
+        SqlStatementStats submitter = CURRENT.get();
+        if (submitter == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = submitter.bind()) {
+                task.run();
+            }
+        };
+    }
+
+    public void record(long elapsedNanos) {
+        statements.increment();
+        nanos.add(elapsedNanos);
+    }
+
+    public long statements() {
+        return statements.sum();
+    }
+
+    public long nanos() {
+        return nanos.sum();
+    }
+
+    private static void restore(SqlStatementStats previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
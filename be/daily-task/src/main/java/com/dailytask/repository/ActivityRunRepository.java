@@ -0,0 +1,80 @@
+package com.dailytask.repository;
+
+import com.dailytask.entity.ActivityKind;
+import com.dailytask.entity.ActivityRun;
+import com.dailytask.repository.projection.ActivitySpan;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ActivityRunRepository extends org.springframework.data.repository.Repository<ActivityRun, ActivityRun.Key> {
+
+    // The runs containing any of the days, found through the days' summary rows, which every refreshed day has;
+    // a range from the first to the last day would read every run in between
+    @Query("SELECT DISTINCT new com.dailytask.repository.projection.ActivitySpan(r.kind, r.startDate, r.endDate) " +
+           "FROM DailySummary s JOIN ActivityRun r ON r.userId = s.userId AND r.startDate <= s.date AND r.endDate >= s.date " +
+           "WHERE s.userId = :userId AND s.date IN :dates")
+    List<ActivitySpan> findSpansByUserIdContainingAny(@Param("userId") Long userId, @Param("dates") Collection<LocalDate> dates);
+
+    // The runs next to a day no run contains: the one ending the day before and the one starting the day after.
+    // Each side is an exact index lookup, where a range over both dates would scan every later run
+    @Query("SELECT new com.dailytask.repository.projection.ActivitySpan(r.kind, r.startDate, r.endDate) " +
+           "FROM ActivityRun r WHERE r.userId = :userId AND r.kind = :kind AND (r.endDate = :dayBefore OR r.startDate = :dayAfter)")
+    List<ActivitySpan> findNeighbourSpansByUserIdAndKind(@Param("userId") Long userId, @Param("kind") ActivityKind kind,
+                                                         @Param("dayBefore") LocalDate dayBefore, @Param("dayAfter") LocalDate dayAfter);
+
+    // The run still going on asOf: it contains asOf or ended the day before. Runs never touch, so there is at most one per kind.
+    @Query("SELECT new com.dailytask.repository.projection.ActivitySpan(r.kind, r.startDate, r.endDate) " +
+           "FROM ActivityRun r WHERE r.userId = :userId AND r.startDate <= :asOf AND r.endDate >= :dayBefore")
+    List<ActivitySpan> findCurrentSpansByUserId(@Param("userId") Long userId, @Param("asOf") LocalDate asOf, @Param("dayBefore") LocalDate dayBefore);
+
+    // Runs change through native statements: ActivityRun is immutable to Hibernate, which only warns about
+    // JPQL updates and deletes of it. Kinds are passed by name, as they are stored.
+    @Modifying
+    @Query(value = "INSERT INTO activity_runs (user_id, kind, start_date, end_date) VALUES (:userId, :kind, :startDate, :endDate)",
+           nativeQuery = true)
+    int insertRun(@Param("userId") Long userId, @Param("kind") String kind, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "UPDATE activity_runs SET start_date = :newStartDate WHERE user_id = :userId AND kind = :kind AND start_date = :startDate",
+           nativeQuery = true)
+    int updateStartDate(@Param("userId") Long userId, @Param("kind") String kind, @Param("startDate") LocalDate startDate, @Param("newStartDate") LocalDate newStartDate);
+
+    @Modifying
+    @Query(value = "UPDATE activity_runs SET end_date = :endDate WHERE user_id = :userId AND kind = :kind AND start_date = :startDate",
+           nativeQuery = true)
+    int updateEndDate(@Param("userId") Long userId, @Param("kind") String kind, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "DELETE FROM activity_runs WHERE user_id = :userId AND kind = :kind AND start_date = :startDate", nativeQuery = true)
+    int deleteRun(@Param("userId") Long userId, @Param("kind") String kind, @Param("startDate") LocalDate startDate);
+
+    @Modifying
+    @Query(value = "DELETE FROM activity_runs WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Rebuild path: consecutive active days share the same date minus row number
+    @Modifying
+    @Query(value = """
+        INSERT INTO activity_runs (user_id, kind, start_date, end_date)
+        SELECT :userId, kind, MIN(date), MAX(date)
+        FROM (
+            SELECT k.kind, s.date,
+                   s.date - CAST(ROW_NUMBER() OVER (PARTITION BY k.kind ORDER BY s.date) AS INTEGER) AS island
+            FROM daily_summaries s
+            CROSS JOIN LATERAL (VALUES
+                ('TASKS', s.total_tasks > 0),
+                ('REFLECTIONS', s.energy_rating IS NOT NULL),
+                ('ENERGY_ASSESSMENTS', s.energy_level IS NOT NULL)) AS k(kind, active)
+            WHERE s.user_id = :userId AND k.active
+        ) d
+        GROUP BY kind, island
+        """, nativeQuery = true)
+    int insertRunsFromDailySummaries(@Param("userId") Long userId);
+}
@@ -0,0 +1,66 @@
+package com.dailytask.repository;
+
+import com.dailytask.entity.ActivityStreak;
+import com.dailytask.repository.projection.ActivitySpan;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ActivityStreakRepository extends org.springframework.data.repository.Repository<ActivityStreak, ActivityStreak.Key> {
+
+    @Query("SELECT new com.dailytask.repository.projection.ActivitySpan(s.kind, s.longestStart, s.longestEnd) " +
+           "FROM ActivityStreak s WHERE s.userId = :userId AND s.longestStart IS NOT NULL")
+    List<ActivitySpan> findLongestSpansByUserId(@Param("userId") Long userId);
+
+    // Creates the row if missing and row-locks it; every change to the user's runs of this kind takes the lock
+    // first, so changes to neighbouring days never interleave
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO activity_streaks (user_id, kind) VALUES (:userId, :kind)
+        ON CONFLICT (user_id, kind) DO UPDATE SET longest_end = activity_streaks.longest_end
+        """, nativeQuery = true)
+    int lock(@Param("userId") Long userId, @Param("kind") String kind);
+
+    // Native, like every change to this immutable entity. Stores the run only if it beats the stored longest run;
+    // ties go to the more recent run, as in ActivitySpan.isLongerThan
+    @Modifying
+    @Query(value = """
+        UPDATE activity_streaks SET longest_start = :startDate, longest_end = :endDate
+        WHERE user_id = :userId AND kind = :kind
+          AND (longest_start IS NULL
+               OR CAST(:endDate AS date) - CAST(:startDate AS date) > longest_end - longest_start
+               OR (CAST(:endDate AS date) - CAST(:startDate AS date) = longest_end - longest_start AND :endDate > longest_end))
+        """, nativeQuery = true)
+    int updateLongest(@Param("userId") Long userId, @Param("kind") String kind, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Longest run re-derived from activity_runs, for when the stored one may have shrunk
+    @Modifying
+    @Query(value = """
+        UPDATE activity_streaks s
+        SET (longest_start, longest_end) = (
+                SELECT r.start_date, r.end_date FROM activity_runs r
+                WHERE r.user_id = s.user_id AND r.kind = s.kind
+                ORDER BY r.end_date - r.start_date DESC, r.end_date DESC
+                LIMIT 1)
+        WHERE s.user_id = :userId AND s.kind = :kind
+        """, nativeQuery = true)
+    int refreshLongest(@Param("userId") Long userId, @Param("kind") String kind);
+
+    // The same, but only when the stored longest run contains the date; that is the one run a day leaving can shrink
+    @Modifying
+    @Query(value = """
+        UPDATE activity_streaks s
+        SET (longest_start, longest_end) = (
+                SELECT r.start_date, r.end_date FROM activity_runs r
+                WHERE r.user_id = s.user_id AND r.kind = s.kind
+                ORDER BY r.end_date - r.start_date DESC, r.end_date DESC
+                LIMIT 1)
+        WHERE s.user_id = :userId AND s.kind = :kind AND s.longest_start <= :date AND s.longest_end >= :date
+        """, nativeQuery = true)
+    int refreshLongestContaining(@Param("userId") Long userId, @Param("kind") String kind, @Param("date") LocalDate date);
+}
@@ -0,0 +1,34 @@
+package com.dailytask.repository;
+
+import com.dailytask.entity.User;
+import com.dailytask.repository.projection.ContentVersion;
+import com.dailytask.repository.projection.DailySnapshotHeader;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface DailySnapshotRepository extends org.springframework.data.repository.Repository<User, Long> {
+
+    @Query("SELECT new com.dailytask.repository.projection.DailySnapshotHeader(u, r, ea) FROM User u " +
+           "LEFT JOIN Reflection r ON r.user = u AND r.date = :date " +
+           "LEFT JOIN EnergyAssessment ea ON ea.user = u AND ea.date = :date " +
+           "WHERE u.username = :username")
+    Optional<DailySnapshotHeader> findHeaderByUsernameAndDate(@Param("username") String username, @Param("date") LocalDate date);
+
+    // Conditional GET validator over everything the snapshot shows; the user's own created_at
+    // stands in for the tables with no row that day
+    @Query("SELECT new com.dailytask.repository.projection.ContentVersion(" +
+           "COUNT(t) + COUNT(DISTINCT r.id) + COUNT(DISTINCT ea.id), " +
+           "GREATEST(COALESCE(MAX(t.updatedAt), u.createdAt), COALESCE(r.updatedAt, u.createdAt), COALESCE(ea.updatedAt, u.createdAt))) " +
+           "FROM User u " +
+           "LEFT JOIN Reflection r ON r.user = u AND r.date = :date " +
+           "LEFT JOIN EnergyAssessment ea ON ea.user = u AND ea.date = :date " +
+           "LEFT JOIN Task t ON t.user = u AND t.date = :date " +
+           "WHERE u.username = :username " +
+           "GROUP BY u.id, u.createdAt, r.id, r.updatedAt, ea.id, ea.updatedAt")
+    Optional<ContentVersion> findVersionByUsernameAndDate(@Param("username") String username, @Param("date") LocalDate date);
+}
@@ -0,0 +1,78 @@
+package com.dailytask.repository;
+
+import com.dailytask.entity.DailySummary;
+import com.dailytask.repository.projection.DailyTaskCounts;
+import com.dailytask.repository.projection.DayActivity;
+import com.dailytask.repository.projection.EnergySums;
+import com.dailytask.repository.projection.RefreshedDay;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySummaryRepository extends org.springframework.data.repository.Repository<DailySummary, DailySummary.Key> {
+
+    @Query("SELECT new com.dailytask.repository.projection.DailyTaskCounts(s.date, s.totalTasks, s.completedTasks, s.starredTasks) " +
+           "FROM DailySummary s WHERE s.userId = :userId AND s.date BETWEEN :startDate AND :endDate ORDER BY s.date")
+    List<DailyTaskCounts> findDailyStatsByUserIdAndDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.dailytask.repository.projection.DayActivity(s.date, s.totalTasks, s.completedTasks, s.energyRating, s.energyLevel) " +
+           "FROM DailySummary s WHERE s.userId = :userId AND s.date BETWEEN :startDate AND :endDate ORDER BY s.date")
+    List<DayActivity> findActivityByUserIdAndDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Energy sums over two date ranges, the partial months at either end of a range answered from monthly buckets;
+    // an empty range is passed with its start after its end
+    @Query("SELECT new com.dailytask.repository.projection.EnergySums(" +
+           "COALESCE(SUM(s.energyLevel), 0L), COUNT(s.energyLevel), COALESCE(SUM(s.energyRating), 0L), COUNT(s.energyRating)) " +
+           "FROM DailySummary s WHERE s.userId = :userId " +
+           "AND (s.date BETWEEN :headStart AND :headEnd OR s.date BETWEEN :tailStart AND :tailEnd)")
+    EnergySums findEnergySumsByUserIdAndDateBetweenEither(@Param("userId") Long userId,
+                                                          @Param("headStart") LocalDate headStart, @Param("headEnd") LocalDate headEnd,
+                                                          @Param("tailStart") LocalDate tailStart, @Param("tailEnd") LocalDate tailEnd);
+
+    // Every day that has, or had, something to summarize
+    @Query("SELECT t.date FROM Task t WHERE t.user.id = :userId " +
+           "UNION SELECT r.date FROM Reflection r WHERE r.user.id = :userId " +
+           "UNION SELECT ea.date FROM EnergyAssessment ea WHERE ea.user.id = :userId " +
+           "UNION SELECT s.date FROM DailySummary s WHERE s.userId = :userId")
+    List<LocalDate> findSummarizedDatesByUserId(@Param("userId") Long userId);
+
+    // Creates missing rows and row-locks all of them, in date order so overlapping writers cannot deadlock.
+    // A concurrent write to the same days waits here until this transaction commits.
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO daily_summaries (user_id, date)
+        SELECT :userId, d.date FROM unnest(CAST(:dates AS date[])) AS d(date)
+        ORDER BY d.date
+        ON CONFLICT (user_id, date) DO UPDATE SET version = daily_summaries.version
+        """, nativeQuery = true)
+    int lockDays(@Param("userId") Long userId, @Param("dates") LocalDate[] dates);
+
+    // Must run after lockDays, as its own statement: its snapshot then includes every write committed while waiting
+    // for the lock. The rows are locked by then, so the self-join reads each one as it was before this update.
+    @Query(value = """
+        WITH refreshed AS (
+            UPDATE daily_summaries s
+            SET (total_tasks, completed_tasks, starred_tasks) = (
+                    SELECT COUNT(*), COUNT(*) FILTER (WHERE t.completed), COUNT(*) FILTER (WHERE t.starred)
+                    FROM tasks t WHERE t.user_id = s.user_id AND t.date = s.date),
+                energy_level = (SELECT ea.energy_level FROM energy_assessments ea WHERE ea.user_id = s.user_id AND ea.date = s.date),
+                energy_rating = (SELECT r.energy_rating FROM reflections r WHERE r.user_id = s.user_id AND r.date = s.date),
+                version = s.version + 1
+            FROM daily_summaries prev
+            WHERE s.user_id = :userId AND s.date = ANY(CAST(:dates AS date[]))
+              AND prev.user_id = s.user_id AND prev.date = s.date
+            RETURNING s.date, s.total_tasks, s.completed_tasks, s.energy_rating, s.energy_level,
+                      prev.energy_rating AS previous_energy_rating, prev.energy_level AS previous_energy_level
+        )
+        SELECT date, total_tasks AS "totalTasks", completed_tasks AS "completedTasks",
+               energy_rating AS "energyRating", energy_level AS "energyLevel",
+               previous_energy_rating AS "previousEnergyRating", previous_energy_level AS "previousEnergyLevel"
+        FROM refreshed ORDER BY date
+        """, nativeQuery = true)
+    List<RefreshedDay> refreshDays(@Param("userId") Long userId, @Param("dates") LocalDate[] dates);
+}
@@ -1,15 +1,21 @@
 package com.dailytask.repository;
 
+import com.dailytask.dto.response.EnergyAssessmentResponse;
 import com.dailytask.entity.EnergyAssessment;
 import com.dailytask.entity.User;
+import com.dailytask.repository.projection.ContentVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnergyAssessmentRepository extends JpaRepository<EnergyAssessment, Long> {
@@ -49,9 +55,66 @@ public interface EnergyAssessmentRepository extends JpaRepository<EnergyAssessme
 
     boolean existsByUserAndDate(User user, LocalDate date);
 
-    @Query("SELECT ea FROM EnergyAssessment ea WHERE ea.user = :user AND ea.date >= :date ORDER BY ea.date ASC LIMIT 1")
+    @Query("SELECT ea FROM EnergyAssessment ea WHERE ea.user = :user AND ea.date > :date ORDER BY ea.date ASC LIMIT 1")
     Optional<EnergyAssessment> findFirstByUserAndDateAfterOrderByDateAsc(@Param("user") User user, @Param("date") LocalDate date);
 
-    @Query("SELECT ea FROM EnergyAssessment ea WHERE ea.user = :user AND ea.date <= :date ORDER BY ea.date DESC LIMIT 1")
+    @Query("SELECT ea FROM EnergyAssessment ea WHERE ea.user = :user AND ea.date < :date ORDER BY ea.date DESC LIMIT 1")
     Optional<EnergyAssessment> findFirstByUserAndDateBeforeOrderByDateDesc(@Param("user") User user, @Param("date") LocalDate date);
-} 
\ No newline at end of file
+
+    // Read paths select straight into EnergyAssessmentResponse, so no entities are hydrated or dirty-checked
+    @Query("SELECT new com.dailytask.dto.response.EnergyAssessmentResponse(ea.id, ea.date, ea.energyLevel, u.username, ea.createdAt, ea.updatedAt) FROM EnergyAssessment ea JOIN ea.user u WHERE ea.id = :id")
+    Optional<EnergyAssessmentResponse> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new com.dailytask.dto.response.EnergyAssessmentResponse(ea.id, ea.date, ea.energyLevel, u.username, ea.createdAt, ea.updatedAt) FROM EnergyAssessment ea JOIN ea.user u WHERE u.id = :userId AND ea.date = :date")
+    Optional<EnergyAssessmentResponse> findResponseByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    // Conditional GET validator for one day's energy assessment
+    @Query("SELECT new com.dailytask.repository.projection.ContentVersion(COUNT(ea), MAX(ea.updatedAt)) FROM EnergyAssessment ea WHERE ea.user.id = :userId AND ea.date = :date")
+    ContentVersion findVersionByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    @Query("SELECT new com.dailytask.dto.response.EnergyAssessmentResponse(ea.id, ea.date, ea.energyLevel, u.username, ea.createdAt, ea.updatedAt) FROM EnergyAssessment ea JOIN ea.user u WHERE u.id = :userId AND ea.date BETWEEN :startDate AND :endDate ORDER BY ea.date DESC")
+    List<EnergyAssessmentResponse> findResponsesByUserIdAndDateBetweenOrderByDateDesc(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.dailytask.dto.response.EnergyAssessmentResponse(ea.id, ea.date, ea.energyLevel, u.username, ea.createdAt, ea.updatedAt) FROM EnergyAssessment ea JOIN ea.user u WHERE u.id = :userId ORDER BY ea.date DESC")
+    List<EnergyAssessmentResponse> findResponsesByUserIdOrderByDateDesc(@Param("userId") Long userId);
+
+    @Query("SELECT new com.dailytask.dto.response.EnergyAssessmentResponse(ea.id, ea.date, ea.energyLevel, u.username, ea.createdAt, ea.updatedAt) FROM EnergyAssessment ea JOIN ea.user u WHERE u.id = :userId AND ea.energyLevel BETWEEN :minLevel AND :maxLevel ORDER BY ea.date DESC")
+    List<EnergyAssessmentResponse> findResponsesByUserIdAndEnergyLevelBetweenOrderByDateDesc(@Param("userId") Long userId, @Param("minLevel") Integer minLevel, @Param("maxLevel") Integer maxLevel);
+
+    // Streamed variants read through a JDBC cursor; callers must consume them inside a transaction and close them
+    @Query("SELECT new com.dailytask.dto.response.EnergyAssessmentResponse(ea.id, ea.date, ea.energyLevel, u.username, ea.createdAt, ea.updatedAt) FROM EnergyAssessment ea JOIN ea.user u WHERE u.id = :userId AND ea.date BETWEEN :startDate AND :endDate ORDER BY ea.date DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    Stream<EnergyAssessmentResponse> streamResponsesByUserIdAndDateBetweenOrderByDateDesc(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.dailytask.dto.response.EnergyAssessmentResponse(ea.id, ea.date, ea.energyLevel, u.username, ea.createdAt, ea.updatedAt) FROM EnergyAssessment ea JOIN ea.user u WHERE u.id = :userId AND ea.date BETWEEN :startDate AND :endDate ORDER BY ea.date ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    Stream<EnergyAssessmentResponse> streamResponsesByUserIdAndDateBetweenOrderByDateAsc(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.dailytask.dto.response.EnergyAssessmentResponse(ea.id, ea.date, ea.energyLevel, u.username, ea.createdAt, ea.updatedAt) FROM EnergyAssessment ea JOIN ea.user u WHERE u.id = :userId ORDER BY ea.date DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    Stream<EnergyAssessmentResponse> streamResponsesByUserIdOrderByDateDesc(@Param("userId") Long userId);
+
+    @Query("SELECT new com.dailytask.dto.response.EnergyAssessmentResponse(ea.id, ea.date, ea.energyLevel, u.username, ea.createdAt, ea.updatedAt) FROM EnergyAssessment ea JOIN ea.user u WHERE u.id = :userId AND ea.energyLevel BETWEEN :minLevel AND :maxLevel ORDER BY ea.date DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    Stream<EnergyAssessmentResponse> streamResponsesByUserIdAndEnergyLevelBetweenOrderByDateDesc(@Param("userId") Long userId, @Param("minLevel") Integer minLevel, @Param("maxLevel") Integer maxLevel);
+
+    boolean existsByUserIdAndDate(Long userId, LocalDate date);
+
+    @Query("SELECT AVG(ea.energyLevel) FROM EnergyAssessment ea WHERE ea.user.id = :userId")
+    Double findAverageEnergyLevelByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT AVG(ea.energyLevel) FROM EnergyAssessment ea WHERE ea.user.id = :userId AND ea.date BETWEEN :startDate AND :endDate")
+    Double findAverageEnergyLevelByUserIdAndDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Insert or overwrite the day's assessment in one statement; concurrent submits cannot hit the unique constraint
+    @Query(value = """
+        INSERT INTO energy_assessments (user_id, date, energy_level, created_at, updated_at)
+        VALUES (:userId, :date, :energyLevel, LOCALTIMESTAMP, LOCALTIMESTAMP)
+        ON CONFLICT (user_id, date) DO UPDATE
+        SET energy_level = EXCLUDED.energy_level,
+            updated_at = EXCLUDED.updated_at
+        RETURNING *
+        """, nativeQuery = true)
+    EnergyAssessment upsertByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date,
+                                           @Param("energyLevel") Integer energyLevel);
+}
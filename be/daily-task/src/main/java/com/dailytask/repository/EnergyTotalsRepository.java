@@ -0,0 +1,54 @@
+package com.dailytask.repository;
+
+import com.dailytask.entity.EnergyTotals;
+import com.dailytask.repository.projection.EnergySums;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EnergyTotalsRepository extends org.springframework.data.repository.Repository<EnergyTotals, Long> {
+
+    @Query("SELECT new com.dailytask.repository.projection.EnergySums(t.energyLevelSum, t.energyLevelCount, t.energyRatingSum, t.energyRatingCount) " +
+           "FROM EnergyTotals t WHERE t.userId = :userId")
+    Optional<EnergySums> findSumsByUserId(@Param("userId") Long userId);
+
+    // Adds a change to the user's totals, creating the row if missing. Like lockUser it row-locks the
+    // totals before any month, so writers adding changes and a rebuild take their locks in one order.
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO energy_totals (user_id, energy_level_sum, energy_level_count, energy_rating_sum, energy_rating_count)
+        VALUES (:userId, :levelSum, :levelCount, :ratingSum, :ratingCount)
+        ON CONFLICT (user_id) DO UPDATE SET
+            energy_level_sum = energy_totals.energy_level_sum + EXCLUDED.energy_level_sum,
+            energy_level_count = energy_totals.energy_level_count + EXCLUDED.energy_level_count,
+            energy_rating_sum = energy_totals.energy_rating_sum + EXCLUDED.energy_rating_sum,
+            energy_rating_count = energy_totals.energy_rating_count + EXCLUDED.energy_rating_count
+        """, nativeQuery = true)
+    int addToTotals(@Param("userId") Long userId, @Param("levelSum") long levelSum, @Param("levelCount") long levelCount,
+                    @Param("ratingSum") long ratingSum, @Param("ratingCount") long ratingCount);
+
+    // Creates the user's row if missing and row-locks it; a rebuild of the user's energy aggregates
+    // takes this lock first, so its recompute of months and totals never interleaves with a writer
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO energy_totals (user_id) VALUES (:userId)
+        ON CONFLICT (user_id) DO UPDATE SET energy_level_count = energy_totals.energy_level_count
+        """, nativeQuery = true)
+    int lockUser(@Param("userId") Long userId);
+
+    // Must run after lockUser and MonthlyEnergySummaryRepository.refreshMonths
+    @Modifying
+    @Query(value = """
+        UPDATE energy_totals t
+        SET (energy_level_sum, energy_level_count, energy_rating_sum, energy_rating_count) = (
+                SELECT COALESCE(SUM(m.energy_level_sum), 0), COALESCE(SUM(m.energy_level_count), 0),
+                       COALESCE(SUM(m.energy_rating_sum), 0), COALESCE(SUM(m.energy_rating_count), 0)
+                FROM monthly_energy_summaries m WHERE m.user_id = t.user_id)
+        WHERE t.user_id = :userId
+        """, nativeQuery = true)
+    int refreshTotals(@Param("userId") Long userId);
+}
@@ -0,0 +1,62 @@
+package com.dailytask.repository;
+
+import com.dailytask.entity.MonthlyEnergySummary;
+import com.dailytask.repository.projection.EnergySums;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface MonthlyEnergySummaryRepository extends org.springframework.data.repository.Repository<MonthlyEnergySummary, MonthlyEnergySummary.Key> {
+
+    // Both bounds are first days of months and inclusive
+    @Query("SELECT new com.dailytask.repository.projection.EnergySums(" +
+           "COALESCE(SUM(m.energyLevelSum), 0L), COALESCE(SUM(m.energyLevelCount), 0L), " +
+           "COALESCE(SUM(m.energyRatingSum), 0L), COALESCE(SUM(m.energyRatingCount), 0L)) " +
+           "FROM MonthlyEnergySummary m WHERE m.userId = :userId AND m.month BETWEEN :startMonth AND :endMonth")
+    EnergySums findSumsByUserIdAndMonthBetween(@Param("userId") Long userId, @Param("startMonth") LocalDate startMonth, @Param("endMonth") LocalDate endMonth);
+
+    // Adds each month's change to its row, creating missing rows; months are distinct and sorted, so
+    // concurrent writers lock the rows in the same order. Callers add to energy_totals first.
+    @Modifying
+    @Query(value = """
+        INSERT INTO monthly_energy_summaries (user_id, month, energy_level_sum, energy_level_count, energy_rating_sum, energy_rating_count)
+        SELECT :userId, d.month, d.level_sum, d.level_count, d.rating_sum, d.rating_count
+        FROM unnest(CAST(:months AS date[]), CAST(:levelSums AS bigint[]), CAST(:levelCounts AS bigint[]),
+                    CAST(:ratingSums AS bigint[]), CAST(:ratingCounts AS bigint[]))
+             AS d(month, level_sum, level_count, rating_sum, rating_count)
+        ORDER BY d.month
+        ON CONFLICT (user_id, month) DO UPDATE SET
+            energy_level_sum = monthly_energy_summaries.energy_level_sum + EXCLUDED.energy_level_sum,
+            energy_level_count = monthly_energy_summaries.energy_level_count + EXCLUDED.energy_level_count,
+            energy_rating_sum = monthly_energy_summaries.energy_rating_sum + EXCLUDED.energy_rating_sum,
+            energy_rating_count = monthly_energy_summaries.energy_rating_count + EXCLUDED.energy_rating_count
+        """, nativeQuery = true)
+    int addToMonths(@Param("userId") Long userId, @Param("months") LocalDate[] months,
+                    @Param("levelSums") Long[] levelSums, @Param("levelCounts") Long[] levelCounts,
+                    @Param("ratingSums") Long[] ratingSums, @Param("ratingCounts") Long[] ratingCounts);
+
+    // Re-derives the given months from daily_summaries, creating missing rows. Callers serialize on
+    // EnergyTotalsRepository.lockUser first, so this statement sees every committed refresh of the days.
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO monthly_energy_summaries (user_id, month, energy_level_sum, energy_level_count, energy_rating_sum, energy_rating_count)
+        SELECT :userId, m.month,
+               COALESCE(SUM(s.energy_level), 0), COUNT(s.energy_level),
+               COALESCE(SUM(s.energy_rating), 0), COUNT(s.energy_rating)
+        FROM unnest(CAST(:months AS date[])) AS m(month)
+        LEFT JOIN daily_summaries s
+               ON s.user_id = :userId AND s.date >= m.month AND s.date < CAST(m.month + INTERVAL '1 month' AS date)
+        GROUP BY m.month
+        ORDER BY m.month
+        ON CONFLICT (user_id, month) DO UPDATE SET
+            energy_level_sum = EXCLUDED.energy_level_sum,
+            energy_level_count = EXCLUDED.energy_level_count,
+            energy_rating_sum = EXCLUDED.energy_rating_sum,
+            energy_rating_count = EXCLUDED.energy_rating_count
+        """, nativeQuery = true)
+    int refreshMonths(@Param("userId") Long userId, @Param("months") LocalDate[] months);
+}
@@ -1,15 +1,21 @@
 package com.dailytask.repository;
 
+import com.dailytask.dto.response.ReflectionResponse;
 import com.dailytask.entity.Reflection;
 import com.dailytask.entity.User;
+import com.dailytask.repository.projection.ContentVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReflectionRepository extends JpaRepository<Reflection, Long> {
@@ -51,4 +57,62 @@ public interface ReflectionRepository extends JpaRepository<Reflection, Long> {
 
     @Query("SELECT r FROM Reflection r WHERE r.user = :user AND r.reflectionText IS NOT NULL AND LENGTH(TRIM(r.reflectionText)) > 0 ORDER BY r.date DESC")
     List<Reflection> findByUserWithReflectionTextOrderByDateDesc(@Param("user") User user);
-} 
\ No newline at end of file
+
+    // Read paths select straight into ReflectionResponse, so no entities are hydrated or dirty-checked
+    @Query("SELECT new com.dailytask.dto.response.ReflectionResponse(r.id, r.date, r.energyRating, r.reflectionText, u.username, r.createdAt, r.updatedAt) FROM Reflection r JOIN r.user u WHERE r.id = :id")
+    Optional<ReflectionResponse> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new com.dailytask.dto.response.ReflectionResponse(r.id, r.date, r.energyRating, r.reflectionText, u.username, r.createdAt, r.updatedAt) FROM Reflection r JOIN r.user u WHERE u.id = :userId AND r.date = :date")
+    Optional<ReflectionResponse> findResponseByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    // Conditional GET validator for one day's reflection
+    @Query("SELECT new com.dailytask.repository.projection.ContentVersion(COUNT(r), MAX(r.updatedAt)) FROM Reflection r WHERE r.user.id = :userId AND r.date = :date")
+    ContentVersion findVersionByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    @Query("SELECT new com.dailytask.dto.response.ReflectionResponse(r.id, r.date, r.energyRating, r.reflectionText, u.username, r.createdAt, r.updatedAt) FROM Reflection r JOIN r.user u WHERE u.id = :userId AND r.date BETWEEN :startDate AND :endDate ORDER BY r.date DESC")
+    List<ReflectionResponse> findResponsesByUserIdAndDateBetweenOrderByDateDesc(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.dailytask.dto.response.ReflectionResponse(r.id, r.date, r.energyRating, r.reflectionText, u.username, r.createdAt, r.updatedAt) FROM Reflection r JOIN r.user u WHERE u.id = :userId ORDER BY r.date DESC")
+    List<ReflectionResponse> findResponsesByUserIdOrderByDateDesc(@Param("userId") Long userId);
+
+    @Query("SELECT new com.dailytask.dto.response.ReflectionResponse(r.id, r.date, r.energyRating, r.reflectionText, u.username, r.createdAt, r.updatedAt) FROM Reflection r JOIN r.user u WHERE u.id = :userId AND r.energyRating BETWEEN :minRating AND :maxRating ORDER BY r.date DESC")
+    List<ReflectionResponse> findResponsesByUserIdAndEnergyRatingBetweenOrderByDateDesc(@Param("userId") Long userId, @Param("minRating") Integer minRating, @Param("maxRating") Integer maxRating);
+
+    // Streamed variants read through a JDBC cursor; callers must consume them inside a transaction and close them
+    @Query("SELECT new com.dailytask.dto.response.ReflectionResponse(r.id, r.date, r.energyRating, r.reflectionText, u.username, r.createdAt, r.updatedAt) FROM Reflection r JOIN r.user u WHERE u.id = :userId AND r.date BETWEEN :startDate AND :endDate ORDER BY r.date DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    Stream<ReflectionResponse> streamResponsesByUserIdAndDateBetweenOrderByDateDesc(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.dailytask.dto.response.ReflectionResponse(r.id, r.date, r.energyRating, r.reflectionText, u.username, r.createdAt, r.updatedAt) FROM Reflection r JOIN r.user u WHERE u.id = :userId AND r.date BETWEEN :startDate AND :endDate ORDER BY r.date ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    Stream<ReflectionResponse> streamResponsesByUserIdAndDateBetweenOrderByDateAsc(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.dailytask.dto.response.ReflectionResponse(r.id, r.date, r.energyRating, r.reflectionText, u.username, r.createdAt, r.updatedAt) FROM Reflection r JOIN r.user u WHERE u.id = :userId ORDER BY r.date DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    Stream<ReflectionResponse> streamResponsesByUserIdOrderByDateDesc(@Param("userId") Long userId);
+
+    @Query("SELECT new com.dailytask.dto.response.ReflectionResponse(r.id, r.date, r.energyRating, r.reflectionText, u.username, r.createdAt, r.updatedAt) FROM Reflection r JOIN r.user u WHERE u.id = :userId AND r.energyRating BETWEEN :minRating AND :maxRating ORDER BY r.date DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    Stream<ReflectionResponse> streamResponsesByUserIdAndEnergyRatingBetweenOrderByDateDesc(@Param("userId") Long userId, @Param("minRating") Integer minRating, @Param("maxRating") Integer maxRating);
+
+    boolean existsByUserIdAndDate(Long userId, LocalDate date);
+
+    @Query("SELECT AVG(r.energyRating) FROM Reflection r WHERE r.user.id = :userId")
+    Double findAverageEnergyRatingByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT AVG(r.energyRating) FROM Reflection r WHERE r.user.id = :userId AND r.date BETWEEN :startDate AND :endDate")
+    Double findAverageEnergyRatingByUserIdAndDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Insert or overwrite the day's reflection in one statement; concurrent submits cannot hit the unique constraint
+    @Query(value = """
+        INSERT INTO reflections (user_id, date, energy_rating, reflection_text, created_at, updated_at)
+        VALUES (:userId, :date, :energyRating, :reflectionText, LOCALTIMESTAMP, LOCALTIMESTAMP)
+        ON CONFLICT (user_id, date) DO UPDATE
+        SET energy_rating = EXCLUDED.energy_rating,
+            reflection_text = EXCLUDED.reflection_text,
+            updated_at = EXCLUDED.updated_at
+        RETURNING *
+        """, nativeQuery = true)
+    Reflection upsertByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date,
+                                     @Param("energyRating") Integer energyRating, @Param("reflectionText") String reflectionText);
+}
@@ -0,0 +1,41 @@
+package com.dailytask.repository;
+
+import com.dailytask.entity.Task;
+import com.dailytask.repository.projection.SearchHit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SearchRepository extends org.springframework.data.repository.Repository<Task, Long> {
+
+    // Matches tasks and reflections through their generated search vectors, best rank first, and pages on
+    // (rank, date, type, id); only the page's rows are highlighted, since ts_headline re-parses the text
+    @Query(value = """
+        SELECT page.type, page.id, page.date, page.rank,
+               CASE WHEN page.type = 'TASK' THEN ts_headline('english', page.title, q.query,
+                   'HighlightAll=true, StartSel=' || chr(57344) || ', StopSel=' || chr(57345)) END AS title,
+               ts_headline('english', page.body, q.query,
+                   'MaxFragments=2, MinWords=5, MaxWords=20, FragmentDelimiter=" ... ", StartSel=' || chr(57344) || ', StopSel=' || chr(57345)) AS snippet
+        FROM websearch_to_tsquery('english', :query) AS q(query)
+        CROSS JOIN LATERAL (
+            SELECT m.* FROM (
+                SELECT 'TASK' AS type, t.id, t.date, ts_rank(t.search_vector, q.query) AS rank, t.title, t.description AS body
+                FROM tasks t WHERE t.user_id = :userId AND t.search_vector @@ q.query
+                UNION ALL
+                SELECT 'REFLECTION', r.id, r.date, ts_rank(r.search_vector, q.query), NULL, r.reflection_text
+                FROM reflections r WHERE r.user_id = :userId AND r.search_vector @@ q.query
+            ) m
+            WHERE (m.rank, m.date, m.type, m.id) < (CAST(:afterRank AS real), :afterDate, :afterType, :afterId)
+            ORDER BY m.rank DESC, m.date DESC, m.type DESC, m.id DESC
+            LIMIT :limit
+        ) page
+        ORDER BY page.rank DESC, page.date DESC, page.type DESC, page.id DESC
+        """, nativeQuery = true)
+    List<SearchHit> search(@Param("userId") Long userId, @Param("query") String query,
+                           @Param("afterRank") float afterRank, @Param("afterDate") LocalDate afterDate,
+                           @Param("afterType") String afterType, @Param("afterId") long afterId, @Param("limit") int limit);
+}
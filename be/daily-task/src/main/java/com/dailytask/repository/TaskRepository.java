@@ -1,18 +1,44 @@
 package com.dailytask.repository;
 
+import com.dailytask.dto.response.TaskResponse;
 import com.dailytask.entity.Task;
 import com.dailytask.entity.User;
+import com.dailytask.repository.projection.ContentVersion;
+import com.dailytask.repository.projection.DateCount;
+import com.dailytask.repository.projection.TaskStatsCounts;
+import com.dailytask.repository.projection.ToggledTask;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    // Rows per round trip for the streamed listings; PostgreSQL only honours it inside a transaction
+    String STREAM_FETCH_SIZE = "256";
+
+    // Tail of both toggles: the toggled row with its day's counts, which are null if the day has no summary row
+    String TOGGLED_TASK_SELECT = """
+        SELECT tt.id, tt.title, tt.description, tt.date, tt.completed, tt.starred, tt.user_id AS "userId",
+               tt.created_at AS "createdAt", tt.updated_at AS "updatedAt",
+               s.total_tasks AS "totalTasks", s.completed_tasks AS "completedTasks",
+               s.energy_rating AS "energyRating", s.energy_level AS "energyLevel"
+        FROM toggled tt LEFT JOIN summary s ON true
+        """;
+
     List<Task> findByUserAndDate(User user, LocalDate date);
 
     List<Task> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
@@ -31,6 +57,9 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date DESC, t.starred DESC")
     List<Task> findByUserAndDateBetweenOrderByDateDescStarredDesc(@Param("user") User user, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT t FROM Task t WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date ASC, t.starred DESC, t.createdAt ASC")
+    List<Task> findByUserAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc(@Param("user") User user, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
     @Query("SELECT t FROM Task t WHERE t.user = :user AND t.starred = true ORDER BY t.date DESC")
     List<Task> findStarredTasksByUserOrderByDateDesc(@Param("user") User user);
 
@@ -53,4 +82,93 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
     @Query("SELECT DISTINCT t.date FROM Task t WHERE t.user = :user ORDER BY t.date DESC")
     List<LocalDate> findDistinctDatesByUserOrderByDateDesc(@Param("user") User user);
-} 
\ No newline at end of file
+
+    // Read paths select straight into TaskResponse, so no entities are hydrated or dirty-checked
+    @Query("SELECT new com.dailytask.dto.response.TaskResponse(t.id, t.title, t.description, t.date, t.completed, t.starred, u.username, t.createdAt, t.updatedAt) FROM Task t JOIN t.user u WHERE t.id = :id")
+    Optional<TaskResponse> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new com.dailytask.dto.response.TaskResponse(t.id, t.title, t.description, t.date, t.completed, t.starred, u.username, t.createdAt, t.updatedAt) FROM Task t JOIN t.user u WHERE u.id = :userId AND t.date = :date ORDER BY t.starred DESC, t.createdAt ASC")
+    List<TaskResponse> findResponsesByUserIdAndDateOrderByStarredDescCreatedAtAsc(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    @Query("SELECT new com.dailytask.dto.response.TaskResponse(t.id, t.title, t.description, t.date, t.completed, t.starred, u.username, t.createdAt, t.updatedAt) FROM Task t JOIN t.user u WHERE u.username = :username AND t.date = :date ORDER BY t.starred DESC, t.createdAt ASC")
+    List<TaskResponse> findResponsesByUsernameAndDateOrderByStarredDescCreatedAtAsc(@Param("username") String username, @Param("date") LocalDate date);
+
+    @Query("SELECT new com.dailytask.dto.response.TaskResponse(t.id, t.title, t.description, t.date, t.completed, t.starred, u.username, t.createdAt, t.updatedAt) FROM Task t JOIN t.user u WHERE u.id = :userId AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date DESC, t.starred DESC")
+    List<TaskResponse> findResponsesByUserIdAndDateBetweenOrderByDateDescStarredDesc(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.dailytask.dto.response.TaskResponse(t.id, t.title, t.description, t.date, t.completed, t.starred, u.username, t.createdAt, t.updatedAt) FROM Task t JOIN t.user u WHERE u.id = :userId AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date ASC, t.starred DESC, t.createdAt ASC")
+    List<TaskResponse> findResponsesByUserIdAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Streamed variants read through a JDBC cursor; callers must consume them inside a transaction and close them
+    @Query("SELECT new com.dailytask.dto.response.TaskResponse(t.id, t.title, t.description, t.date, t.completed, t.starred, u.username, t.createdAt, t.updatedAt) FROM Task t JOIN t.user u WHERE u.id = :userId AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date DESC, t.starred DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<TaskResponse> streamResponsesByUserIdAndDateBetweenOrderByDateDescStarredDesc(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.dailytask.dto.response.TaskResponse(t.id, t.title, t.description, t.date, t.completed, t.starred, u.username, t.createdAt, t.updatedAt) FROM Task t JOIN t.user u WHERE u.id = :userId AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date ASC, t.starred DESC, t.createdAt ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<TaskResponse> streamResponsesByUserIdAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Keyset-paginated listings; the id tiebreaker keeps the sort unique so no row is skipped or repeated.
+    // They take a User reference rather than an id so the filter stays on tasks.user_id without a join.
+    Window<Task> findByUserOrderByDateDescCreatedAtDescIdDesc(User user, ScrollPosition position, Limit limit);
+
+    Window<Task> findByUserAndStarredTrueOrderByDateDescCreatedAtDescIdDesc(User user, ScrollPosition position, Limit limit);
+
+    Window<Task> findByUserAndCompletedFalseOrderByDateAscStarredDescCreatedAtAscIdAsc(User user, ScrollPosition position, Limit limit);
+
+    // Conditional GET validator for one day's task list
+    @Query("SELECT new com.dailytask.repository.projection.ContentVersion(COUNT(t), MAX(t.updatedAt)) FROM Task t WHERE t.user.id = :userId AND t.date = :date")
+    ContentVersion findVersionByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId AND t.date = :date")
+    long countByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    // Stats for one date; starred is counted across all dates, as the stats endpoint always has
+    @Query("SELECT new com.dailytask.repository.projection.TaskStatsCounts(" +
+           "COUNT(CASE WHEN t.date = :date THEN 1 END), " +
+           "COUNT(CASE WHEN t.date = :date AND t.completed = true THEN 1 END), " +
+           "COUNT(CASE WHEN t.starred = true THEN 1 END)) " +
+           "FROM Task t WHERE t.user.id = :userId AND (t.date = :date OR t.starred = true)")
+    TaskStatsCounts findStatsByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.id IN :ids")
+    List<Task> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.dailytask.repository.projection.DateCount(t.date, COUNT(t)) FROM Task t WHERE t.user.id = :userId AND t.date IN :dates GROUP BY t.date")
+    List<DateCount> countByUserIdAndDateInGroupByDate(@Param("userId") Long userId, @Param("dates") Collection<LocalDate> dates);
+
+    // Toggles flip the flag in place and return the updated row, so a double tap can never lose an update.
+    // The same statement moves the day's summary count by one; the summary row lock it waits on is the one
+    // DailySummaryMaintainer takes, and the delta lands on whatever a concurrent refresh committed.
+    @Query(value = """
+        WITH toggled AS (
+            UPDATE tasks t SET completed = NOT t.completed, updated_at = LOCALTIMESTAMP
+            FROM users u
+            WHERE t.id = :id AND t.user_id = u.id AND u.username = :username
+            RETURNING t.*
+        ), summary AS (
+            UPDATE daily_summaries s
+            SET completed_tasks = s.completed_tasks + CASE WHEN tt.completed THEN 1 ELSE -1 END, version = s.version + 1
+            FROM toggled tt
+            WHERE s.user_id = tt.user_id AND s.date = tt.date
+            RETURNING s.total_tasks, s.completed_tasks, s.energy_rating, s.energy_level
+        )
+        """ + TOGGLED_TASK_SELECT, nativeQuery = true)
+    Optional<ToggledTask> toggleCompletedByIdAndUsername(@Param("id") Long id, @Param("username") String username);
+
+    @Query(value = """
+        WITH toggled AS (
+            UPDATE tasks t SET starred = NOT t.starred, updated_at = LOCALTIMESTAMP
+            FROM users u
+            WHERE t.id = :id AND t.user_id = u.id AND u.username = :username
+            RETURNING t.*
+        ), summary AS (
+            UPDATE daily_summaries s
+            SET starred_tasks = s.starred_tasks + CASE WHEN tt.starred THEN 1 ELSE -1 END, version = s.version + 1
+            FROM toggled tt
+            WHERE s.user_id = tt.user_id AND s.date = tt.date
+            RETURNING s.total_tasks, s.completed_tasks, s.energy_rating, s.energy_level
+        )
+        """ + TOGGLED_TASK_SELECT, nativeQuery = true)
+    Optional<ToggledTask> toggleStarredByIdAndUsername(@Param("id") Long id, @Param("username") String username);
+}
@@ -1,6 +1,7 @@
 package com.dailytask.repository;
 
 import com.dailytask.entity.User;
+import com.dailytask.repository.projection.UsernameEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,8 +19,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.username = :username AND u.id != :id")
     boolean existsByUsernameAndIdNot(@Param("username") String username, @Param("id") Long id);
 
-    @Query("SELECT u FROM User u WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    java.util.List<User> findByUsernameContainingIgnoreCase(@Param("searchTerm") String searchTerm);
+    /**
+     * Users whose lowercased name matches the LIKE {@code pattern}: exact matches
+     * first, then names starting with {@code term}, then by trigram similarity.
+     * Served by the trigram and prefix indexes on lower(username).
+     */
+    @Query(value = "SELECT * FROM users WHERE lower(username) LIKE :pattern ESCAPE '\\' "
+            + "ORDER BY lower(username) = :term DESC, starts_with(lower(username), :term) DESC, "
+            + "similarity(lower(username), :term) DESC, lower(username), id LIMIT :limit",
+        nativeQuery = true)
+    java.util.List<User> searchByUsername(@Param("pattern") String pattern, @Param("term") String term,
+                                          @Param("limit") int limit);
+
+    @Query("SELECT new com.dailytask.repository.projection.UsernameEntry(u.id, u.username) FROM User u")
+    java.util.List<UsernameEntry> findAllUsernames();
 
     long countByUsernameStartingWith(String prefix);
+
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    java.util.List<Long> findAllIds();
 } 
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.dailytask.repository.projection;
+
+import com.dailytask.entity.ActivityKind;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public record ActivitySpan(
+    ActivityKind kind,
+    LocalDate startDate,
+    LocalDate endDate
+) {
+
+    public int days() {
+        return (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    }
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+
+    // Ties go to the more recent run
+    public boolean isLongerThan(ActivitySpan other) {
+        return days() > other.days() || (days() == other.days() && endDate.isAfter(other.endDate));
+    }
+}
@@ -0,0 +1,13 @@
+package com.dailytask.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap validator for a set of rows: any insert, update or delete changes
+ * either the row count or the latest {@code updated_at}.
+ */
+public record ContentVersion(
+    long rowCount,
+    LocalDateTime lastModified
+) {
+}
@@ -0,0 +1,12 @@
+package com.dailytask.repository.projection;
+
+import com.dailytask.entity.EnergyAssessment;
+import com.dailytask.entity.Reflection;
+import com.dailytask.entity.User;
+
+public record DailySnapshotHeader(
+    User user,
+    Reflection reflection,
+    EnergyAssessment energyAssessment
+) {
+}
@@ -0,0 +1,11 @@
+package com.dailytask.repository.projection;
+
+import java.time.LocalDate;
+
+public record DailyTaskCounts(
+    LocalDate date,
+    long totalTasks,
+    long completedTasks,
+    long starredTasks
+) {
+}
@@ -0,0 +1,9 @@
+package com.dailytask.repository.projection;
+
+import java.time.LocalDate;
+
+public record DateCount(
+    LocalDate date,
+    long count
+) {
+}
@@ -0,0 +1,22 @@
+package com.dailytask.repository.projection;
+
+import com.dailytask.entity.ActivityKind;
+
+import java.time.LocalDate;
+
+public record DayActivity(
+    LocalDate date,
+    long totalTasks,
+    long completedTasks,
+    Integer energyRating,
+    Integer energyLevel
+) {
+
+    public boolean isActive(ActivityKind kind) {
+        return switch (kind) {
+            case TASKS -> totalTasks > 0;
+            case REFLECTIONS -> energyRating != null;
+            case ENERGY_ASSESSMENTS -> energyLevel != null;
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.dailytask.repository.projection;
+
+/**
+ * Sums and counts of energy levels and ratings over some set of days. Sums of
+ * disjoint sets add up, which is what lets a date range be answered from
+ * month buckets plus the days at its edges.
+ */
+public record EnergySums(
+    long energyLevelSum,
+    long energyLevelCount,
+    long energyRatingSum,
+    long energyRatingCount
+) {
+
+    public static final EnergySums EMPTY = new EnergySums(0, 0, 0, 0);
+
+    public static EnergySums ofDay(Integer energyLevel, Integer energyRating) {
+        return new EnergySums(
+            energyLevel != null ? energyLevel : 0,
+            energyLevel != null ? 1 : 0,
+            energyRating != null ? energyRating : 0,
+            energyRating != null ? 1 : 0);
+    }
+
+    public EnergySums plus(EnergySums other) {
+        return new EnergySums(
+            energyLevelSum + other.energyLevelSum,
+            energyLevelCount + other.energyLevelCount,
+            energyRatingSum + other.energyRatingSum,
+            energyRatingCount + other.energyRatingCount);
+    }
+
+    public EnergySums minus(EnergySums other) {
+        return new EnergySums(
+            energyLevelSum - other.energyLevelSum,
+            energyLevelCount - other.energyLevelCount,
+            energyRatingSum - other.energyRatingSum,
+            energyRatingCount - other.energyRatingCount);
+    }
+
+    // Null when nothing was counted, like AVG() over no rows
+    public Double averageEnergyLevel() {
+        return energyLevelCount > 0 ? (double) energyLevelSum / energyLevelCount : null;
+    }
+
+    public Double averageEnergyRating() {
+        return energyRatingCount > 0 ? (double) energyRatingSum / energyRatingCount : null;
+    }
+}
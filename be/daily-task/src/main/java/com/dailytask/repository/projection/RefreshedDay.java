@@ -0,0 +1,34 @@
+package com.dailytask.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A day as a refresh of its summary row left it, with the energy values it
+ * replaced. An interface for the same reason as {@link SearchHit}.
+ */
+public interface RefreshedDay {
+
+    LocalDate getDate();
+
+    Long getTotalTasks();
+
+    Long getCompletedTasks();
+
+    Integer getEnergyRating();
+
+    Integer getEnergyLevel();
+
+    Integer getPreviousEnergyRating();
+
+    Integer getPreviousEnergyLevel();
+
+    default DayActivity dayActivity() {
+        return new DayActivity(getDate(), getTotalTasks(), getCompletedTasks(), getEnergyRating(), getEnergyLevel());
+    }
+
+    // What the refresh changed in every energy aggregate covering the day
+    default EnergySums energyChange() {
+        return EnergySums.ofDay(getEnergyLevel(), getEnergyRating())
+            .minus(EnergySums.ofDay(getPreviousEnergyLevel(), getPreviousEnergyRating()));
+    }
+}
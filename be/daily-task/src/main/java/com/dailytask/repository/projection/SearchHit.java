@@ -0,0 +1,31 @@
+package com.dailytask.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * One task or reflection matching a search. Title and snippet carry the
+ * matched words between {@link #MATCH_START} and {@link #MATCH_END}; the
+ * title is null for reflections, the snippet when there is no text.
+ * <p>
+ * An interface rather than a record: native queries return dates as
+ * {@code java.sql.Date}, which the projection converts but a constructor
+ * would not accept.
+ */
+public interface SearchHit {
+
+    // Private-use characters, chr(57344) and chr(57345) in SearchRepository, so they never occur in user text
+    char MATCH_START = '\uE000';
+    char MATCH_END = '\uE001';
+
+    String getType();
+
+    Long getId();
+
+    LocalDate getDate();
+
+    Float getRank();
+
+    String getTitle();
+
+    String getSnippet();
+}
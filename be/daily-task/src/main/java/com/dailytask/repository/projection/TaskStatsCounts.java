@@ -0,0 +1,8 @@
+package com.dailytask.repository.projection;
+
+public record TaskStatsCounts(
+    long totalTasks,
+    long completedTasks,
+    long starredTasks
+) {
+}
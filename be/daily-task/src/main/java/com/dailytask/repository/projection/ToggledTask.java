@@ -0,0 +1,47 @@
+package com.dailytask.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A task just toggled in place, with its day's summary counts as the same
+ * statement left them. The counts are null when the day has no summary row.
+ * <p>
+ * An interface rather than a record, for the same reason as {@link SearchHit}.
+ */
+public interface ToggledTask {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    LocalDate getDate();
+
+    boolean getCompleted();
+
+    boolean getStarred();
+
+    Long getUserId();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getTotalTasks();
+
+    Long getCompletedTasks();
+
+    Integer getEnergyRating();
+
+    Integer getEnergyLevel();
+
+    default boolean hasSummary() {
+        return getTotalTasks() != null;
+    }
+
+    default DayActivity dayActivity() {
+        return new DayActivity(getDate(), getTotalTasks(), getCompletedTasks(), getEnergyRating(), getEnergyLevel());
+    }
+}
@@ -0,0 +1,7 @@
+package com.dailytask.repository.projection;
+
+public record UsernameEntry(
+    Long id,
+    String username
+) {
+}
@@ -0,0 +1,19 @@
+package com.dailytask.service;
+
+import com.dailytask.dto.response.ActivityCalendarResponse;
+import com.dailytask.dto.response.DailyDataResponse;
+import com.dailytask.dto.response.HeatmapResponse;
+import com.dailytask.repository.projection.ContentVersion;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface DailyDataService {
+    DailyDataResponse getDailyData(String username, LocalDate date);
+    ContentVersion getDailyDataVersion(String username, LocalDate date);
+    List<DailyDataResponse> getDailyDataRange(String username, LocalDate startDate, LocalDate endDate);
+    void streamDailyDataRange(String username, LocalDate startDate, LocalDate endDate, Consumer<? super DailyDataResponse> action);
+    ActivityCalendarResponse getActivityCalendar(String username, LocalDate startDate, LocalDate endDate);
+    HeatmapResponse getHeatmap(String username, int year);
+}
@@ -2,17 +2,23 @@ package com.dailytask.service;
 
 import com.dailytask.dto.request.CreateEnergyAssessmentRequest;
 import com.dailytask.dto.response.EnergyAssessmentResponse;
+import com.dailytask.repository.projection.ContentVersion;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EnergyAssessmentService {
     EnergyAssessmentResponse createOrUpdateEnergyAssessment(CreateEnergyAssessmentRequest request);
     EnergyAssessmentResponse getEnergyAssessmentById(Long id);
     EnergyAssessmentResponse getEnergyAssessmentByUserAndDate(String username, LocalDate date);
+    ContentVersion getEnergyAssessmentVersion(String username, LocalDate date);
     List<EnergyAssessmentResponse> getEnergyAssessmentsByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate);
     List<EnergyAssessmentResponse> getAllEnergyAssessmentsByUser(String username);
     List<EnergyAssessmentResponse> getEnergyAssessmentsByEnergyLevel(String username, Integer minLevel, Integer maxLevel);
+    void streamEnergyAssessmentsByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate, Consumer<? super EnergyAssessmentResponse> action);
+    void streamAllEnergyAssessmentsByUser(String username, Consumer<? super EnergyAssessmentResponse> action);
+    void streamEnergyAssessmentsByEnergyLevel(String username, Integer minLevel, Integer maxLevel, Consumer<? super EnergyAssessmentResponse> action);
     void deleteEnergyAssessment(Long id);
     boolean existsEnergyAssessmentByUserAndDate(String username, LocalDate date);
     Double getAverageEnergyLevelByUser(String username);
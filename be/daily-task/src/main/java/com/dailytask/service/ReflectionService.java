@@ -2,17 +2,23 @@ package com.dailytask.service;
 
 import com.dailytask.dto.request.CreateReflectionRequest;
 import com.dailytask.dto.response.ReflectionResponse;
+import com.dailytask.repository.projection.ContentVersion;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReflectionService {
     ReflectionResponse createOrUpdateReflection(CreateReflectionRequest request);
     ReflectionResponse getReflectionById(Long id);
     ReflectionResponse getReflectionByUserAndDate(String username, LocalDate date);
+    ContentVersion getReflectionVersion(String username, LocalDate date);
     List<ReflectionResponse> getReflectionsByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate);
     List<ReflectionResponse> getAllReflectionsByUser(String username);
     List<ReflectionResponse> getReflectionsByEnergyRating(String username, Integer minRating, Integer maxRating);
+    void streamReflectionsByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate, Consumer<? super ReflectionResponse> action);
+    void streamAllReflectionsByUser(String username, Consumer<? super ReflectionResponse> action);
+    void streamReflectionsByEnergyRating(String username, Integer minRating, Integer maxRating, Consumer<? super ReflectionResponse> action);
     void deleteReflection(Long id);
     boolean existsReflectionByUserAndDate(String username, LocalDate date);
     Double getAverageEnergyRatingByUser(String username);
@@ -0,0 +1,8 @@
+package com.dailytask.service;
+
+import com.dailytask.dto.response.CursorPageResponse;
+import com.dailytask.dto.response.SearchResultResponse;
+
+public interface SearchService {
+    CursorPageResponse<SearchResultResponse> search(String username, String query, String cursor, Integer limit);
+}
@@ -0,0 +1,9 @@
+package com.dailytask.service;
+
+import com.dailytask.dto.response.StreakResponse;
+
+import java.time.LocalDate;
+
+public interface StreakService {
+    StreakResponse getStreaks(String username, LocalDate asOf);
+}
@@ -1,23 +1,34 @@
 package com.dailytask.service;
 
+import com.dailytask.dto.request.BulkTaskRequest;
 import com.dailytask.dto.request.CreateTaskRequest;
 import com.dailytask.dto.request.UpdateTaskRequest;
+import com.dailytask.dto.response.BulkTaskResponse;
+import com.dailytask.dto.response.CursorPageResponse;
+import com.dailytask.dto.response.DailyTaskStatsResponse;
 import com.dailytask.dto.response.TaskResponse;
+import com.dailytask.dto.response.TaskStatsResponse;
+import com.dailytask.repository.projection.ContentVersion;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
     TaskResponse createTask(CreateTaskRequest request);
+    BulkTaskResponse bulkWriteTasks(String username, BulkTaskRequest request);
     TaskResponse updateTask(Long id, UpdateTaskRequest request);
     TaskResponse getTaskById(Long id);
+    TaskResponse toggleTaskCompletion(String username, Long id);
+    TaskResponse toggleTaskStar(String username, Long id);
     List<TaskResponse> getTasksByUserAndDate(String username, LocalDate date);
+    ContentVersion getTasksVersion(String username, LocalDate date);
     List<TaskResponse> getTasksByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate);
-    List<TaskResponse> getStarredTasksByUser(String username);
-    List<TaskResponse> getIncompleteTasksByUser(String username);
-    List<TaskResponse> getAllTasksByUser(String username);
+    void streamTasksByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate, Consumer<? super TaskResponse> action);
+    CursorPageResponse<TaskResponse> getStarredTasksByUser(String username, String cursor, Integer limit);
+    CursorPageResponse<TaskResponse> getIncompleteTasksByUser(String username, String cursor, Integer limit);
+    CursorPageResponse<TaskResponse> getAllTasksByUser(String username, String cursor, Integer limit);
     void deleteTask(Long id);
-    long getTaskCountByUserAndDate(String username, LocalDate date);
-    long getCompletedTaskCountByUserAndDate(String username, LocalDate date);
-    long getStarredTaskCountByUser(String username);
+    TaskStatsResponse getTaskStats(String username, LocalDate date);
+    List<DailyTaskStatsResponse> getDailyTaskStats(String username, LocalDate startDate, LocalDate endDate);
 } 
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.dailytask.service;
 
 import com.dailytask.dto.request.CreateUserRequest;
 import com.dailytask.dto.response.UserResponse;
+import com.dailytask.service.search.UserSearchMode;
 
 import java.util.List;
 
@@ -10,7 +11,7 @@ public interface UserService {
     UserResponse getUserById(Long id);
     UserResponse getUserByUsername(String username);
     List<UserResponse> getAllUsers();
-    List<UserResponse> searchUsers(String searchTerm);
+    List<UserResponse> searchUsers(String searchTerm, UserSearchMode mode, Integer limit);
     void deleteUser(Long id);
     boolean existsByUsername(String username);
 } 
\ No newline at end of file
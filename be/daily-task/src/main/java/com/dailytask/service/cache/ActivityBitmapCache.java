@@ -0,0 +1,203 @@
+package com.dailytask.service.cache;
+
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.projection.DayActivity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user, per-year bitmaps of which days have tasks, have all their tasks
+ * completed, have a reflection and have an energy assessment: four bits a day,
+ * under 200 bytes a year. A year is loaded from {@code daily_summaries} with
+ * one range read on first use and afterwards kept current by the write paths.
+ * <p>
+ * Writes patch the cached year just before they commit, while they still hold
+ * the locks on the days they changed, so patches to the same day apply in
+ * commit order. A year loaded while a write was in flight may have missed it,
+ * and a rolled-back write leaves its patch behind; in both cases the year no
+ * longer holds exactly that write's patch when it completes and is dropped,
+ * to be loaded again on the next read.
+ */
+@Component
+public class ActivityBitmapCache {
+
+    public static final int HAS_TASKS = 1;
+    public static final int ALL_TASKS_COMPLETED = 2;
+    public static final int HAS_REFLECTION = 4;
+    public static final int HAS_ENERGY_ASSESSMENT = 8;
+
+    private final DailySummaryRepository dailySummaryRepository;
+    private final Cache<Key, YearBitmap> years;
+
+    public ActivityBitmapCache(DailySummaryRepository dailySummaryRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.cache.activity-bitmaps.maximum-size:10000}") long maximumSize,
+                               @Value("${app.cache.activity-bitmaps.ttl:30m}") Duration ttl) {
+        this.dailySummaryRepository = dailySummaryRepository;
+        this.years = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, years, "activityBitmaps");
+    }
+
+    public int flags(Long userId, LocalDate date) {
+        return year(userId, date.getYear()).flags(date);
+    }
+
+    /**
+     * Flags of every day from {@code startDate} to {@code endDate}, one element per day.
+     */
+    public int[] flags(Long userId, LocalDate startDate, LocalDate endDate) {
+        int[] flags = new int[(int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1];
+        YearBitmap year = null;
+        for (int i = 0; i < flags.length; i++) {
+            LocalDate date = startDate.plusDays(i);
+            if (year == null || year.year != date.getYear()) {
+                year = year(userId, date.getYear());
+            }
+            flags[i] = year.flags(date);
+        }
+        return flags;
+    }
+
+    /**
+     * Patches the cached years of the given days with their new flags when the
+     * current transaction commits.
+     */
+    public void updateOnCommit(Long userId, List<DayActivity> days) {
+        Map<Key, List<DayActivity>> daysByYear = days.stream()
+            .collect(Collectors.groupingBy(day -> new Key(userId, day.date().getYear())));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            years.invalidateAll(daysByYear.keySet());
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private final Map<Key, YearBitmap> patched = new HashMap<>();
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                daysByYear.forEach((key, yearDays) ->
+                    patched.put(key, years.asMap().computeIfPresent(key, (k, year) -> year.with(yearDays))));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                for (Key key : daysByYear.keySet()) {
+                    YearBitmap patch = status == STATUS_COMMITTED ? patched.get(key) : null;
+                    years.asMap().computeIfPresent(key, (k, year) -> year == patch ? year : null);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops every cached year of the user once the current transaction completes.
+     */
+    public void invalidateOnCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(userId);
+            }
+        });
+    }
+
+    private void invalidate(Long userId) {
+        years.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+
+    private YearBitmap year(Long userId, int year) {
+        return years.get(new Key(userId, year), key -> new YearBitmap(year).with(
+            dailySummaryRepository.findActivityByUserIdAndDateBetween(
+                userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))));
+    }
+
+    private static int flagsOf(DayActivity day) {
+        int flags = 0;
+        if (day.totalTasks() > 0) {
+            flags |= HAS_TASKS;
+            if (day.completedTasks() == day.totalTasks()) {
+                flags |= ALL_TASKS_COMPLETED;
+            }
+        }
+        if (day.energyRating() != null) {
+            flags |= HAS_REFLECTION;
+        }
+        if (day.energyLevel() != null) {
+            flags |= HAS_ENERGY_ASSESSMENT;
+        }
+        return flags;
+    }
+
+    private record Key(Long userId, int year) {
+    }
+
+    /**
+     * Immutable; {@link #with} returns a patched copy, so readers never see a half-applied write.
+     */
+    private static final class YearBitmap {
+
+        private static final int FLAG_COUNT = 4;
+        private static final int WORDS_PER_FLAG = 6;
+
+        private final int year;
+        private final long[] words;
+
+        YearBitmap(int year) {
+            this(year, new long[FLAG_COUNT * WORDS_PER_FLAG]);
+        }
+
+        private YearBitmap(int year, long[] words) {
+            this.year = year;
+            this.words = words;
+        }
+
+        int flags(LocalDate date) {
+            int day = date.getDayOfYear() - 1;
+            int flags = 0;
+            for (int flag = 0; flag < FLAG_COUNT; flag++) {
+                if ((words[flag * WORDS_PER_FLAG + (day >>> 6)] & (1L << day)) != 0) {
+                    flags |= 1 << flag;
+                }
+            }
+            return flags;
+        }
+
+        YearBitmap with(List<DayActivity> days) {
+            long[] patched = words.clone();
+            for (DayActivity activity : days) {
+                int day = activity.date().getDayOfYear() - 1;
+                int flags = flagsOf(activity);
+                for (int flag = 0; flag < FLAG_COUNT; flag++) {
+                    int word = flag * WORDS_PER_FLAG + (day >>> 6);
+                    if ((flags & (1 << flag)) != 0) {
+                        patched[word] |= 1L << day;
+                    } else {
+                        patched[word] &= ~(1L << day);
+                    }
+                }
+            }
+            return new YearBitmap(year, patched);
+        }
+    }
+}
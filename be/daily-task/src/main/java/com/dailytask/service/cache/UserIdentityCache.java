@@ -0,0 +1,78 @@
+package com.dailytask.service.cache;
+
+import com.dailytask.entity.User;
+import com.dailytask.exception.ResourceNotFoundException;
+import com.dailytask.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Bounded, time-limited cache of username to user id, shared by all services.
+ * Usernames never change once created, so entries only need to be dropped when
+ * a user is created or deleted, and only once that change has committed:
+ * until then other requests still see the old row and would load it again.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Long> userIds;
+
+    public UserIdentityCache(UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.cache.user-identity.maximum-size:10000}") long maximumSize,
+                             @Value("${app.cache.user-identity.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.userIds = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userIds, "userIdentity");
+    }
+
+    public Long getUserId(String username) {
+        Long userId = userIds.get(username, key -> userRepository.findByUsername(key)
+            .map(User::getId)
+            .orElse(null));
+        if (userId == null) {
+            throw new ResourceNotFoundException("User", "username", username);
+        }
+        return userId;
+    }
+
+    public void invalidate(String username) {
+        userIds.invalidate(username);
+    }
+
+    /**
+     * Drops the username once the current transaction commits, or at once
+     * outside a transaction. Keyed by username, so a load of it still in
+     * flight finishes before the entry is dropped.
+     */
+    public void invalidateOnCommit(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(username);
+            }
+        });
+    }
+
+    public CacheStats stats() {
+        return userIds.stats();
+    }
+}
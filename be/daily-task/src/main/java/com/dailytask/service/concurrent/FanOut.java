@@ -0,0 +1,141 @@
+package com.dailytask.service.concurrent;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent reads of one request in parallel and waits for all of
+ * them, in the shape of {@code StructuredTaskScope.ShutdownOnFailure}: forks
+ * live only inside a scope, the first failure is rethrown from {@link Scope#join()}
+ * and the remaining forks are cancelled.
+ * <p>
+ * Forks are plain {@link FutureTask}s, so cancelling one interrupts its thread:
+ * a fork still waiting for a permit gives up at once. A fork already inside a
+ * JDBC statement finishes that statement, since the driver does not react to
+ * interrupts, and its result is discarded.
+ * <p>
+ * Each fork holds a permit while it runs. The permit count stays below the
+ * connection pool size, so a burst of fanned-out requests queues here rather
+ * than timing out inside Hikari, and callers that do not fan out always find a
+ * free connection.
+ */
+@Component
+public class FanOut {
+
+    private final Executor executor;
+    private final Semaphore permits;
+
+    public FanOut(@Qualifier("applicationTaskExecutor") Executor executor,
+                  @Value("${app.concurrency.fan-out.max-concurrent-reads:16}") int maxConcurrentReads) {
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrentReads, true);
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    @FunctionalInterface
+    public interface Subtask<T> {
+        /**
+         * Result of the fork; only valid after {@link Scope#join()} returned normally.
+         */
+        T get();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final List<Fork<?>> forks = new ArrayList<>();
+        private final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+
+        public <T> Subtask<T> fork(Supplier<T> read) {
+            Fork<T> fork = new Fork<>(read, firstFailure);
+            forks.add(fork);
+            executor.execute(fork);
+            return fork.outcome::join;
+        }
+
+        public void join() {
+            CompletableFuture<Void> all = CompletableFuture.allOf(
+                forks.stream().map(fork -> fork.outcome).toArray(CompletableFuture[]::new));
+            try {
+                CompletableFuture.anyOf(all, firstFailure).join();
+            } catch (CompletionException e) {
+                close();
+                throw unwrap(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            forks.forEach(fork -> fork.cancel(true));
+        }
+    }
+
+    private final class Fork<T> extends FutureTask<T> {
+
+        private final CompletableFuture<T> outcome = new CompletableFuture<>();
+        private final CompletableFuture<Void> firstFailure;
+
+        private Fork(Supplier<T> read, CompletableFuture<Void> firstFailure) {
+            super(() -> withPermit(read));
+            this.firstFailure = firstFailure;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                outcome.cancel(false);
+                return;
+            }
+            try {
+                outcome.complete(get());
+            } catch (ExecutionException e) {
+                outcome.completeExceptionally(e.getCause());
+                firstFailure.completeExceptionally(e.getCause());
+            } catch (InterruptedException e) {
+                // done() runs after completion, so get() never blocks here
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private <T> T withPermit(Supplier<T> read) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a read permit", e);
+        }
+        try {
+            return read.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,39 @@
+package com.dailytask.service.context;
+
+import com.dailytask.service.cache.UserIdentityCache;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves a username to its user id at most once per HTTP request. The id is
+ * kept as a request attribute, so every service call made while handling the
+ * request filters by the same id without touching the users table. Outside a
+ * request (scheduled jobs, tests) it falls through to the shared cache.
+ */
+@Component
+public class RequestUserContext {
+
+    private static final String ATTRIBUTE_PREFIX = RequestUserContext.class.getName() + ".userId.";
+
+    private final UserIdentityCache userIdentityCache;
+
+    public RequestUserContext(UserIdentityCache userIdentityCache) {
+        this.userIdentityCache = userIdentityCache;
+    }
+
+    public Long getUserId(String username) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return userIdentityCache.getUserId(username);
+        }
+
+        String attributeName = ATTRIBUTE_PREFIX + username;
+        Long userId = (Long) attributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+        if (userId == null) {
+            userId = userIdentityCache.getUserId(username);
+            attributes.setAttribute(attributeName, userId, RequestAttributes.SCOPE_REQUEST);
+        }
+        return userId;
+    }
+}
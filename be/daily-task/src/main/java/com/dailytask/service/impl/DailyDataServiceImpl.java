@@ -0,0 +1,284 @@
+package com.dailytask.service.impl;
+
+import com.dailytask.dto.response.ActivityCalendarResponse;
+import com.dailytask.dto.response.DailyDataResponse;
+import com.dailytask.dto.response.EnergyAssessmentResponse;
+import com.dailytask.dto.response.HeatmapResponse;
+import com.dailytask.dto.response.ReflectionResponse;
+import com.dailytask.dto.response.TaskResponse;
+import com.dailytask.exception.ResourceNotFoundException;
+import com.dailytask.mapper.EnergyAssessmentMapper;
+import com.dailytask.mapper.ReflectionMapper;
+import com.dailytask.repository.DailySnapshotRepository;
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.EnergyAssessmentRepository;
+import com.dailytask.repository.ReflectionRepository;
+import com.dailytask.repository.TaskRepository;
+import com.dailytask.repository.projection.ContentVersion;
+import com.dailytask.repository.projection.DailySnapshotHeader;
+import com.dailytask.repository.projection.DayActivity;
+import com.dailytask.service.DailyDataService;
+import com.dailytask.service.cache.ActivityBitmapCache;
+import com.dailytask.service.concurrent.FanOut;
+import com.dailytask.service.context.RequestUserContext;
+import com.dailytask.service.validation.BusinessValidationService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class DailyDataServiceImpl implements DailyDataService {
+
+    private final TaskRepository taskRepository;
+    private final ReflectionRepository reflectionRepository;
+    private final EnergyAssessmentRepository energyAssessmentRepository;
+    private final DailySnapshotRepository dailySnapshotRepository;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final RequestUserContext requestUserContext;
+    private final ReflectionMapper reflectionMapper;
+    private final EnergyAssessmentMapper energyAssessmentMapper;
+    private final BusinessValidationService businessValidationService;
+    private final FanOut fanOut;
+    private final ActivityBitmapCache activityBitmapCache;
+
+    public DailyDataServiceImpl(TaskRepository taskRepository, ReflectionRepository reflectionRepository,
+                                EnergyAssessmentRepository energyAssessmentRepository,
+                                DailySnapshotRepository dailySnapshotRepository,
+                                DailySummaryRepository dailySummaryRepository, RequestUserContext requestUserContext,
+                                ReflectionMapper reflectionMapper, EnergyAssessmentMapper energyAssessmentMapper,
+                                BusinessValidationService businessValidationService, FanOut fanOut,
+                                ActivityBitmapCache activityBitmapCache) {
+        this.taskRepository = taskRepository;
+        this.reflectionRepository = reflectionRepository;
+        this.energyAssessmentRepository = energyAssessmentRepository;
+        this.dailySnapshotRepository = dailySnapshotRepository;
+        this.dailySummaryRepository = dailySummaryRepository;
+        this.requestUserContext = requestUserContext;
+        this.reflectionMapper = reflectionMapper;
+        this.energyAssessmentMapper = energyAssessmentMapper;
+        this.businessValidationService = businessValidationService;
+        this.fanOut = fanOut;
+        this.activityBitmapCache = activityBitmapCache;
+    }
+
+    // Composite reads run outside a transaction; each fork reads in its own, so the
+    // request thread never pins a connection while it waits for them
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DailyDataResponse getDailyData(String username, LocalDate date) {
+        Optional<DailySnapshotHeader> snapshotHeader;
+        List<TaskResponse> tasks;
+        try (FanOut.Scope scope = fanOut.open()) {
+            // User, reflection and energy assessment come back in one joined row, tasks in another
+            FanOut.Subtask<Optional<DailySnapshotHeader>> headerRead =
+                scope.fork(() -> dailySnapshotRepository.findHeaderByUsernameAndDate(username, date));
+            FanOut.Subtask<List<TaskResponse>> tasksRead =
+                scope.fork(() -> taskRepository.findResponsesByUsernameAndDateOrderByStarredDescCreatedAtAsc(username, date));
+            scope.join();
+            snapshotHeader = headerRead.get();
+            tasks = tasksRead.get();
+        }
+
+        DailySnapshotHeader header = snapshotHeader
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        ReflectionResponse reflection = header.reflection() != null
+            ? reflectionMapper.toResponse(header.reflection(), username) : null;
+        EnergyAssessmentResponse energyAssessment = header.energyAssessment() != null
+            ? energyAssessmentMapper.toResponse(header.energyAssessment(), username) : null;
+
+        return buildDailyData(username, date, tasks, reflection, energyAssessment);
+    }
+
+    @Override
+    public ContentVersion getDailyDataVersion(String username, LocalDate date) {
+        return dailySnapshotRepository.findVersionByUsernameAndDate(username, date)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DailyDataResponse> getDailyDataRange(String username, LocalDate startDate, LocalDate endDate) {
+        businessValidationService.validateDailyDataRange(startDate, endDate);
+        Long userId = requestUserContext.getUserId(username);
+
+        // One range query per table, run in parallel and grouped by date in memory
+        List<TaskResponse> tasks;
+        List<ReflectionResponse> reflections;
+        List<EnergyAssessmentResponse> energyAssessments;
+        try (FanOut.Scope scope = fanOut.open()) {
+            FanOut.Subtask<List<TaskResponse>> tasksRead = scope.fork(() -> taskRepository
+                .findResponsesByUserIdAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc(userId, startDate, endDate));
+            FanOut.Subtask<List<ReflectionResponse>> reflectionsRead = scope.fork(() -> reflectionRepository
+                .findResponsesByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate));
+            FanOut.Subtask<List<EnergyAssessmentResponse>> energyAssessmentsRead = scope.fork(() -> energyAssessmentRepository
+                .findResponsesByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate));
+            scope.join();
+            tasks = tasksRead.get();
+            reflections = reflectionsRead.get();
+            energyAssessments = energyAssessmentsRead.get();
+        }
+
+        Map<LocalDate, List<TaskResponse>> tasksByDate = tasks.stream()
+            .collect(Collectors.groupingBy(TaskResponse::date));
+        Map<LocalDate, ReflectionResponse> reflectionsByDate = reflections.stream()
+            .collect(Collectors.toMap(ReflectionResponse::date, Function.identity()));
+        Map<LocalDate, EnergyAssessmentResponse> energyAssessmentsByDate = energyAssessments.stream()
+            .collect(Collectors.toMap(EnergyAssessmentResponse::date, Function.identity()));
+
+        return startDate.datesUntil(endDate.plusDays(1))
+            .map(date -> buildDailyData(
+                username,
+                date,
+                tasksByDate.getOrDefault(date, List.of()),
+                reflectionsByDate.get(date),
+                energyAssessmentsByDate.get(date)))
+            .toList();
+    }
+
+    @Override
+    public void streamDailyDataRange(String username, LocalDate startDate, LocalDate endDate,
+                                     Consumer<? super DailyDataResponse> action) {
+        businessValidationService.validateDailyDataRange(startDate, endDate);
+        Long userId = requestUserContext.getUserId(username);
+
+        // Same three range queries as above, but read through cursors in date order and merged one day at a time
+        try (Stream<TaskResponse> taskRows = taskRepository
+                .streamResponsesByUserIdAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc(userId, startDate, endDate);
+             Stream<ReflectionResponse> reflectionRows = reflectionRepository
+                .streamResponsesByUserIdAndDateBetweenOrderByDateAsc(userId, startDate, endDate);
+             Stream<EnergyAssessmentResponse> energyAssessmentRows = energyAssessmentRepository
+                .streamResponsesByUserIdAndDateBetweenOrderByDateAsc(userId, startDate, endDate)) {
+
+            DateCursor<TaskResponse> tasks = new DateCursor<>(taskRows, TaskResponse::date);
+            DateCursor<ReflectionResponse> reflections = new DateCursor<>(reflectionRows, ReflectionResponse::date);
+            DateCursor<EnergyAssessmentResponse> energyAssessments =
+                new DateCursor<>(energyAssessmentRows, EnergyAssessmentResponse::date);
+
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                action.accept(buildDailyData(
+                    username,
+                    date,
+                    tasks.takeAll(date),
+                    reflections.takeOne(date),
+                    energyAssessments.takeOne(date)));
+            }
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ActivityCalendarResponse getActivityCalendar(String username, LocalDate startDate, LocalDate endDate) {
+        businessValidationService.validateCalendarRange(startDate, endDate);
+        Long userId = requestUserContext.getUserId(username);
+
+        // Served from the cached year bitmaps; a cold year costs one range read of the daily summaries
+        int[] flags = activityBitmapCache.flags(userId, startDate, endDate);
+        return new ActivityCalendarResponse(username, startDate, endDate, Arrays.stream(flags).boxed().toList());
+    }
+
+    @Override
+    public HeatmapResponse getHeatmap(String username, int year) {
+        businessValidationService.validateHeatmapYear(year);
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        LocalDate endDate = startDate.plusYears(1).minusDays(1);
+        Long userId = requestUserContext.getUserId(username);
+
+        // daily_summaries already holds the per-day rollup of tasks, reflections and energy
+        // assessments, so the whole year is one range read of at most 366 narrow rows
+        int days = startDate.lengthOfYear();
+        Integer[] totalTasks = new Integer[days];
+        Integer[] completedTasks = new Integer[days];
+        Integer[] energyLevels = new Integer[days];
+        Integer[] energyRatings = new Integer[days];
+        Arrays.fill(totalTasks, 0);
+        Arrays.fill(completedTasks, 0);
+        for (DayActivity day : dailySummaryRepository.findActivityByUserIdAndDateBetween(userId, startDate, endDate)) {
+            int i = day.date().getDayOfYear() - 1;
+            totalTasks[i] = (int) day.totalTasks();
+            completedTasks[i] = (int) day.completedTasks();
+            energyLevels[i] = day.energyLevel();
+            energyRatings[i] = day.energyRating();
+        }
+        return new HeatmapResponse(username, year, startDate, Arrays.asList(totalTasks), Arrays.asList(completedTasks),
+            Arrays.asList(energyLevels), Arrays.asList(energyRatings));
+    }
+
+    // Package-private so DailyDataAssemblyBenchmark can measure it on its own
+    static DailyDataResponse buildDailyData(String username, LocalDate date, List<TaskResponse> tasks,
+                                            ReflectionResponse reflection, EnergyAssessmentResponse energyAssessment) {
+        long completedTasks = 0;
+        long starredTasks = 0;
+        for (TaskResponse task : tasks) {
+            if (task.completed()) {
+                completedTasks++;
+            }
+            if (task.starred()) {
+                starredTasks++;
+            }
+        }
+
+        DailyDataResponse.DailyStats stats = new DailyDataResponse.DailyStats(
+            tasks.size(),
+            completedTasks,
+            tasks.size() - completedTasks,
+            starredTasks,
+            reflection != null ? reflection.energyRating().doubleValue() : null,
+            energyAssessment != null ? energyAssessment.energyLevel().doubleValue() : null
+        );
+
+        return new DailyDataResponse(username, date, tasks, reflection, energyAssessment, stats);
+    }
+
+    /**
+     * Read-ahead over a stream sorted by date ascending, handing out the rows
+     * for one day at a time.
+     */
+    private static final class DateCursor<T> {
+
+        private final Iterator<T> rows;
+        private final Function<T, LocalDate> dateOf;
+        private T next;
+
+        DateCursor(Stream<T> rows, Function<T, LocalDate> dateOf) {
+            this.rows = rows.iterator();
+            this.dateOf = dateOf;
+            advance();
+        }
+
+        List<T> takeAll(LocalDate date) {
+            List<T> taken = new ArrayList<>();
+            while (next != null && dateOf.apply(next).equals(date)) {
+                taken.add(next);
+                advance();
+            }
+            return taken;
+        }
+
+        T takeOne(LocalDate date) {
+            if (next == null || !dateOf.apply(next).equals(date)) {
+                return null;
+            }
+            T taken = next;
+            advance();
+            return taken;
+        }
+
+        private void advance() {
+            next = rows.hasNext() ? rows.next() : null;
+        }
+    }
+
+}
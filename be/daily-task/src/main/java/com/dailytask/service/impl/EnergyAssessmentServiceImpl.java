@@ -3,132 +3,163 @@ package com.dailytask.service.impl;
 import com.dailytask.dto.request.CreateEnergyAssessmentRequest;
 import com.dailytask.dto.response.EnergyAssessmentResponse;
 import com.dailytask.entity.EnergyAssessment;
-import com.dailytask.entity.User;
 import com.dailytask.exception.ResourceNotFoundException;
 import com.dailytask.mapper.EnergyAssessmentMapper;
 import com.dailytask.repository.EnergyAssessmentRepository;
-import com.dailytask.repository.UserRepository;
+import com.dailytask.repository.projection.ContentVersion;
 import com.dailytask.service.EnergyAssessmentService;
+import com.dailytask.service.cache.ActivityBitmapCache;
+import com.dailytask.service.context.RequestUserContext;
+import com.dailytask.service.summary.DailySummaryMaintainer;
+import com.dailytask.service.summary.EnergyAverages;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class EnergyAssessmentServiceImpl implements EnergyAssessmentService {
 
     private final EnergyAssessmentRepository energyAssessmentRepository;
-    private final UserRepository userRepository;
+    private final RequestUserContext requestUserContext;
     private final EnergyAssessmentMapper energyAssessmentMapper;
+    private final DailySummaryMaintainer dailySummaryMaintainer;
+    private final EnergyAverages energyAverages;
+    private final ActivityBitmapCache activityBitmapCache;
 
-    public EnergyAssessmentServiceImpl(EnergyAssessmentRepository energyAssessmentRepository, UserRepository userRepository, EnergyAssessmentMapper energyAssessmentMapper) {
+    public EnergyAssessmentServiceImpl(EnergyAssessmentRepository energyAssessmentRepository, RequestUserContext requestUserContext, EnergyAssessmentMapper energyAssessmentMapper,
+                                       DailySummaryMaintainer dailySummaryMaintainer, EnergyAverages energyAverages,
+                                       ActivityBitmapCache activityBitmapCache) {
         this.energyAssessmentRepository = energyAssessmentRepository;
-        this.userRepository = userRepository;
+        this.requestUserContext = requestUserContext;
         this.energyAssessmentMapper = energyAssessmentMapper;
+        this.dailySummaryMaintainer = dailySummaryMaintainer;
+        this.energyAverages = energyAverages;
+        this.activityBitmapCache = activityBitmapCache;
     }
 
     @Override
     public EnergyAssessmentResponse createOrUpdateEnergyAssessment(CreateEnergyAssessmentRequest request) {
-        User user = getUserByUsername(request.username());
-        
-        Optional<EnergyAssessment> existingAssessment = energyAssessmentRepository.findByUserAndDate(user, request.date());
-        
-        EnergyAssessment assessment;
-        if (existingAssessment.isPresent()) {
-            assessment = existingAssessment.get();
-            energyAssessmentMapper.updateEntity(request, assessment);
-        } else {
-            assessment = energyAssessmentMapper.toEntity(request);
-            assessment.setUser(user);
-        }
+        Long userId = requestUserContext.getUserId(request.username());
 
-        EnergyAssessment savedAssessment = energyAssessmentRepository.save(assessment);
-        return energyAssessmentMapper.toResponse(savedAssessment);
+        EnergyAssessment assessment = energyAssessmentRepository.upsertByUserIdAndDate(
+            userId, request.date(), request.energyLevel());
+        dailySummaryMaintainer.refreshEnergy(userId, request.date());
+        return energyAssessmentMapper.toResponse(assessment, request.username());
     }
 
     @Override
     @Transactional(readOnly = true)
     public EnergyAssessmentResponse getEnergyAssessmentById(Long id) {
-        EnergyAssessment assessment = energyAssessmentRepository.findById(id)
+        return energyAssessmentRepository.findResponseById(id)
             .orElseThrow(() -> new ResourceNotFoundException("EnergyAssessment", "id", id));
-        return energyAssessmentMapper.toResponse(assessment);
     }
 
     @Override
     @Transactional(readOnly = true)
     public EnergyAssessmentResponse getEnergyAssessmentByUserAndDate(String username, LocalDate date) {
-        User user = getUserByUsername(username);
-        EnergyAssessment assessment = energyAssessmentRepository.findByUserAndDate(user, date)
+        Long userId = requestUserContext.getUserId(username);
+        return energyAssessmentRepository.findResponseByUserIdAndDate(userId, date)
             .orElseThrow(() -> new ResourceNotFoundException(
                 "EnergyAssessment not found for user '" + username + "' on date '" + date + "'"));
-        return energyAssessmentMapper.toResponse(assessment);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getEnergyAssessmentVersion(String username, LocalDate date) {
+        Long userId = requestUserContext.getUserId(username);
+        return energyAssessmentRepository.findVersionByUserIdAndDate(userId, date);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<EnergyAssessmentResponse> getEnergyAssessmentsByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate) {
-        User user = getUserByUsername(username);
-        return energyAssessmentRepository.findByUserAndDateBetweenOrderByDateDesc(user, startDate, endDate).stream()
-            .map(energyAssessmentMapper::toResponse)
-            .toList();
+        Long userId = requestUserContext.getUserId(username);
+        return energyAssessmentRepository.findResponsesByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<EnergyAssessmentResponse> getAllEnergyAssessmentsByUser(String username) {
-        User user = getUserByUsername(username);
-        return energyAssessmentRepository.findByUserOrderByDateDesc(user).stream()
-            .map(energyAssessmentMapper::toResponse)
-            .toList();
+        Long userId = requestUserContext.getUserId(username);
+        return energyAssessmentRepository.findResponsesByUserIdOrderByDateDesc(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<EnergyAssessmentResponse> getEnergyAssessmentsByEnergyLevel(String username, Integer minLevel, Integer maxLevel) {
-        User user = getUserByUsername(username);
-        return energyAssessmentRepository.findByUserAndEnergyLevelBetweenOrderByDateDesc(user, minLevel, maxLevel).stream()
-            .map(energyAssessmentMapper::toResponse)
-            .toList();
+        Long userId = requestUserContext.getUserId(username);
+        return energyAssessmentRepository.findResponsesByUserIdAndEnergyLevelBetweenOrderByDateDesc(userId, minLevel, maxLevel);
     }
 
     @Override
-    public void deleteEnergyAssessment(Long id) {
-        if (!energyAssessmentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("EnergyAssessment", "id", id);
+    @Transactional(readOnly = true)
+    public void streamEnergyAssessmentsByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate,
+                                                          Consumer<? super EnergyAssessmentResponse> action) {
+        Long userId = requestUserContext.getUserId(username);
+        try (Stream<EnergyAssessmentResponse> assessments = energyAssessmentRepository
+                .streamResponsesByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate)) {
+            assessments.forEach(action);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEnergyAssessmentsByUser(String username, Consumer<? super EnergyAssessmentResponse> action) {
+        Long userId = requestUserContext.getUserId(username);
+        try (Stream<EnergyAssessmentResponse> assessments = energyAssessmentRepository.streamResponsesByUserIdOrderByDateDesc(userId)) {
+            assessments.forEach(action);
         }
-        energyAssessmentRepository.deleteById(id);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public void streamEnergyAssessmentsByEnergyLevel(String username, Integer minLevel, Integer maxLevel,
+                                                     Consumer<? super EnergyAssessmentResponse> action) {
+        Long userId = requestUserContext.getUserId(username);
+        try (Stream<EnergyAssessmentResponse> assessments = energyAssessmentRepository
+                .streamResponsesByUserIdAndEnergyLevelBetweenOrderByDateDesc(userId, minLevel, maxLevel)) {
+            assessments.forEach(action);
+        }
+    }
+
+    @Override
+    public void deleteEnergyAssessment(Long id) {
+        EnergyAssessment assessment = energyAssessmentRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("EnergyAssessment", "id", id));
+        energyAssessmentRepository.delete(assessment);
+        dailySummaryMaintainer.refreshEnergy(assessment.getUser().getId(), assessment.getDate());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean existsEnergyAssessmentByUserAndDate(String username, LocalDate date) {
-        User user = getUserByUsername(username);
-        return energyAssessmentRepository.existsByUserAndDate(user, date);
+        // Answered from the cached year of activity bits; only a cold year reads the database
+        Long userId = requestUserContext.getUserId(username);
+        return (activityBitmapCache.flags(userId, date) & ActivityBitmapCache.HAS_ENERGY_ASSESSMENT) != 0;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Double getAverageEnergyLevelByUser(String username) {
-        User user = getUserByUsername(username);
-        Double average = energyAssessmentRepository.findAverageEnergyLevelByUser(user);
+        Long userId = requestUserContext.getUserId(username);
+        Double average = energyAverages.sums(userId).averageEnergyLevel();
         return average != null ? average : 0.0;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Double getAverageEnergyLevelByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate) {
-        User user = getUserByUsername(username);
-        Double average = energyAssessmentRepository.findAverageEnergyLevelByUserAndDateBetween(user, startDate, endDate);
+        Long userId = requestUserContext.getUserId(username);
+        Double average = energyAverages.sums(userId, startDate, endDate).averageEnergyLevel();
         return average != null ? average : 0.0;
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-    }
 
 
 } 
\ No newline at end of file
@@ -3,132 +3,163 @@ package com.dailytask.service.impl;
 import com.dailytask.dto.request.CreateReflectionRequest;
 import com.dailytask.dto.response.ReflectionResponse;
 import com.dailytask.entity.Reflection;
-import com.dailytask.entity.User;
 import com.dailytask.exception.ResourceNotFoundException;
 import com.dailytask.mapper.ReflectionMapper;
 import com.dailytask.repository.ReflectionRepository;
-import com.dailytask.repository.UserRepository;
+import com.dailytask.repository.projection.ContentVersion;
 import com.dailytask.service.ReflectionService;
+import com.dailytask.service.cache.ActivityBitmapCache;
+import com.dailytask.service.context.RequestUserContext;
+import com.dailytask.service.summary.DailySummaryMaintainer;
+import com.dailytask.service.summary.EnergyAverages;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ReflectionServiceImpl implements ReflectionService {
 
     private final ReflectionRepository reflectionRepository;
-    private final UserRepository userRepository;
+    private final RequestUserContext requestUserContext;
     private final ReflectionMapper reflectionMapper;
+    private final DailySummaryMaintainer dailySummaryMaintainer;
+    private final EnergyAverages energyAverages;
+    private final ActivityBitmapCache activityBitmapCache;
 
-    public ReflectionServiceImpl(ReflectionRepository reflectionRepository, UserRepository userRepository, ReflectionMapper reflectionMapper) {
+    public ReflectionServiceImpl(ReflectionRepository reflectionRepository, RequestUserContext requestUserContext, ReflectionMapper reflectionMapper,
+                                 DailySummaryMaintainer dailySummaryMaintainer, EnergyAverages energyAverages,
+                                 ActivityBitmapCache activityBitmapCache) {
         this.reflectionRepository = reflectionRepository;
-        this.userRepository = userRepository;
+        this.requestUserContext = requestUserContext;
         this.reflectionMapper = reflectionMapper;
+        this.dailySummaryMaintainer = dailySummaryMaintainer;
+        this.energyAverages = energyAverages;
+        this.activityBitmapCache = activityBitmapCache;
     }
 
     @Override
     public ReflectionResponse createOrUpdateReflection(CreateReflectionRequest request) {
-        User user = getUserByUsername(request.username());
-        
-        Optional<Reflection> existingReflection = reflectionRepository.findByUserAndDate(user, request.date());
-        
-        Reflection reflection;
-        if (existingReflection.isPresent()) {
-            reflection = existingReflection.get();
-            reflectionMapper.updateEntity(request, reflection);
-        } else {
-            reflection = reflectionMapper.toEntity(request);
-            reflection.setUser(user);
-        }
+        Long userId = requestUserContext.getUserId(request.username());
 
-        Reflection savedReflection = reflectionRepository.save(reflection);
-        return reflectionMapper.toResponse(savedReflection);
+        Reflection reflection = reflectionRepository.upsertByUserIdAndDate(
+            userId, request.date(), request.energyRating(), request.reflectionText());
+        dailySummaryMaintainer.refreshEnergy(userId, request.date());
+        return reflectionMapper.toResponse(reflection, request.username());
     }
 
     @Override
     @Transactional(readOnly = true)
     public ReflectionResponse getReflectionById(Long id) {
-        Reflection reflection = reflectionRepository.findById(id)
+        return reflectionRepository.findResponseById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reflection", "id", id));
-        return reflectionMapper.toResponse(reflection);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ReflectionResponse getReflectionByUserAndDate(String username, LocalDate date) {
-        User user = getUserByUsername(username);
-        Reflection reflection = reflectionRepository.findByUserAndDate(user, date)
+        Long userId = requestUserContext.getUserId(username);
+        return reflectionRepository.findResponseByUserIdAndDate(userId, date)
             .orElseThrow(() -> new ResourceNotFoundException(
                 "Reflection not found for user '" + username + "' on date '" + date + "'"));
-        return reflectionMapper.toResponse(reflection);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getReflectionVersion(String username, LocalDate date) {
+        Long userId = requestUserContext.getUserId(username);
+        return reflectionRepository.findVersionByUserIdAndDate(userId, date);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ReflectionResponse> getReflectionsByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate) {
-        User user = getUserByUsername(username);
-        return reflectionRepository.findByUserAndDateBetweenOrderByDateDesc(user, startDate, endDate).stream()
-            .map(reflectionMapper::toResponse)
-            .toList();
+        Long userId = requestUserContext.getUserId(username);
+        return reflectionRepository.findResponsesByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ReflectionResponse> getAllReflectionsByUser(String username) {
-        User user = getUserByUsername(username);
-        return reflectionRepository.findByUserOrderByDateDesc(user).stream()
-            .map(reflectionMapper::toResponse)
-            .toList();
+        Long userId = requestUserContext.getUserId(username);
+        return reflectionRepository.findResponsesByUserIdOrderByDateDesc(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ReflectionResponse> getReflectionsByEnergyRating(String username, Integer minRating, Integer maxRating) {
-        User user = getUserByUsername(username);
-        return reflectionRepository.findByUserAndEnergyRatingBetweenOrderByDateDesc(user, minRating, maxRating).stream()
-            .map(reflectionMapper::toResponse)
-            .toList();
+        Long userId = requestUserContext.getUserId(username);
+        return reflectionRepository.findResponsesByUserIdAndEnergyRatingBetweenOrderByDateDesc(userId, minRating, maxRating);
     }
 
     @Override
-    public void deleteReflection(Long id) {
-        if (!reflectionRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Reflection", "id", id);
+    @Transactional(readOnly = true)
+    public void streamReflectionsByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate,
+                                                    Consumer<? super ReflectionResponse> action) {
+        Long userId = requestUserContext.getUserId(username);
+        try (Stream<ReflectionResponse> reflections = reflectionRepository
+                .streamResponsesByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate)) {
+            reflections.forEach(action);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllReflectionsByUser(String username, Consumer<? super ReflectionResponse> action) {
+        Long userId = requestUserContext.getUserId(username);
+        try (Stream<ReflectionResponse> reflections = reflectionRepository.streamResponsesByUserIdOrderByDateDesc(userId)) {
+            reflections.forEach(action);
         }
-        reflectionRepository.deleteById(id);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public void streamReflectionsByEnergyRating(String username, Integer minRating, Integer maxRating,
+                                                Consumer<? super ReflectionResponse> action) {
+        Long userId = requestUserContext.getUserId(username);
+        try (Stream<ReflectionResponse> reflections = reflectionRepository
+                .streamResponsesByUserIdAndEnergyRatingBetweenOrderByDateDesc(userId, minRating, maxRating)) {
+            reflections.forEach(action);
+        }
+    }
+
+    @Override
+    public void deleteReflection(Long id) {
+        Reflection reflection = reflectionRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Reflection", "id", id));
+        reflectionRepository.delete(reflection);
+        dailySummaryMaintainer.refreshEnergy(reflection.getUser().getId(), reflection.getDate());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean existsReflectionByUserAndDate(String username, LocalDate date) {
-        User user = getUserByUsername(username);
-        return reflectionRepository.existsByUserAndDate(user, date);
+        // Answered from the cached year of activity bits; only a cold year reads the database
+        Long userId = requestUserContext.getUserId(username);
+        return (activityBitmapCache.flags(userId, date) & ActivityBitmapCache.HAS_REFLECTION) != 0;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Double getAverageEnergyRatingByUser(String username) {
-        User user = getUserByUsername(username);
-        Double average = reflectionRepository.findAverageEnergyRatingByUser(user);
+        Long userId = requestUserContext.getUserId(username);
+        Double average = energyAverages.sums(userId).averageEnergyRating();
         return average != null ? average : 0.0;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Double getAverageEnergyRatingByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate) {
-        User user = getUserByUsername(username);
-        Double average = reflectionRepository.findAverageEnergyRatingByUserAndDateBetween(user, startDate, endDate);
+        Long userId = requestUserContext.getUserId(username);
+        Double average = energyAverages.sums(userId, startDate, endDate).averageEnergyRating();
         return average != null ? average : 0.0;
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-    }
 
 
 } 
\ No newline at end of file
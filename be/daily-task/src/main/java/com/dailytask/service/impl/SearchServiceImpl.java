@@ -0,0 +1,81 @@
+package com.dailytask.service.impl;
+
+import com.dailytask.dto.response.CursorPageResponse;
+import com.dailytask.dto.response.SearchResultResponse;
+import com.dailytask.repository.SearchRepository;
+import com.dailytask.repository.projection.SearchHit;
+import com.dailytask.service.SearchService;
+import com.dailytask.service.context.RequestUserContext;
+import com.dailytask.service.pagination.SearchCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class SearchServiceImpl implements SearchService {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final SearchRepository searchRepository;
+    private final RequestUserContext requestUserContext;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public SearchServiceImpl(SearchRepository searchRepository, RequestUserContext requestUserContext,
+                             @Value("${app.pagination.search.default-size:20}") int defaultPageSize,
+                             @Value("${app.pagination.search.max-size:100}") int maxPageSize) {
+        this.searchRepository = searchRepository;
+        this.requestUserContext = requestUserContext;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public CursorPageResponse<SearchResultResponse> search(String username, String query, String cursor, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        Long userId = requestUserContext.getUserId(username);
+
+        // One extra row tells whether another page follows
+        List<SearchHit> hits = searchRepository.search(
+            userId, query, after.rank(), after.date(), after.type(), after.id(), pageSize + 1);
+        boolean hasNext = hits.size() > pageSize;
+        List<SearchHit> page = hasNext ? hits.subList(0, pageSize) : hits;
+
+        List<SearchResultResponse> results = page.stream()
+            .map(hit -> new SearchResultResponse(hit.getType(), hit.getId(), hit.getDate(), highlight(hit.getTitle()), highlight(hit.getSnippet()), hit.getRank()))
+            .toList();
+        String nextCursor = hasNext ? SearchCursor.of(page.get(pageSize - 1)).encode() : null;
+        return new CursorPageResponse<>(results, nextCursor);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    // The text is user content, so it is escaped before the match markers become tags
+    private static String highlight(String text) {
+        if (text == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(text)
+            .replace(String.valueOf(SearchHit.MATCH_START), "<mark>")
+            .replace(String.valueOf(SearchHit.MATCH_END), "</mark>");
+    }
+}
@@ -0,0 +1,105 @@
+package com.dailytask.service.impl;
+
+import com.dailytask.dto.response.StreakResponse;
+import com.dailytask.entity.ActivityKind;
+import com.dailytask.repository.ActivityRunRepository;
+import com.dailytask.repository.ActivityStreakRepository;
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.projection.ActivitySpan;
+import com.dailytask.repository.projection.DayActivity;
+import com.dailytask.service.StreakService;
+import com.dailytask.service.context.RequestUserContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class StreakServiceImpl implements StreakService {
+
+    private static final List<Integer> WINDOW_DAYS = List.of(7, 30, 90);
+
+    private final ActivityRunRepository activityRunRepository;
+    private final ActivityStreakRepository activityStreakRepository;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final RequestUserContext requestUserContext;
+
+    public StreakServiceImpl(ActivityRunRepository activityRunRepository, ActivityStreakRepository activityStreakRepository,
+                             DailySummaryRepository dailySummaryRepository, RequestUserContext requestUserContext) {
+        this.activityRunRepository = activityRunRepository;
+        this.activityStreakRepository = activityStreakRepository;
+        this.dailySummaryRepository = dailySummaryRepository;
+        this.requestUserContext = requestUserContext;
+    }
+
+    @Override
+    public StreakResponse getStreaks(String username, LocalDate asOf) {
+        Long userId = requestUserContext.getUserId(username);
+
+        // Streaks come from the maintained runs; only the windows read day rows, at most the longest window's worth
+        Map<ActivityKind, ActivitySpan> currentRuns = activityRunRepository
+            .findCurrentSpansByUserId(userId, asOf, asOf.minusDays(1)).stream()
+            .collect(Collectors.toMap(ActivitySpan::kind, Function.identity()));
+        Map<ActivityKind, ActivitySpan> longestRuns = activityStreakRepository.findLongestSpansByUserId(userId).stream()
+            .collect(Collectors.toMap(ActivitySpan::kind, Function.identity()));
+        List<DayActivity> recentDays = dailySummaryRepository.findActivityByUserIdAndDateBetween(
+            userId, asOf.minusDays(WINDOW_DAYS.get(WINDOW_DAYS.size() - 1) - 1), asOf);
+
+        return new StreakResponse(
+            username,
+            asOf,
+            buildStreak(ActivityKind.TASKS, asOf, currentRuns, longestRuns, recentDays),
+            buildStreak(ActivityKind.REFLECTIONS, asOf, currentRuns, longestRuns, recentDays),
+            buildStreak(ActivityKind.ENERGY_ASSESSMENTS, asOf, currentRuns, longestRuns, recentDays));
+    }
+
+    private StreakResponse.ActivityStreak buildStreak(ActivityKind kind, LocalDate asOf, Map<ActivityKind, ActivitySpan> currentRuns,
+                                                      Map<ActivityKind, ActivitySpan> longestRuns, List<DayActivity> recentDays) {
+        // A streak is still current until a whole day passes without activity; days planned ahead do not count yet
+        ActivitySpan current = currentRuns.get(kind);
+        int currentStreak = current != null
+            ? (int) ChronoUnit.DAYS.between(current.startDate(), current.endDate().isAfter(asOf) ? asOf : current.endDate()) + 1
+            : 0;
+        ActivitySpan longest = longestRuns.get(kind);
+
+        List<StreakResponse.Window> windows = WINDOW_DAYS.stream()
+            .map(days -> buildWindow(kind, days, asOf.minusDays(days - 1), recentDays))
+            .toList();
+
+        return new StreakResponse.ActivityStreak(
+            currentStreak,
+            current != null ? current.startDate() : null,
+            longest != null ? longest.days() : 0,
+            longest != null ? longest.startDate() : null,
+            longest != null ? longest.endDate() : null,
+            windows);
+    }
+
+    private StreakResponse.Window buildWindow(ActivityKind kind, int days, LocalDate since, List<DayActivity> recentDays) {
+        int activeDays = 0;
+        long totalTasks = 0;
+        long completedTasks = 0;
+        for (DayActivity day : recentDays) {
+            if (day.date().isBefore(since)) {
+                continue;
+            }
+            if (day.isActive(kind)) {
+                activeDays++;
+            }
+            totalTasks += day.totalTasks();
+            completedTasks += day.completedTasks();
+        }
+
+        Double completionRate = null;
+        if (kind == ActivityKind.TASKS && totalTasks > 0) {
+            completionRate = (double) completedTasks / totalTasks;
+        }
+        return new StreakResponse.Window(days, activeDays, (double) activeDays / days, completionRate);
+    }
+}
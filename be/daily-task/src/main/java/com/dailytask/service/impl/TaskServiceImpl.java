@@ -1,21 +1,45 @@
 package com.dailytask.service.impl;
 
+import com.dailytask.dto.request.BulkTaskRequest;
 import com.dailytask.dto.request.CreateTaskRequest;
 import com.dailytask.dto.request.UpdateTaskRequest;
+import com.dailytask.dto.response.BulkTaskResponse;
+import com.dailytask.dto.response.CursorPageResponse;
+import com.dailytask.dto.response.DailyTaskStatsResponse;
 import com.dailytask.dto.response.TaskResponse;
+import com.dailytask.dto.response.TaskStatsResponse;
 import com.dailytask.entity.Task;
-import com.dailytask.entity.User;
 import com.dailytask.exception.ResourceNotFoundException;
 import com.dailytask.mapper.TaskMapper;
+import com.dailytask.repository.DailySummaryRepository;
 import com.dailytask.repository.TaskRepository;
 import com.dailytask.repository.UserRepository;
+import com.dailytask.repository.projection.ContentVersion;
+import com.dailytask.repository.projection.DailyTaskCounts;
+import com.dailytask.repository.projection.TaskStatsCounts;
+import com.dailytask.repository.projection.ToggledTask;
 import com.dailytask.service.TaskService;
+import com.dailytask.service.context.RequestUserContext;
+import com.dailytask.service.pagination.TaskCursor;
+import com.dailytask.service.summary.DailySummaryMaintainer;
 import com.dailytask.service.validation.BusinessValidationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -23,30 +47,108 @@ public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final RequestUserContext requestUserContext;
     private final TaskMapper taskMapper;
     private final BusinessValidationService businessValidationService;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final DailySummaryMaintainer dailySummaryMaintainer;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository, 
-                          TaskMapper taskMapper, BusinessValidationService businessValidationService) {
+    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository, RequestUserContext requestUserContext, 
+                          TaskMapper taskMapper, BusinessValidationService businessValidationService,
+                          DailySummaryRepository dailySummaryRepository, DailySummaryMaintainer dailySummaryMaintainer,
+                          @Value("${app.pagination.tasks.default-size:50}") int defaultPageSize,
+                          @Value("${app.pagination.tasks.max-size:200}") int maxPageSize) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.requestUserContext = requestUserContext;
         this.taskMapper = taskMapper;
         this.businessValidationService = businessValidationService;
+        this.dailySummaryRepository = dailySummaryRepository;
+        this.dailySummaryMaintainer = dailySummaryMaintainer;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @Override
     public TaskResponse createTask(CreateTaskRequest request) {
-        User user = userRepository.findByUsername(request.username())
-            .orElseThrow(() -> new ResourceNotFoundException("User", "username", request.username()));
+        Long userId = requestUserContext.getUserId(request.username());
 
         // Apply business validation
-        businessValidationService.validateTaskCreation(user, request.date());
+        businessValidationService.validateTaskCreation(userId, request.date());
 
         Task task = taskMapper.toEntity(request);
-        task.setUser(user);
+        task.setUser(userRepository.getReferenceById(userId));
 
         Task savedTask = taskRepository.save(task);
-        return taskMapper.toResponse(savedTask);
+        dailySummaryMaintainer.refresh(userId, savedTask.getDate());
+        return taskMapper.toResponse(savedTask, request.username());
+    }
+
+    @Override
+    public BulkTaskResponse bulkWriteTasks(String username, BulkTaskRequest request) {
+        Long userId = requestUserContext.getUserId(username);
+
+        // Updates and deletes must name distinct tasks owned by the user; load them in one query
+        Set<Long> targetIds = new LinkedHashSet<>();
+        request.update().forEach(update -> addTarget(targetIds, update.id()));
+        request.delete().forEach(id -> addTarget(targetIds, id));
+        Map<Long, Task> targets = targetIds.isEmpty() ? Map.of() : taskRepository.findByUserIdAndIdIn(userId, targetIds).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+        for (Long id : targetIds) {
+            if (!targets.containsKey(id)) {
+                throw new ResourceNotFoundException("Task", "id", id);
+            }
+        }
+
+        // Check the daily cap once per affected date, net of the deletes in this request
+        Map<LocalDate, Long> taskCountChangeByDate = new HashMap<>();
+        request.create().forEach(create -> taskCountChangeByDate.merge(create.date(), 1L, Long::sum));
+        request.delete().forEach(id -> taskCountChangeByDate.merge(targets.get(id).getDate(), -1L, Long::sum));
+        businessValidationService.validateBulkTaskCreation(userId, taskCountChangeByDate);
+
+        if (!request.delete().isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(request.delete());
+        }
+
+        List<Task> updatedTasks = request.update().stream()
+            .map(update -> {
+                Task task = targets.get(update.id());
+                taskMapper.updateEntity(
+                    new UpdateTaskRequest(update.title(), update.description(), update.completed(), update.starred()), task);
+                return task;
+            })
+            .toList();
+
+        List<Task> createdTasks = request.create().stream()
+            .map(create -> {
+                Task task = taskMapper.toEntity(
+                    new CreateTaskRequest(create.title(), create.description(), create.date(), username));
+                task.setUser(userRepository.getReferenceById(userId));
+                return task;
+            })
+            .toList();
+        taskRepository.saveAll(createdTasks);
+
+        // Inserts and updates go out as JDBC batches here, and auditing fills in the timestamps
+        taskRepository.flush();
+
+        Set<LocalDate> touchedDates = new HashSet<>(taskCountChangeByDate.keySet());
+        updatedTasks.forEach(task -> touchedDates.add(task.getDate()));
+        dailySummaryMaintainer.refresh(userId, touchedDates);
+
+        return new BulkTaskResponse(
+            createdTasks.stream().map(task -> taskMapper.toResponse(task, username)).toList(),
+            updatedTasks.stream().map(task -> taskMapper.toResponse(task, username)).toList(),
+            request.delete()
+        );
+    }
+
+    private void addTarget(Set<Long> targetIds, Long id) {
+        if (!targetIds.add(id)) {
+            throw new IllegalArgumentException("Task " + id + " appears in more than one bulk operation");
+        }
     }
 
     @Override
@@ -57,99 +159,166 @@ public class TaskServiceImpl implements TaskService {
         taskMapper.updateEntity(request, task);
 
         Task savedTask = taskRepository.save(task);
+        dailySummaryMaintainer.refresh(savedTask.getUser().getId(), savedTask.getDate());
         return taskMapper.toResponse(savedTask);
     }
 
     @Override
     @Transactional(readOnly = true)
     public TaskResponse getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+        return taskRepository.findResponseById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
-        return taskMapper.toResponse(task);
+    }
+
+    @Override
+    public TaskResponse toggleTaskCompletion(String username, Long id) {
+        ToggledTask task = taskRepository.toggleCompletedByIdAndUsername(id, username)
+            .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        if (task.hasSummary()) {
+            dailySummaryMaintainer.toggled(task.getUserId(), task.dayActivity());
+        } else {
+            dailySummaryMaintainer.refresh(task.getUserId(), task.getDate());
+        }
+        return taskMapper.toResponse(task, username);
+    }
+
+    @Override
+    public TaskResponse toggleTaskStar(String username, Long id) {
+        ToggledTask task = taskRepository.toggleStarredByIdAndUsername(id, username)
+            .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        // Stars show in neither streaks nor bitmaps, so a summary row the toggle already updated needs nothing more
+        if (!task.hasSummary()) {
+            dailySummaryMaintainer.refresh(task.getUserId(), task.getDate());
+        }
+        return taskMapper.toResponse(task, username);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TaskResponse> getTasksByUserAndDate(String username, LocalDate date) {
-        User user = getUserByUsername(username);
-        return taskRepository.findByUserAndDateOrderByStarredDescCreatedAtAsc(user, date).stream()
-            .map(taskMapper::toResponse)
-            .toList();
+        Long userId = requestUserContext.getUserId(username);
+        return taskRepository.findResponsesByUserIdAndDateOrderByStarredDescCreatedAtAsc(userId, date);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getTasksVersion(String username, LocalDate date) {
+        Long userId = requestUserContext.getUserId(username);
+        return taskRepository.findVersionByUserIdAndDate(userId, date);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TaskResponse> getTasksByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate) {
-        User user = getUserByUsername(username);
+        Long userId = requestUserContext.getUserId(username);
         
         // Validate date range
         businessValidationService.validateDateRange(startDate, endDate);
         
-        return taskRepository.findByUserAndDateBetweenOrderByDateDescStarredDesc(user, startDate, endDate).stream()
-            .map(taskMapper::toResponse)
-            .toList();
+        return taskRepository.findResponsesByUserIdAndDateBetweenOrderByDateDescStarredDesc(userId, startDate, endDate);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TaskResponse> getStarredTasksByUser(String username) {
-        User user = getUserByUsername(username);
-        return taskRepository.findStarredTasksByUserOrderByDateDesc(user).stream()
-            .map(taskMapper::toResponse)
-            .toList();
+    public void streamTasksByUserAndDateRange(String username, LocalDate startDate, LocalDate endDate,
+                                              Consumer<? super TaskResponse> action) {
+        Long userId = requestUserContext.getUserId(username);
+        businessValidationService.validateDateRange(startDate, endDate);
+
+        try (Stream<TaskResponse> tasks = taskRepository
+                .streamResponsesByUserIdAndDateBetweenOrderByDateDescStarredDesc(userId, startDate, endDate)) {
+            tasks.forEach(action);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TaskResponse> getIncompleteTasksByUser(String username) {
-        User user = getUserByUsername(username);
-        return taskRepository.findIncompleteTasksByUserOrderByDateAscStarredDesc(user).stream()
-            .map(taskMapper::toResponse)
-            .toList();
+    public CursorPageResponse<TaskResponse> getStarredTasksByUser(String username, String cursor, Integer limit) {
+        Long userId = requestUserContext.getUserId(username);
+        Window<Task> window = taskRepository.findByUserAndStarredTrueOrderByDateDescCreatedAtDescIdDesc(
+            userRepository.getReferenceById(userId), TaskCursor.decode(cursor), resolvePageSize(limit));
+        return toPage(window, username);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TaskResponse> getAllTasksByUser(String username) {
-        User user = getUserByUsername(username);
-        return taskRepository.findByUserOrderByDateDescCreatedAtDesc(user).stream()
-            .map(taskMapper::toResponse)
-            .toList();
+    public CursorPageResponse<TaskResponse> getIncompleteTasksByUser(String username, String cursor, Integer limit) {
+        Long userId = requestUserContext.getUserId(username);
+        Window<Task> window = taskRepository.findByUserAndCompletedFalseOrderByDateAscStarredDescCreatedAtAscIdAsc(
+            userRepository.getReferenceById(userId), TaskCursor.decode(cursor), resolvePageSize(limit));
+        return toPage(window, username);
     }
 
     @Override
-    public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Task", "id", id);
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> getAllTasksByUser(String username, String cursor, Integer limit) {
+        Long userId = requestUserContext.getUserId(username);
+        Window<Task> window = taskRepository.findByUserOrderByDateDescCreatedAtDescIdDesc(
+            userRepository.getReferenceById(userId), TaskCursor.decode(cursor), resolvePageSize(limit));
+        return toPage(window, username);
+    }
+
+    private Limit resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Limit.of(defaultPageSize);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
         }
-        taskRepository.deleteById(id);
+        return Limit.of(Math.min(limit, maxPageSize));
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public long getTaskCountByUserAndDate(String username, LocalDate date) {
-        User user = getUserByUsername(username);
-        return taskRepository.countByUserAndDate(user, date);
+    private CursorPageResponse<TaskResponse> toPage(Window<Task> window, String username) {
+        List<TaskResponse> tasks = window.stream()
+            .map(task -> taskMapper.toResponse(task, username))
+            .toList();
+        String nextCursor = window.hasNext() ? TaskCursor.encode(window.getContent().get(window.size() - 1)) : null;
+        return new CursorPageResponse<>(tasks, nextCursor);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public long getCompletedTaskCountByUserAndDate(String username, LocalDate date) {
-        User user = getUserByUsername(username);
-        return taskRepository.countCompletedByUserAndDate(user, date);
+    public void deleteTask(Long id) {
+        Task task = taskRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        taskRepository.delete(task);
+        dailySummaryMaintainer.refresh(task.getUser().getId(), task.getDate());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public long getStarredTaskCountByUser(String username) {
-        User user = getUserByUsername(username);
-        return taskRepository.countStarredByUser(user);
+    public TaskStatsResponse getTaskStats(String username, LocalDate date) {
+        Long userId = requestUserContext.getUserId(username);
+        TaskStatsCounts counts = taskRepository.findStatsByUserIdAndDate(userId, date);
+        return new TaskStatsResponse(
+            counts.totalTasks(),
+            counts.completedTasks(),
+            counts.starredTasks(),
+            counts.totalTasks() - counts.completedTasks()
+        );
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-            .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-    }
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyTaskStatsResponse> getDailyTaskStats(String username, LocalDate startDate, LocalDate endDate) {
+        businessValidationService.validateDateRange(startDate, endDate);
+        Long userId = requestUserContext.getUserId(username);
 
+        // One summary row per day instead of grouping the tasks; days without a row are filled in with zeros
+        Map<LocalDate, DailyTaskCounts> countsByDate = dailySummaryRepository
+            .findDailyStatsByUserIdAndDateBetween(userId, startDate, endDate).stream()
+            .collect(Collectors.toMap(DailyTaskCounts::date, Function.identity()));
 
-} 
\ No newline at end of file
+        return startDate.datesUntil(endDate.plusDays(1))
+            .map(date -> {
+                DailyTaskCounts counts = countsByDate.getOrDefault(date, new DailyTaskCounts(date, 0, 0, 0));
+                return new DailyTaskStatsResponse(
+                    date,
+                    counts.totalTasks(),
+                    counts.completedTasks(),
+                    counts.starredTasks(),
+                    counts.totalTasks() - counts.completedTasks()
+                );
+            })
+            .toList();
+    }
+}
@@ -8,21 +8,42 @@ import com.dailytask.exception.ResourceNotFoundException;
 import com.dailytask.mapper.UserMapper;
 import com.dailytask.repository.UserRepository;
 import com.dailytask.service.UserService;
+import com.dailytask.service.cache.UserIdentityCache;
+import com.dailytask.service.search.UserSearchMode;
+import com.dailytask.service.search.UsernameSearch;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    // Usernames are at most 50 characters, so a longer term cannot match
+    private static final int MAX_SEARCH_TERM_LENGTH = 50;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserIdentityCache userIdentityCache;
+    private final UsernameSearch usernameSearch;
+    private final int defaultSearchLimit;
+    private final int maxSearchLimit;
 
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, UserIdentityCache userIdentityCache,
+                           UsernameSearch usernameSearch,
+                           @Value("${app.user-search.default-limit:20}") int defaultSearchLimit,
+                           @Value("${app.user-search.max-limit:100}") int maxSearchLimit) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.userIdentityCache = userIdentityCache;
+        this.usernameSearch = usernameSearch;
+        this.defaultSearchLimit = defaultSearchLimit;
+        this.maxSearchLimit = maxSearchLimit;
     }
 
     @Override
@@ -33,6 +54,8 @@ public class UserServiceImpl implements UserService {
 
         User user = userMapper.toEntity(request);
         User savedUser = userRepository.save(user);
+        userIdentityCache.invalidateOnCommit(savedUser.getUsername());
+        afterCommit(() -> usernameSearch.userCreated(savedUser.getId(), savedUser.getUsername()));
         return userMapper.toResponse(savedUser);
     }
 
@@ -62,18 +85,36 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponse> searchUsers(String searchTerm) {
-        return userRepository.findByUsernameContainingIgnoreCase(searchTerm).stream()
+    public List<UserResponse> searchUsers(String searchTerm, UserSearchMode mode, Integer limit) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new IllegalArgumentException("Search term must not be blank");
+        }
+        String term = searchTerm.strip().toLowerCase(Locale.ROOT);
+        if (term.length() > MAX_SEARCH_TERM_LENGTH) {
+            throw new IllegalArgumentException("Search term must be at most " + MAX_SEARCH_TERM_LENGTH + " characters");
+        }
+        return usernameSearch.search(term, mode, resolveSearchLimit(limit)).stream()
             .map(userMapper::toResponse)
             .toList();
     }
 
+    private int resolveSearchLimit(Integer limit) {
+        if (limit == null) {
+            return defaultSearchLimit;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return Math.min(limit, maxSearchLimit);
+    }
+
     @Override
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User", "id", id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        userRepository.delete(user);
+        userIdentityCache.invalidateOnCommit(user.getUsername());
+        afterCommit(() -> usernameSearch.userDeleted(id));
     }
 
     @Override
@@ -82,5 +123,19 @@ public class UserServiceImpl implements UserService {
         return userRepository.existsByUsername(username);
     }
 
+    // The in-memory username index follows committed users only, so a rolled-back write leaves no trace in it
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
 
 } 
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.dailytask.service.pagination;
+
+import com.dailytask.repository.projection.SearchHit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for search results, holding the sort key (rank,
+ * date, type, id) of the last hit on a page. Ranks round-trip exactly, as
+ * they are single-precision in the database and here.
+ */
+public record SearchCursor(float rank, LocalDate date, String type, long id) {
+
+    // Sorts before every real hit, as ranks are finite; the other fields are never compared
+    public static final SearchCursor FIRST = new SearchCursor(Float.POSITIVE_INFINITY, LocalDate.EPOCH, "TASK", 0);
+
+    private static final String SEPARATOR = "|";
+
+    public static SearchCursor of(SearchHit hit) {
+        return new SearchCursor(hit.getRank(), hit.getDate(), hit.getType(), hit.getId());
+    }
+
+    public String encode() {
+        String key = rank + SEPARATOR + date + SEPARATOR + type + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = key.split("\\|", -1);
+            if (parts.length != 4 || !(parts[2].equals("TASK") || parts[2].equals("REFLECTION"))) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new SearchCursor(Float.parseFloat(parts[0]), LocalDate.parse(parts[1]), parts[2], Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
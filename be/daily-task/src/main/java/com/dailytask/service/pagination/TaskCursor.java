@@ -0,0 +1,53 @@
+package com.dailytask.service.pagination;
+
+import com.dailytask.entity.Task;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opaque continuation token for keyset-paginated task listings. A token holds
+ * the sort key (date, starred, created_at, id) of the last task on a page, so
+ * the next page starts strictly after that row even if tasks were added or
+ * removed in between.
+ */
+public final class TaskCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private TaskCursor() {
+    }
+
+    public static String encode(Task task) {
+        String key = task.getDate() + SEPARATOR + task.getStarred() + SEPARATOR
+            + task.getCreatedAt() + SEPARATOR + task.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = key.split("\\|", -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("date", LocalDate.parse(parts[0]));
+            keys.put("starred", Boolean.valueOf(parts[1]));
+            keys.put("createdAt", LocalDateTime.parse(parts[2]));
+            keys.put("id", Long.valueOf(parts[3]));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
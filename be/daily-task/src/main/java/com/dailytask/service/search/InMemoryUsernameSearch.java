@@ -0,0 +1,95 @@
+package com.dailytask.service.search;
+
+import com.dailytask.entity.User;
+import com.dailytask.repository.UserRepository;
+import com.dailytask.repository.projection.UsernameEntry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Searches a trie of all usernames held in memory, for databases without
+ * pg_trgm such as the H2 test database. Only the matched users are read back,
+ * in one query. The trie is loaded on first use rather than at startup so it
+ * includes users inserted directly, as test data is; after that it is kept
+ * current by the user service.
+ */
+@Component
+@ConditionalOnProperty(name = "app.user-search.in-memory", havingValue = "true")
+public class InMemoryUsernameSearch implements UsernameSearch {
+
+    private static final Comparator<Candidate> RANKING = Comparator
+        .comparing(Candidate::exact).reversed()
+        .thenComparing(Comparator.comparing(Candidate::prefix).reversed())
+        .thenComparing(Comparator.comparing(Candidate::similarity).reversed())
+        .thenComparing(Candidate::name)
+        .thenComparing(Candidate::id);
+
+    private final UserRepository userRepository;
+    private UsernameTrie trie;
+
+    private record Candidate(Long id, String name, boolean exact, boolean prefix, float similarity) {
+    }
+
+    public InMemoryUsernameSearch(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public List<User> search(String term, UserSearchMode mode, int limit) {
+        List<Long> ids = rank(term, mode, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> users = userRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+            .map(users::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    private synchronized List<Long> rank(String term, UserSearchMode mode, int limit) {
+        UsernameTrie usernames = trie();
+        return usernames.find(term, mode).stream()
+            .map(id -> {
+                String name = usernames.username(id);
+                return new Candidate(id, name, name.equals(term), name.startsWith(term), Trigrams.similarity(name, term));
+            })
+            .sorted(RANKING)
+            .limit(limit)
+            .map(Candidate::id)
+            .toList();
+    }
+
+    @Override
+    public synchronized void userCreated(Long id, String username) {
+        if (trie != null) {
+            trie.add(id, username);
+        }
+    }
+
+    @Override
+    public synchronized void userDeleted(Long id) {
+        if (trie != null) {
+            trie.remove(id);
+        }
+    }
+
+    private UsernameTrie trie() {
+        if (trie == null) {
+            UsernameTrie loaded = new UsernameTrie();
+            for (UsernameEntry entry : userRepository.findAllUsernames()) {
+                loaded.add(entry.id(), entry.username());
+            }
+            trie = loaded;
+        }
+        return trie;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dailytask.service.search;
+
+import com.dailytask.entity.User;
+import com.dailytask.repository.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Searches PostgreSQL through the trigram and prefix indexes on lower(username),
+ * so neither mode scans the users table.
+ */
+@Component
+@ConditionalOnProperty(name = "app.user-search.in-memory", havingValue = "false", matchIfMissing = true)
+public class TrigramUsernameSearch implements UsernameSearch {
+
+    private final UserRepository userRepository;
+
+    public TrigramUsernameSearch(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public List<User> search(String term, UserSearchMode mode, int limit) {
+        String escaped = escapeLike(term);
+        String pattern = mode == UserSearchMode.PREFIX ? escaped + "%" : "%" + escaped + "%";
+        return userRepository.searchByUsername(pattern, term, limit);
+    }
+
+    // The term is matched literally; usernames may contain '_', a LIKE wildcard
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,51 @@
+package com.dailytask.service.search;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Trigram similarity computed the way PostgreSQL's pg_trgm does, so the
+ * in-memory search ranks like the database: each run of letters and digits is
+ * lowercased and padded with two spaces in front and one behind, and the
+ * similarity is the share of distinct trigrams the two strings have in common.
+ */
+final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    static float similarity(String a, String b) {
+        Set<String> first = of(a);
+        Set<String> second = of(b);
+        if (first.isEmpty() || second.isEmpty()) {
+            return 0f;
+        }
+        int common = 0;
+        for (String trigram : first) {
+            if (second.contains(trigram)) {
+                common++;
+            }
+        }
+        return (float) common / (first.size() + second.size() - common);
+    }
+
+    static Set<String> of(String text) {
+        Set<String> trigrams = new HashSet<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String padded = "  " + lower.substring(start, i) + " ";
+                for (int j = 0; j + 3 <= padded.length(); j++) {
+                    trigrams.add(padded.substring(j, j + 3));
+                }
+                start = -1;
+            }
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,21 @@
+package com.dailytask.service.search;
+
+import java.util.Locale;
+
+public enum UserSearchMode {
+    /** The term appears anywhere in the username. */
+    CONTAINS,
+    /** The username starts with the term. */
+    PREFIX;
+
+    public static UserSearchMode fromParameter(String value) {
+        if (value == null) {
+            return CONTAINS;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Search mode must be 'contains' or 'prefix'");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.dailytask.service.search;
+
+import com.dailytask.entity.User;
+
+import java.util.List;
+
+/**
+ * Finds users by part of their username. Results are ranked the same way by
+ * every implementation: an exact match first, then names starting with the
+ * term, then by trigram similarity to the term, then alphabetically.
+ */
+public interface UsernameSearch {
+
+    /**
+     * @param term  lowercased search term, not blank
+     * @param limit most users to return
+     */
+    List<User> search(String term, UserSearchMode mode, int limit);
+
+    /** Called when a user is created, for implementations that keep their own index. */
+    default void userCreated(Long id, String username) {
+    }
+
+    /** Called when a user is deleted, for implementations that keep their own index. */
+    default void userDeleted(Long id) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.dailytask.service.search;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Character trie over every suffix of every lowercased username. The node a
+ * term leads to covers each name containing the term; the names starting
+ * with it are marked separately. Nodes grow with the square of the name
+ * length, which is fine for test data but is why PostgreSQL uses trigrams.
+ * Not thread-safe.
+ */
+final class UsernameTrie {
+
+    private final Node root = new Node();
+    private final Map<Long, String> usernames = new HashMap<>();
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        /** Users with a suffix ending at this node. */
+        private final Set<Long> suffixes = new HashSet<>();
+        /** Users whose whole name ends at this node. */
+        private final Set<Long> names = new HashSet<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && suffixes.isEmpty();
+        }
+    }
+
+    void add(Long id, String username) {
+        remove(id);
+        String name = username.toLowerCase(Locale.ROOT);
+        usernames.put(id, name);
+        for (int start = 0; start < name.length(); start++) {
+            Node node = root;
+            for (int i = start; i < name.length(); i++) {
+                node = node.children.computeIfAbsent(name.charAt(i), c -> new Node());
+            }
+            node.suffixes.add(id);
+            if (start == 0) {
+                node.names.add(id);
+            }
+        }
+    }
+
+    void remove(Long id) {
+        String name = usernames.remove(id);
+        if (name == null) {
+            return;
+        }
+        for (int start = 0; start < name.length(); start++) {
+            remove(root, name, start, id);
+        }
+    }
+
+    // Returns whether the child at name[index] was left empty, so the parent can prune it
+    private static boolean remove(Node node, String name, int index, Long id) {
+        if (index == name.length()) {
+            node.suffixes.remove(id);
+            node.names.remove(id);
+            return node.isEmpty();
+        }
+        Node child = node.children.get(name.charAt(index));
+        if (child != null && remove(child, name, index + 1, id)) {
+            node.children.remove(name.charAt(index));
+        }
+        return node.isEmpty();
+    }
+
+    /** Ids of the users matching the lowercased term, in no particular order. */
+    Set<Long> find(String term, UserSearchMode mode) {
+        Node node = root;
+        for (int i = 0; i < term.length() && node != null; i++) {
+            node = node.children.get(term.charAt(i));
+        }
+        Set<Long> ids = new HashSet<>();
+        if (node != null) {
+            collect(node, mode == UserSearchMode.PREFIX, ids);
+        }
+        return ids;
+    }
+
+    private static void collect(Node node, boolean namesOnly, Set<Long> ids) {
+        ids.addAll(namesOnly ? node.names : node.suffixes);
+        for (Node child : node.children.values()) {
+            collect(child, namesOnly, ids);
+        }
+    }
+
+    /** The lowercased name of an indexed user. */
+    String username(Long id) {
+        return usernames.get(id);
+    }
+}
@@ -0,0 +1,159 @@
+package com.dailytask.service.summary;
+
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.EnergyTotalsRepository;
+import com.dailytask.repository.MonthlyEnergySummaryRepository;
+import com.dailytask.repository.projection.DayActivity;
+import com.dailytask.repository.projection.EnergySums;
+import com.dailytask.repository.projection.RefreshedDay;
+import com.dailytask.service.cache.ActivityBitmapCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code daily_summaries} in step with the rows it rolls up. Write paths
+ * call {@link #refresh} with every day they touched, inside their own
+ * transaction, so a summary commits or rolls back together with the change.
+ * <p>
+ * Each day is locked first and recomputed from the source tables in a second
+ * statement. Recomputing rather than applying deltas keeps the rows correct
+ * whatever the write was, and the lock makes concurrent writers to the same
+ * day refresh one after the other, each seeing the other's committed rows.
+ * <p>
+ * Writes that change an energy level or rating call {@link #refreshEnergy}
+ * instead, which additionally adds what the refresh changed in each day's
+ * level and rating to the user's {@code energy_totals} row and the touched
+ * months of {@code monthly_energy_summaries}. Those rows are sums over many
+ * days, so unlike a day they are adjusted rather than recomputed: the day
+ * locks make each day's old and new values exact, and additions from
+ * concurrent writers commute. {@link #rebuild} still recomputes them.
+ * Streak runs and the cached activity bitmaps are adjusted after every
+ * refresh, from the rows the refresh returned.
+ * <p>
+ * Task toggles move their day's count in the toggling statement itself and
+ * only report the result through {@link #toggled}.
+ */
+@Component
+public class DailySummaryMaintainer {
+
+    private final DailySummaryRepository dailySummaryRepository;
+    private final MonthlyEnergySummaryRepository monthlyEnergySummaryRepository;
+    private final EnergyTotalsRepository energyTotalsRepository;
+    private final StreakMaintainer streakMaintainer;
+    private final ActivityBitmapCache activityBitmapCache;
+
+    public DailySummaryMaintainer(DailySummaryRepository dailySummaryRepository,
+                                  MonthlyEnergySummaryRepository monthlyEnergySummaryRepository,
+                                  EnergyTotalsRepository energyTotalsRepository, StreakMaintainer streakMaintainer,
+                                  ActivityBitmapCache activityBitmapCache) {
+        this.dailySummaryRepository = dailySummaryRepository;
+        this.monthlyEnergySummaryRepository = monthlyEnergySummaryRepository;
+        this.energyTotalsRepository = energyTotalsRepository;
+        this.streakMaintainer = streakMaintainer;
+        this.activityBitmapCache = activityBitmapCache;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(Long userId, LocalDate date) {
+        refresh(userId, List.of(date));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(Long userId, Collection<LocalDate> dates) {
+        refreshActivity(userId, dates);
+    }
+
+    /**
+     * Takes over after a toggle already applied its change to the day's summary
+     * row. A toggle never changes how many tasks a day has, so streaks stay as
+     * they are and only the cached bitmap is patched.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void toggled(Long userId, DayActivity day) {
+        activityBitmapCache.updateOnCommit(userId, List.of(day));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refreshEnergy(Long userId, LocalDate date) {
+        refreshEnergy(userId, List.of(date));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refreshEnergy(Long userId, Collection<LocalDate> dates) {
+        addEnergyChanges(userId, refreshActivity(userId, dates));
+    }
+
+    /**
+     * Re-derives the given days and everything built on them, replacing the
+     * user's streak runs wholesale. Locks are taken in the same order as on
+     * the write paths: days, streaks, energy totals.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebuild(Long userId, Collection<LocalDate> dates) {
+        refreshDays(userId, dates);
+        streakMaintainer.rebuild(userId);
+        activityBitmapCache.invalidateOnCommit(userId);
+        refreshEnergyAggregates(userId, dates);
+    }
+
+    private List<RefreshedDay> refreshActivity(Long userId, Collection<LocalDate> dates) {
+        List<RefreshedDay> days = refreshDays(userId, dates);
+        if (days.isEmpty()) {
+            return days;
+        }
+        List<DayActivity> activity = days.stream().map(RefreshedDay::dayActivity).toList();
+        streakMaintainer.update(userId, activity);
+        activityBitmapCache.updateOnCommit(userId, activity);
+        return days;
+    }
+
+    private List<RefreshedDay> refreshDays(Long userId, Collection<LocalDate> dates) {
+        // Sorted, so rows are always locked in ascending date order
+        LocalDate[] days = dates.stream().distinct().sorted().toArray(LocalDate[]::new);
+        if (days.length == 0) {
+            return List.of();
+        }
+        dailySummaryRepository.lockDays(userId, days);
+        return dailySummaryRepository.refreshDays(userId, days);
+    }
+
+    private void addEnergyChanges(Long userId, List<RefreshedDay> days) {
+        Map<LocalDate, EnergySums> changeByMonth = new TreeMap<>();
+        for (RefreshedDay day : days) {
+            EnergySums change = day.energyChange();
+            if (!change.equals(EnergySums.EMPTY)) {
+                changeByMonth.merge(day.getDate().withDayOfMonth(1), change, EnergySums::plus);
+            }
+        }
+        if (changeByMonth.isEmpty()) {
+            return;
+        }
+
+        EnergySums total = changeByMonth.values().stream().reduce(EnergySums.EMPTY, EnergySums::plus);
+        energyTotalsRepository.addToTotals(userId, total.energyLevelSum(), total.energyLevelCount(),
+            total.energyRatingSum(), total.energyRatingCount());
+        List<EnergySums> changes = List.copyOf(changeByMonth.values());
+        monthlyEnergySummaryRepository.addToMonths(userId, changeByMonth.keySet().toArray(LocalDate[]::new),
+            changes.stream().map(EnergySums::energyLevelSum).toArray(Long[]::new),
+            changes.stream().map(EnergySums::energyLevelCount).toArray(Long[]::new),
+            changes.stream().map(EnergySums::energyRatingSum).toArray(Long[]::new),
+            changes.stream().map(EnergySums::energyRatingCount).toArray(Long[]::new));
+    }
+
+    private void refreshEnergyAggregates(Long userId, Collection<LocalDate> dates) {
+        LocalDate[] months = dates.stream().map(date -> date.withDayOfMonth(1)).distinct().sorted().toArray(LocalDate[]::new);
+        if (months.length == 0) {
+            return;
+        }
+        energyTotalsRepository.lockUser(userId);
+        monthlyEnergySummaryRepository.refreshMonths(userId, months);
+        energyTotalsRepository.refreshTotals(userId);
+    }
+}
@@ -0,0 +1,43 @@
+package com.dailytask.service.summary;
+
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.UserRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Re-derives every summary row, and the streaks and energy aggregates built
+ * on them, from the source tables, for backfills after bulk imports or manual
+ * SQL fixes. It takes the same locks as regular writes, one transaction per
+ * user, so it is safe to run while the application serves traffic. Disabled
+ * unless {@code app.daily-summaries.rebuild-cron} is set.
+ */
+@Component
+public class DailySummaryRebuildJob {
+
+    private final UserRepository userRepository;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final DailySummaryMaintainer dailySummaryMaintainer;
+    private final TransactionTemplate transactionTemplate;
+
+    public DailySummaryRebuildJob(UserRepository userRepository, DailySummaryRepository dailySummaryRepository,
+                                  DailySummaryMaintainer dailySummaryMaintainer, TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.dailySummaryRepository = dailySummaryRepository;
+        this.dailySummaryMaintainer = dailySummaryMaintainer;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(cron = "${app.daily-summaries.rebuild-cron:-}")
+    public void rebuildAll() {
+        for (Long userId : userRepository.findAllIds()) {
+            rebuild(userId);
+        }
+    }
+
+    public void rebuild(Long userId) {
+        transactionTemplate.executeWithoutResult(status ->
+            dailySummaryMaintainer.rebuild(userId, dailySummaryRepository.findSummarizedDatesByUserId(userId)));
+    }
+}
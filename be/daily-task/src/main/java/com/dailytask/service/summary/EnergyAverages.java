@@ -0,0 +1,61 @@
+package com.dailytask.service.summary;
+
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.EnergyTotalsRepository;
+import com.dailytask.repository.MonthlyEnergySummaryRepository;
+import com.dailytask.repository.projection.EnergySums;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Answers energy averages from the aggregates kept by
+ * {@link DailySummaryMaintainer#refreshEnergy}. All-time averages read one
+ * row; a date range adds up the buckets of the months it fully covers and the
+ * daily rows of the partial months at either end, at most about two months of
+ * days whatever the length of the range.
+ */
+@Component
+public class EnergyAverages {
+
+    private final EnergyTotalsRepository energyTotalsRepository;
+    private final MonthlyEnergySummaryRepository monthlyEnergySummaryRepository;
+    private final DailySummaryRepository dailySummaryRepository;
+
+    public EnergyAverages(EnergyTotalsRepository energyTotalsRepository,
+                          MonthlyEnergySummaryRepository monthlyEnergySummaryRepository,
+                          DailySummaryRepository dailySummaryRepository) {
+        this.energyTotalsRepository = energyTotalsRepository;
+        this.monthlyEnergySummaryRepository = monthlyEnergySummaryRepository;
+        this.dailySummaryRepository = dailySummaryRepository;
+    }
+
+    public EnergySums sums(Long userId) {
+        return energyTotalsRepository.findSumsByUserId(userId).orElse(EnergySums.EMPTY);
+    }
+
+    public EnergySums sums(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return EnergySums.EMPTY;
+        }
+
+        // First day of the first month starting inside the range, and first day after the last month ending inside it
+        LocalDate firstFullMonth = startDate.getDayOfMonth() == 1 ? startDate : startDate.plusMonths(1).withDayOfMonth(1);
+        LocalDate afterLastFullMonth = endDate.plusDays(1).getDayOfMonth() == 1 ? endDate.plusDays(1) : endDate.withDayOfMonth(1);
+
+        if (!firstFullMonth.isBefore(afterLastFullMonth)) {
+            // No whole month inside the range: read its days directly, leaving the second range empty
+            return dailySummaryRepository.findEnergySumsByUserIdAndDateBetweenEither(
+                userId, startDate, endDate, endDate.plusDays(1), endDate);
+        }
+
+        EnergySums months = monthlyEnergySummaryRepository.findSumsByUserIdAndMonthBetween(
+            userId, firstFullMonth, afterLastFullMonth.minusMonths(1));
+        if (startDate.equals(firstFullMonth) && endDate.plusDays(1).equals(afterLastFullMonth)) {
+            return months;
+        }
+        EnergySums edges = dailySummaryRepository.findEnergySumsByUserIdAndDateBetweenEither(
+            userId, startDate, firstFullMonth.minusDays(1), afterLastFullMonth, endDate);
+        return months.plus(edges);
+    }
+}
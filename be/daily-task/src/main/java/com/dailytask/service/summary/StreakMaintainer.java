@@ -0,0 +1,132 @@
+package com.dailytask.service.summary;
+
+import com.dailytask.entity.ActivityKind;
+import com.dailytask.repository.ActivityRunRepository;
+import com.dailytask.repository.ActivityStreakRepository;
+import com.dailytask.repository.projection.ActivitySpan;
+import com.dailytask.repository.projection.DayActivity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps {@code activity_runs} and the longest run in {@code activity_streaks}
+ * in step with the days {@link DailySummaryMaintainer} just refreshed.
+ * <p>
+ * A day that became active joins or bridges its neighbouring runs, a day that
+ * became inactive trims or splits the run it was in; nothing is recomputed
+ * from the day rows, so the cost does not grow with the length of a streak.
+ * Days whose activity did not change, such as most toggles and edits, take no
+ * lock at all. {@link #rebuild} re-derives everything with a window function.
+ */
+@Component
+public class StreakMaintainer {
+
+    private final ActivityRunRepository activityRunRepository;
+    private final ActivityStreakRepository activityStreakRepository;
+
+    public StreakMaintainer(ActivityRunRepository activityRunRepository, ActivityStreakRepository activityStreakRepository) {
+        this.activityRunRepository = activityRunRepository;
+        this.activityStreakRepository = activityStreakRepository;
+    }
+
+    /**
+     * @param activity the refreshed days, sorted by date; their summary rows are locked by the caller
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void update(Long userId, List<DayActivity> activity) {
+        // Every run containing one of the days; kept in step below, so later days see the runs earlier ones changed
+        List<ActivitySpan> runs = new ArrayList<>(activityRunRepository.findSpansByUserIdContainingAny(
+            userId, activity.stream().map(DayActivity::date).toList()));
+
+        // Only the caller changes whether these days are active, and it holds their locks, so a day that
+        // agrees with the runs here still agrees once other writers commit; kinds are locked in enum order
+        for (ActivityKind kind : ActivityKind.values()) {
+            List<DayActivity> flipped = activity.stream()
+                .filter(day -> day.isActive(kind) != covering(runs, kind, day.date()).isPresent())
+                .toList();
+            if (flipped.isEmpty()) {
+                continue;
+            }
+            activityStreakRepository.lock(userId, kind.name());
+            for (DayActivity day : flipped) {
+                if (day.isActive(kind)) {
+                    markActive(userId, kind, day.date(), runs);
+                } else {
+                    markInactive(userId, kind, day.date(), runs);
+                }
+            }
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebuild(Long userId) {
+        for (ActivityKind kind : ActivityKind.values()) {
+            activityStreakRepository.lock(userId, kind.name());
+        }
+        activityRunRepository.deleteByUserId(userId);
+        activityRunRepository.insertRunsFromDailySummaries(userId);
+        for (ActivityKind kind : ActivityKind.values()) {
+            activityStreakRepository.refreshLongest(userId, kind.name());
+        }
+    }
+
+    private void markActive(Long userId, ActivityKind kind, LocalDate date, List<ActivitySpan> runs) {
+        List<ActivitySpan> neighbours = activityRunRepository.findNeighbourSpansByUserIdAndKind(
+            userId, kind, date.minusDays(1), date.plusDays(1));
+        Optional<ActivitySpan> before = neighbours.stream().filter(run -> run.endDate().equals(date.minusDays(1))).findFirst();
+        Optional<ActivitySpan> after = neighbours.stream().filter(run -> run.startDate().equals(date.plusDays(1))).findFirst();
+
+        ActivitySpan run;
+        if (before.isPresent() && after.isPresent()) {
+            activityRunRepository.deleteRun(userId, kind.name(), after.get().startDate());
+            activityRunRepository.updateEndDate(userId, kind.name(), before.get().startDate(), after.get().endDate());
+            run = new ActivitySpan(kind, before.get().startDate(), after.get().endDate());
+        } else if (before.isPresent()) {
+            activityRunRepository.updateEndDate(userId, kind.name(), before.get().startDate(), date);
+            run = new ActivitySpan(kind, before.get().startDate(), date);
+        } else if (after.isPresent()) {
+            activityRunRepository.updateStartDate(userId, kind.name(), after.get().startDate(), date);
+            run = new ActivitySpan(kind, date, after.get().endDate());
+        } else {
+            activityRunRepository.insertRun(userId, kind.name(), date, date);
+            run = new ActivitySpan(kind, date, date);
+        }
+        runs.removeAll(neighbours);
+        runs.add(run);
+
+        // Stored only if it beats the longest run
+        activityStreakRepository.updateLongest(userId, kind.name(), run.startDate(), run.endDate());
+    }
+
+    private void markInactive(Long userId, ActivityKind kind, LocalDate date, List<ActivitySpan> runs) {
+        ActivitySpan run = covering(runs, kind, date).orElseThrow();
+        runs.remove(run);
+        if (run.startDate().equals(run.endDate())) {
+            activityRunRepository.deleteRun(userId, kind.name(), run.startDate());
+        } else if (run.startDate().equals(date)) {
+            activityRunRepository.updateStartDate(userId, kind.name(), date, date.plusDays(1));
+            runs.add(new ActivitySpan(kind, date.plusDays(1), run.endDate()));
+        } else if (run.endDate().equals(date)) {
+            activityRunRepository.updateEndDate(userId, kind.name(), run.startDate(), date.minusDays(1));
+            runs.add(new ActivitySpan(kind, run.startDate(), date.minusDays(1)));
+        } else {
+            activityRunRepository.updateEndDate(userId, kind.name(), run.startDate(), date.minusDays(1));
+            activityRunRepository.insertRun(userId, kind.name(), date.plusDays(1), run.endDate());
+            runs.add(new ActivitySpan(kind, run.startDate(), date.minusDays(1)));
+            runs.add(new ActivitySpan(kind, date.plusDays(1), run.endDate()));
+        }
+
+        // The stored longest run is always one of the runs; only when it was the one cut does it need finding again
+        activityStreakRepository.refreshLongestContaining(userId, kind.name(), date);
+    }
+
+    private static Optional<ActivitySpan> covering(List<ActivitySpan> runs, ActivityKind kind, LocalDate date) {
+        return runs.stream().filter(run -> run.kind() == kind && run.contains(date)).findFirst();
+    }
+}
@@ -5,13 +5,21 @@ import com.dailytask.exception.BusinessRuleViolationException;
 import com.dailytask.repository.TaskRepository;
 import com.dailytask.repository.ReflectionRepository;
 import com.dailytask.repository.EnergyAssessmentRepository;
+import com.dailytask.repository.projection.DateCount;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class BusinessValidationService {
 
+    private static final int MAX_TASKS_PER_DAY = 50;
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int EARLIEST_HEATMAP_YEAR = 1900;
+
     private final TaskRepository taskRepository;
     private final ReflectionRepository reflectionRepository;
     private final EnergyAssessmentRepository energyAssessmentRepository;
@@ -24,12 +32,34 @@ public class BusinessValidationService {
         this.energyAssessmentRepository = energyAssessmentRepository;
     }
 
-    public void validateTaskCreation(User user, LocalDate date) {
+    public void validateTaskCreation(Long userId, LocalDate date) {
         // Check if user has too many tasks for a single day
-        long taskCount = taskRepository.countByUserAndDate(user, date);
-        if (taskCount >= 50) {
+        long taskCount = taskRepository.countByUserIdAndDate(userId, date);
+        if (taskCount >= MAX_TASKS_PER_DAY) {
             throw new BusinessRuleViolationException(
-                "Cannot create more than 50 tasks per day. Current count: " + taskCount);
+                "Cannot create more than " + MAX_TASKS_PER_DAY + " tasks per day. Current count: " + taskCount);
+        }
+    }
+
+    public void validateBulkTaskCreation(Long userId, Map<LocalDate, Long> taskCountChangeByDate) {
+        // Only dates that gain tasks can break the daily cap; count them all in one query
+        List<LocalDate> growingDates = taskCountChangeByDate.entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .map(Map.Entry::getKey)
+            .toList();
+        if (growingDates.isEmpty()) {
+            return;
+        }
+
+        Map<LocalDate, Long> currentCounts = taskRepository.countByUserIdAndDateInGroupByDate(userId, growingDates).stream()
+            .collect(Collectors.toMap(DateCount::date, DateCount::count));
+        for (LocalDate date : growingDates) {
+            long resultingCount = currentCounts.getOrDefault(date, 0L) + taskCountChangeByDate.get(date);
+            if (resultingCount > MAX_TASKS_PER_DAY) {
+                throw new BusinessRuleViolationException(
+                    "Cannot create more than " + MAX_TASKS_PER_DAY + " tasks per day. Date " + date
+                        + " would have " + resultingCount + " tasks");
+            }
         }
     }
 
@@ -93,4 +123,41 @@ public class BusinessValidationService {
                 "Date range cannot exceed 365 days. Current range: " + daysBetween + " days");
         }
     }
+
+    // Calendars read the cached activity bitmaps, so unlike other range queries they may reach any year;
+    // only the size of the response is capped, at one leap year of days
+    public void validateCalendarRange(LocalDate startDate, LocalDate endDate) {
+        validateDaySpan(startDate, endDate, "Calendar range");
+    }
+
+    // Daily data for a range is three indexed range reads whatever the year, so it too is only capped in size
+    public void validateDailyDataRange(LocalDate startDate, LocalDate endDate) {
+        validateDaySpan(startDate, endDate, "Daily data range");
+    }
+
+    private static void validateDaySpan(LocalDate startDate, LocalDate endDate, String rangeName) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+
+        long days = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new BusinessRuleViolationException(
+                rangeName + " cannot exceed " + MAX_RANGE_DAYS + " days. Current range: " + days + " days");
+        }
+    }
+
+    // A heatmap is always one year of daily summary rows, so only the year itself needs a sane bound;
+    // next year stays open for tasks planned ahead
+    public void validateHeatmapYear(int year) {
+        int latestYear = LocalDate.now().getYear() + 1;
+        if (year < EARLIEST_HEATMAP_YEAR || year > latestYear) {
+            throw new IllegalArgumentException(
+                "Year must be between " + EARLIEST_HEATMAP_YEAR + " and " + latestYear);
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,57 @@
+-- Streaks of consecutive active days, per user and kind of activity (a day
+-- with tasks, with a reflection, or with an energy assessment). Each row of
+-- activity_runs is one maximal run of active days; adjacent runs are always
+-- merged, so the current streak is a single indexed lookup. activity_streaks
+-- holds the longest run per user and kind and serializes run updates.
+CREATE TABLE activity_runs (
+    user_id BIGINT NOT NULL,
+    kind VARCHAR(20) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    CONSTRAINT pk_activity_runs PRIMARY KEY (user_id, kind, start_date),
+    CONSTRAINT fk_activity_runs_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT chk_activity_runs_dates CHECK (end_date >= start_date)
+);
+
+CREATE INDEX idx_activity_runs_user_kind_end_date ON activity_runs(user_id, kind, end_date);
+
+CREATE TABLE activity_streaks (
+    user_id BIGINT NOT NULL,
+    kind VARCHAR(20) NOT NULL,
+    longest_start DATE,
+    longest_end DATE,
+    CONSTRAINT pk_activity_streaks PRIMARY KEY (user_id, kind),
+    CONSTRAINT fk_activity_streaks_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Backfill: consecutive active days share the same date minus row number
+INSERT INTO activity_runs (user_id, kind, start_date, end_date)
+SELECT user_id, kind, MIN(date), MAX(date)
+FROM (
+    SELECT s.user_id, k.kind, s.date,
+           s.date - CAST(ROW_NUMBER() OVER (PARTITION BY s.user_id, k.kind ORDER BY s.date) AS INTEGER) AS island
+    FROM daily_summaries s
+    CROSS JOIN LATERAL (VALUES
+        ('TASKS', s.total_tasks > 0),
+        ('REFLECTIONS', s.energy_rating IS NOT NULL),
+        ('ENERGY_ASSESSMENTS', s.energy_level IS NOT NULL)) AS k(kind, active)
+    WHERE k.active
+) d
+GROUP BY user_id, kind, island;
+
+INSERT INTO activity_streaks (user_id, kind, longest_start, longest_end)
+SELECT DISTINCT ON (user_id, kind) user_id, kind, start_date, end_date
+FROM activity_runs
+ORDER BY user_id, kind, end_date - start_date DESC, end_date DESC;
+
+-- Add comments
+COMMENT ON TABLE activity_runs IS 'Maximal runs of consecutive active days per user and activity kind, maintained on write';
+COMMENT ON COLUMN activity_runs.user_id IS 'Foreign key to users table';
+COMMENT ON COLUMN activity_runs.kind IS 'TASKS, REFLECTIONS or ENERGY_ASSESSMENTS';
+COMMENT ON COLUMN activity_runs.start_date IS 'First active day of the run';
+COMMENT ON COLUMN activity_runs.end_date IS 'Last active day of the run';
+COMMENT ON TABLE activity_streaks IS 'Longest run per user and activity kind; its row lock serializes run updates';
+COMMENT ON COLUMN activity_streaks.user_id IS 'Foreign key to users table';
+COMMENT ON COLUMN activity_streaks.kind IS 'TASKS, REFLECTIONS or ENERGY_ASSESSMENTS';
+COMMENT ON COLUMN activity_streaks.longest_start IS 'First day of the longest run, most recent on ties';
+COMMENT ON COLUMN activity_streaks.longest_end IS 'Last day of the longest run';
@@ -0,0 +1,22 @@
+-- Full-text search over a user's own tasks and reflections. The vectors are
+-- stored generated columns, so every write path (JPA, native updates, COPY)
+-- keeps them current without the application mapping them. Titles weigh more
+-- than descriptions; reflection text is weighted like a description.
+-- Adding the columns rewrites both tables once.
+ALTER TABLE tasks ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+) STORED;
+
+ALTER TABLE reflections ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(reflection_text, '')), 'B')
+) STORED;
+
+-- Searches always filter by user as well; the planner combines these with
+-- idx_tasks_user_date and idx_reflections_user_date
+CREATE INDEX idx_tasks_search_vector ON tasks USING GIN (search_vector);
+CREATE INDEX idx_reflections_search_vector ON reflections USING GIN (search_vector);
+
+-- Add comments
+COMMENT ON COLUMN tasks.search_vector IS 'Title (weight A) and description (weight B) for full-text search, generated';
+COMMENT ON COLUMN reflections.search_vector IS 'Reflection text (weight B) for full-text search, generated';
@@ -0,0 +1,8 @@
+-- User search matches lower(username) anywhere in the name, or at its start.
+-- A plain btree on username serves neither: '%term%' needs trigrams, and a
+-- prefix LIKE only uses a btree whose operator class compares by character.
+-- pg_trgm is a trusted extension, so the schema owner can create it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_users_username_trgm ON users USING GIN (lower(username) gin_trgm_ops);
+CREATE INDEX idx_users_username_prefix ON users (lower(username) text_pattern_ops);
@@ -0,0 +1,4 @@
+-- Hand out task ids in blocks of 50 so Hibernate can batch inserts.
+-- Must match allocationSize on Task.id; nextval() from plain SQL inserts still
+-- returns the top of a fresh block, which Hibernate never hands out.
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
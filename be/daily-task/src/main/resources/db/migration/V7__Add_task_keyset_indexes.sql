@@ -0,0 +1,15 @@
+-- Composite indexes matching the keyset-paginated task listings, so each page
+-- is a single index range scan starting right after the cursor row.
+
+-- All tasks: date DESC, created_at DESC, id DESC
+CREATE INDEX idx_tasks_user_date_created_id ON tasks(user_id, date DESC, created_at DESC, id DESC);
+
+-- Starred tasks: same order, starred rows only
+CREATE INDEX idx_tasks_user_starred_keyset ON tasks(user_id, date DESC, created_at DESC, id DESC) WHERE starred;
+
+-- Incomplete tasks: date ASC, starred DESC, created_at ASC, id ASC
+CREATE INDEX idx_tasks_user_incomplete_keyset ON tasks(user_id, date, starred DESC, created_at, id) WHERE NOT completed;
+
+-- Superseded by the partial indexes above
+DROP INDEX IF EXISTS idx_tasks_user_starred;
+DROP INDEX IF EXISTS idx_tasks_user_completed;
@@ -0,0 +1,44 @@
+-- One narrow row per user and day holding the counts and energy values that
+-- calendar, stats and range views need, so they do not scan tasks.
+-- Rows are refreshed in the same transaction as every task, reflection and
+-- energy assessment write; DailySummaryRebuildJob re-derives them on demand.
+CREATE TABLE daily_summaries (
+    user_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    total_tasks INTEGER NOT NULL DEFAULT 0,
+    completed_tasks INTEGER NOT NULL DEFAULT 0,
+    starred_tasks INTEGER NOT NULL DEFAULT 0,
+    energy_level INTEGER,
+    energy_rating INTEGER,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_daily_summaries PRIMARY KEY (user_id, date),
+    CONSTRAINT fk_daily_summaries_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Backfill every day that already has a task, reflection or energy assessment
+INSERT INTO daily_summaries (user_id, date, total_tasks, completed_tasks, starred_tasks, energy_level, energy_rating)
+SELECT d.user_id,
+       d.date,
+       (SELECT COUNT(*) FROM tasks t WHERE t.user_id = d.user_id AND t.date = d.date),
+       (SELECT COUNT(*) FROM tasks t WHERE t.user_id = d.user_id AND t.date = d.date AND t.completed),
+       (SELECT COUNT(*) FROM tasks t WHERE t.user_id = d.user_id AND t.date = d.date AND t.starred),
+       (SELECT ea.energy_level FROM energy_assessments ea WHERE ea.user_id = d.user_id AND ea.date = d.date),
+       (SELECT r.energy_rating FROM reflections r WHERE r.user_id = d.user_id AND r.date = d.date)
+FROM (
+    SELECT user_id, date FROM tasks
+    UNION
+    SELECT user_id, date FROM reflections
+    UNION
+    SELECT user_id, date FROM energy_assessments
+) d;
+
+-- Add comments
+COMMENT ON TABLE daily_summaries IS 'Per-day task counts and energy values, maintained on write';
+COMMENT ON COLUMN daily_summaries.user_id IS 'Foreign key to users table';
+COMMENT ON COLUMN daily_summaries.date IS 'Summarized date';
+COMMENT ON COLUMN daily_summaries.total_tasks IS 'Number of tasks on the date';
+COMMENT ON COLUMN daily_summaries.completed_tasks IS 'Number of completed tasks on the date';
+COMMENT ON COLUMN daily_summaries.starred_tasks IS 'Number of starred tasks on the date';
+COMMENT ON COLUMN daily_summaries.energy_level IS 'Energy level of the day''s assessment, if any';
+COMMENT ON COLUMN daily_summaries.energy_rating IS 'Energy rating of the day''s reflection, if any';
+COMMENT ON COLUMN daily_summaries.version IS 'Incremented on every refresh of the row';
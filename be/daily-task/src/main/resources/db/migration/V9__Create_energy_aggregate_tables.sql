@@ -0,0 +1,56 @@
+-- Running sums and counts of energy levels and ratings, per user and month and
+-- per user overall, so averages are read from a handful of rows instead of an
+-- AVG() over every assessment and reflection. Both tables are re-derived from
+-- daily_summaries whenever an energy assessment or reflection is written.
+CREATE TABLE monthly_energy_summaries (
+    user_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    energy_level_sum BIGINT NOT NULL DEFAULT 0,
+    energy_level_count INTEGER NOT NULL DEFAULT 0,
+    energy_rating_sum BIGINT NOT NULL DEFAULT 0,
+    energy_rating_count INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT pk_monthly_energy_summaries PRIMARY KEY (user_id, month),
+    CONSTRAINT fk_monthly_energy_summaries_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT chk_monthly_energy_summaries_month CHECK (EXTRACT(DAY FROM month) = 1)
+);
+
+CREATE TABLE energy_totals (
+    user_id BIGINT NOT NULL,
+    energy_level_sum BIGINT NOT NULL DEFAULT 0,
+    energy_level_count INTEGER NOT NULL DEFAULT 0,
+    energy_rating_sum BIGINT NOT NULL DEFAULT 0,
+    energy_rating_count INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT pk_energy_totals PRIMARY KEY (user_id),
+    CONSTRAINT fk_energy_totals_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Backfill from the daily summaries created in V8
+INSERT INTO monthly_energy_summaries (user_id, month, energy_level_sum, energy_level_count, energy_rating_sum, energy_rating_count)
+SELECT user_id,
+       CAST(date_trunc('month', date) AS DATE),
+       COALESCE(SUM(energy_level), 0),
+       COUNT(energy_level),
+       COALESCE(SUM(energy_rating), 0),
+       COUNT(energy_rating)
+FROM daily_summaries
+GROUP BY user_id, CAST(date_trunc('month', date) AS DATE);
+
+INSERT INTO energy_totals (user_id, energy_level_sum, energy_level_count, energy_rating_sum, energy_rating_count)
+SELECT user_id, SUM(energy_level_sum), SUM(energy_level_count), SUM(energy_rating_sum), SUM(energy_rating_count)
+FROM monthly_energy_summaries
+GROUP BY user_id;
+
+-- Add comments
+COMMENT ON TABLE monthly_energy_summaries IS 'Per-month energy level and rating sums, maintained on write';
+COMMENT ON COLUMN monthly_energy_summaries.user_id IS 'Foreign key to users table';
+COMMENT ON COLUMN monthly_energy_summaries.month IS 'First day of the summarized month';
+COMMENT ON COLUMN monthly_energy_summaries.energy_level_sum IS 'Sum of energy levels assessed in the month';
+COMMENT ON COLUMN monthly_energy_summaries.energy_level_count IS 'Number of energy assessments in the month';
+COMMENT ON COLUMN monthly_energy_summaries.energy_rating_sum IS 'Sum of reflection energy ratings in the month';
+COMMENT ON COLUMN monthly_energy_summaries.energy_rating_count IS 'Number of reflections in the month';
+COMMENT ON TABLE energy_totals IS 'All-time energy level and rating sums per user, maintained on write';
+COMMENT ON COLUMN energy_totals.user_id IS 'Foreign key to users table';
+COMMENT ON COLUMN energy_totals.energy_level_sum IS 'Sum of all energy levels assessed';
+COMMENT ON COLUMN energy_totals.energy_level_count IS 'Number of energy assessments';
+COMMENT ON COLUMN energy_totals.energy_rating_sum IS 'Sum of all reflection energy ratings';
+COMMENT ON COLUMN energy_totals.energy_rating_count IS 'Number of reflections';
@@ -0,0 +1,66 @@
+package com.dailytask.controller;
+
+import com.dailytask.metrics.QueryBudgetProperties;
+import com.dailytask.metrics.RequestMetricsFilter;
+import com.dailytask.metrics.SqlStatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestMetricsFilterTest {
+
+    private static final String DAILY_DATA = "/api/users/{username}/daily-data";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void doFilter_ShouldRecordStatementsPerEndpointAndSendServerTiming() throws Exception {
+        RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry,
+            new QueryBudgetProperties(Map.of("get", Map.of(DAILY_DATA, 3)), null, true));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(get(), response, handler(2));
+
+        DistributionSummary statements = meterRegistry.get("http.server.requests.sql.statements")
+            .tag("method", "GET").tag("uri", DAILY_DATA).summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(response.getHeader("Server-Timing")).startsWith("sql;desc=\"2 statements\";dur=");
+        assertThat(SqlStatementStats.current()).isNull();
+    }
+
+    @Test
+    void doFilter_ShouldThrow_WhenBudgetExceededInFailMode() {
+        RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry,
+            new QueryBudgetProperties(Map.of("GET", Map.of(DAILY_DATA, 3)), QueryBudgetProperties.BudgetMode.FAIL, false));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> filter.doFilter(get(), response, handler(4)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("GET " + DAILY_DATA + " executed 4 SQL statements, over its budget of 3");
+        assertThat(response.getHeader("Server-Timing")).isNull();
+    }
+
+    private MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/users/alice/daily-data");
+    }
+
+    private FilterChain handler(int statements) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, DAILY_DATA);
+            for (int i = 0; i < statements; i++) {
+                SqlStatementStats.current().record(1_000_000);
+            }
+            response.getOutputStream().write("{}".getBytes());
+        };
+    }
+}
@@ -0,0 +1,343 @@
+package com.dailytask.integration;
+
+import com.dailytask.service.cache.ActivityBitmapCache;
+import com.dailytask.service.cache.UserIdentityCache;
+import com.dailytask.service.summary.DailySummaryRebuildJob;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Calls every endpoint of the user, task, daily data, reflection and energy
+ * controllers against a year of seeded data and bounds the SQL statements each
+ * one executes and the rows it reads, so an N+1 or an unbounded read fails the
+ * build. Query budgets run in fail mode, so they are checked on the way too.
+ *
+ * <p>Runs on embedded PostgreSQL migrated by Flyway, so the write paths run
+ * the same upserts and data-modifying statements as in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "app.metrics.budget-mode=fail",
+    "logging.level.org.springframework.web=INFO",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@Import(QueryCounter.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryCountTest {
+
+    private static final String USER = "alice";
+    private static final int DAYS_BACK = 365;
+    private static final int DAYS_AHEAD = 14;
+    private static final int OTHER_USERS = 200;
+    private static final int PAGE_SIZE = 50;
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate MONTH_AGO = TODAY.minusDays(29);
+    private static final LocalDate YEAR_AGO = TODAY.minusDays(DAYS_BACK - 1);
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> PostgresTestDatabase.url("querycount"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private UserIdentityCache userIdentityCache;
+
+    @Autowired
+    private ActivityBitmapCache activityBitmapCache;
+
+    @Autowired
+    private DailySummaryRebuildJob dailySummaryRebuildJob;
+
+    private final List<Row> tasks = new ArrayList<>();
+    private final List<Row> reflections = new ArrayList<>();
+    private final List<Row> energyAssessments = new ArrayList<>();
+    private long userId;
+    private long lastMemberId;
+    private long userCount;
+
+    /** One seeded task, reflection or energy assessment of the measured user. */
+    private record Row(long id, LocalDate date, int value, boolean completed, boolean starred) {
+    }
+
+    record Case(String name, MockHttpServletRequestBuilder request, long maxStatements, long maxRows) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(42);
+        LocalDateTime createdAt = TODAY.minusDays(DAYS_BACK).atStartOfDay();
+
+        userId = insertUser(USER, createdAt);
+        for (int i = 1; i <= OTHER_USERS; i++) {
+            lastMemberId = insertUser("member%03d".formatted(i), createdAt);
+        }
+        userCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+
+        // Ids follow the migrations' sample rows
+        long taskId = nextId("tasks");
+        long reflectionId = nextId("reflections");
+        long energyId = nextId("energy_assessments");
+        for (LocalDate date = YEAR_AGO; !date.isAfter(TODAY.plusDays(DAYS_AHEAD)); date = date.plusDays(1)) {
+            boolean past = !date.isAfter(TODAY);
+            int taskCount = random.nextInt(9);
+            for (int i = 0; i < taskCount; i++) {
+                tasks.add(new Row(taskId++, date, 0, past && random.nextBoolean(), random.nextInt(5) == 0));
+            }
+            if (past && random.nextInt(10) < 8) {
+                reflections.add(new Row(reflectionId++, date, 1 + random.nextInt(10), false, false));
+            }
+            if (past && random.nextInt(10) < 7) {
+                energyAssessments.add(new Row(energyId++, date, 1 + random.nextInt(5), false, false));
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, completed, starred, date, user_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            tasks.stream().map(task -> new Object[] {task.id(), "Task " + task.id(), "Seeded task", task.completed(),
+                task.starred(), Date.valueOf(task.date()), userId, timestamp(task), timestamp(task)}).toList());
+        jdbcTemplate.batchUpdate("INSERT INTO reflections (id, date, energy_rating, reflection_text, user_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+            reflections.stream().map(reflection -> new Object[] {reflection.id(), Date.valueOf(reflection.date()),
+                reflection.value(), "Seeded reflection", userId, timestamp(reflection), timestamp(reflection)}).toList());
+        jdbcTemplate.batchUpdate("INSERT INTO energy_assessments (id, date, energy_level, user_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)",
+            energyAssessments.stream().map(energy -> new Object[] {energy.id(), Date.valueOf(energy.date()),
+                energy.value(), userId, timestamp(energy), timestamp(energy)}).toList());
+        for (String table : List.of("tasks", "reflections", "energy_assessments")) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), (SELECT MAX(id) FROM " + table + "))",
+                Long.class, table);
+        }
+
+        // Summaries, streak runs and energy aggregates as the write paths would have left them
+        dailySummaryRebuildJob.rebuild(userId);
+    }
+
+    /**
+     * Resolves the user as a warm instance would, but reloads the activity
+     * bitmaps every time.
+     */
+    @BeforeEach
+    void resetCaches() {
+        userIdentityCache.getUserId(USER);
+        activityBitmapCache.invalidateOnCommit(userId);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void endpoint_ShouldStayWithinStatementAndRowBounds(Case endpoint) throws Exception {
+        queryCounter.reset();
+
+        MvcResult result = mockMvc.perform(endpoint.request()).andReturn();
+
+        assertThat(result.getResponse().getStatus()).as(endpoint.name()).isBetween(200, 299);
+        assertThat(queryCounter.statements()).as("%s statements", endpoint.name()).isLessThanOrEqualTo(endpoint.maxStatements());
+        assertThat(queryCounter.rows()).as("%s rows", endpoint.name()).isLessThanOrEqualTo(endpoint.maxRows());
+    }
+
+    Stream<Case> endpoints() {
+        String users = "/api/users";
+        String base = users + "/" + USER;
+        Row latestTask = tasks.get(tasks.size() - 1);
+        Row latestReflection = reflections.get(reflections.size() - 1);
+        Row latestEnergy = energyAssessments.get(energyAssessments.size() - 1);
+        long yearDays = TODAY.lengthOfYear();
+        long monthTasks = count(tasks, inMonth());
+        long monthReflections = count(reflections, inMonth());
+        long monthEnergy = count(energyAssessments, inMonth());
+
+        return Stream.of(
+            new Case("GET users", get(users), 1, userCount),
+            new Case("GET users/{username}", get(base), 1, 1),
+            new Case("GET users/{username}/exists", get(base + "/exists"), 1, 1),
+            new Case("GET users/search", get(users + "/search").param("searchTerm", "member01"), 1, 10),
+            new Case("GET users/search?mode=prefix", get(users + "/search").param("searchTerm", "member1")
+                .param("mode", "prefix"), 1, 20),
+
+            new Case("GET tasks?date", get(base + "/tasks").param("date", TODAY.toString()),
+                2, count(tasks, onDay(TODAY)) + 1),
+            new Case("GET tasks?startDate&endDate", range(get(base + "/tasks")), 1, monthTasks + 1),
+            new Case("GET tasks?startDate&endDate as NDJSON", ndjson(range(get(base + "/tasks"))), 1, monthTasks + 1),
+            new Case("GET tasks", get(base + "/tasks"), 1, PAGE_SIZE + 2),
+            new Case("GET tasks?starred", get(base + "/tasks").param("starred", "true"), 1, PAGE_SIZE + 2),
+            new Case("GET tasks?incomplete", get(base + "/tasks").param("incomplete", "true"), 1, PAGE_SIZE + 2),
+            new Case("GET tasks/{id}", get(base + "/tasks/" + latestTask.id()), 1, 2),
+            new Case("GET tasks/stats", get(base + "/tasks/stats"), 1, 2),
+            new Case("GET tasks/stats/daily", range(get(base + "/tasks/stats/daily")), 1, 31),
+
+            new Case("GET daily-data", get(base + "/daily-data"), 3,
+                count(tasks, onDay(TODAY)) + 3),
+            new Case("GET daily-data/range", range(get(base + "/daily-data/range")), 3,
+                monthTasks + monthReflections + monthEnergy + 1),
+            new Case("GET daily-data/range as NDJSON", ndjson(range(get(base + "/daily-data/range"))), 3,
+                monthTasks + monthReflections + monthEnergy + 1),
+            new Case("GET daily-data/range for a year", get(base + "/daily-data/range")
+                    .param("startDate", YEAR_AGO.toString()).param("endDate", TODAY.toString()), 3,
+                count(tasks, onOrBefore(TODAY)) + reflections.size() + energyAssessments.size() + 1),
+
+            new Case("GET reflections", get(base + "/reflections"), 1, reflections.size() + 1),
+            new Case("GET reflections as NDJSON", ndjson(get(base + "/reflections")), 1, reflections.size() + 1),
+            new Case("GET reflections?date", get(base + "/reflections").param("date", latestReflection.date().toString()), 1, 2),
+            new Case("GET reflections?startDate&endDate", range(get(base + "/reflections")), 1, monthReflections + 1),
+            new Case("GET reflections?minRating&maxRating", get(base + "/reflections").param("minRating", "8").param("maxRating", "10"),
+                1, count(reflections, row -> row.value() >= 8) + 1),
+            new Case("GET reflections/{id}", get(base + "/reflections/" + latestReflection.id()), 1, 2),
+            new Case("GET reflections/today", get(base + "/reflections/today"), 2, 2),
+            new Case("GET reflections/exists", get(base + "/reflections/exists").param("date", TODAY.toString()), 1, yearDays + 1),
+            new Case("GET reflections/average-rating", get(base + "/reflections/average-rating"), 1, 2),
+            new Case("GET reflections/average-rating?startDate&endDate", get(base + "/reflections/average-rating")
+                .param("startDate", YEAR_AGO.toString()).param("endDate", TODAY.toString()), 2, 2),
+
+            new Case("GET energy", get(base + "/energy"), 1, energyAssessments.size() + 1),
+            new Case("GET energy as NDJSON", ndjson(get(base + "/energy")), 1, energyAssessments.size() + 1),
+            new Case("GET energy?date", get(base + "/energy").param("date", latestEnergy.date().toString()), 1, 2),
+            new Case("GET energy?startDate&endDate", range(get(base + "/energy")), 1, monthEnergy + 1),
+            new Case("GET energy?minLevel&maxLevel", get(base + "/energy").param("minLevel", "4").param("maxLevel", "5"),
+                1, count(energyAssessments, row -> row.value() >= 4) + 1),
+            new Case("GET energy/{id}", get(base + "/energy/" + latestEnergy.id()), 1, 2),
+            new Case("GET energy/today", get(base + "/energy/today"), 2, 2),
+            new Case("GET energy/exists", get(base + "/energy/exists").param("date", TODAY.toString()), 1, yearDays + 1),
+            new Case("GET energy/average-level", get(base + "/energy/average-level"), 1, 2),
+            new Case("GET energy/average-level?startDate&endDate", get(base + "/energy/average-level")
+                .param("startDate", YEAR_AGO.toString()).param("endDate", TODAY.toString()), 2, 2),
+
+            // Writes after the reads, so the reads see the seeded rows; each touches different rows
+            new Case("POST tasks", json(post(base + "/tasks"),
+                "{\"title\":\"New task\",\"date\":\"%s\",\"username\":\"%s\"}".formatted(TODAY, USER)), 6, 6),
+            new Case("PUT tasks/{id}", json(put(base + "/tasks/" + tasks.get(0).id()),
+                "{\"title\":\"Renamed\",\"completed\":true}"), 6, 5),
+            new Case("PATCH tasks/{id}/complete", patch(base + "/tasks/" + tasks.get(1).id() + "/complete"), 1, 1),
+            new Case("PATCH tasks/{id}/star", patch(base + "/tasks/" + tasks.get(1).id() + "/star"), 1, 1),
+            new Case("DELETE tasks/{id}", delete(base + "/tasks/" + tasks.get(2).id()), 5, 4),
+            new Case("POST tasks/bulk", json(post(base + "/tasks/bulk"),
+                "{\"create\":[{\"title\":\"Planned\",\"date\":\"%s\"},{\"title\":\"Planned too\",\"date\":\"%s\"}],"
+                    .formatted(TODAY.plusDays(1), TODAY.plusDays(2))
+                    + "\"update\":[{\"id\":%d,\"completed\":true}],\"delete\":[%d]}".formatted(tasks.get(3).id(), tasks.get(4).id())),
+                7, 10),
+
+            // A reflection on a day without one bridges two runs: one neighbour lookup, the merge and the longest run
+            new Case("POST reflections", json(post(base + "/reflections"), reflection(firstDayWithout(reflections), 6)), 11, 5),
+            new Case("PUT reflections/{id}", json(put(base + "/reflections/" + latestReflection.id()),
+                reflection(latestReflection.date(), 9)), 4, 5),
+            // Deleting one trims or splits the run it was in
+            new Case("DELETE reflections/{id}", delete(base + "/reflections/" + reflections.get(0).id()), 10, 4),
+
+            new Case("POST energy", json(post(base + "/energy"), energyAssessment(firstDayWithout(energyAssessments), 2)), 10, 5),
+            new Case("PUT energy/{id}", json(put(base + "/energy/" + latestEnergy.id()),
+                energyAssessment(latestEnergy.date(), 5)), 4, 5),
+            new Case("DELETE energy/{id}", delete(base + "/energy/" + energyAssessments.get(0).id()), 10, 5),
+
+            // User writes last, so the reads above see the seeded user count
+            new Case("POST users", json(post(users), "{\"username\":\"newcomer\"}"), 2, 1),
+            // Removing a user loads each cascaded collection before deleting
+            new Case("DELETE users/{id}", delete(users + "/" + lastMemberId), 5, 1));
+    }
+
+    private static MockHttpServletRequestBuilder range(MockHttpServletRequestBuilder request) {
+        return request.param("startDate", MONTH_AGO.toString()).param("endDate", TODAY.toString());
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static String reflection(LocalDate date, int energyRating) {
+        return "{\"date\":\"%s\",\"energyRating\":%d,\"reflectionText\":\"Written today\",\"username\":\"%s\"}"
+            .formatted(date, energyRating, USER);
+    }
+
+    private static String energyAssessment(LocalDate date, int energyLevel) {
+        return "{\"date\":\"%s\",\"energyLevel\":%d,\"username\":\"%s\"}".formatted(date, energyLevel, USER);
+    }
+
+    private static LocalDate firstDayWithout(List<Row> rows) {
+        // Reflections and assessments may be written at most a month back
+        LocalDate date = MONTH_AGO;
+        while (rows.stream().anyMatch(onDay(date))) {
+            date = date.plusDays(1);
+        }
+        return date;
+    }
+
+    private static MockHttpServletRequestBuilder ndjson(MockHttpServletRequestBuilder request) {
+        return request.accept(MediaType.APPLICATION_NDJSON);
+    }
+
+    private static Predicate<Row> onDay(LocalDate date) {
+        return row -> row.date().equals(date);
+    }
+
+    private static Predicate<Row> onOrBefore(LocalDate date) {
+        return row -> !row.date().isAfter(date);
+    }
+
+    private static Predicate<Row> inMonth() {
+        return row -> !row.date().isBefore(MONTH_AGO) && !row.date().isAfter(TODAY);
+    }
+
+    private static long count(List<Row> rows, Predicate<Row> filter) {
+        return rows.stream().filter(filter).count();
+    }
+
+    private long insertUser(String username, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO users (username, created_at, updated_at) VALUES (?, ?, ?)",
+            username, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+    }
+
+    private long nextId(String table) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+    }
+
+    private static Timestamp timestamp(Row row) {
+        return Timestamp.valueOf(row.date().atTime(8, 0).plusSeconds(row.id()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.dailytask.integration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One embedded PostgreSQL server for the whole test run, started on first use,
+ * with a fresh database per name. For tests of statements H2 cannot run; the
+ * schema comes from the Flyway migrations, as in production.
+ */
+public final class PostgresTestDatabase {
+
+    private static EmbeddedPostgres server;
+    private static final Map<String, String> urls = new HashMap<>();
+
+    private PostgresTestDatabase() {
+    }
+
+    /**
+     * JDBC URL of the database with this name, created empty on the first call.
+     * The user is {@code postgres}, with any password.
+     */
+    public static synchronized String url(String name) {
+        return urls.computeIfAbsent(name, PostgresTestDatabase::create);
+    }
+
+    private static String create(String name) {
+        try (Connection connection = server().getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + name);
+            statement.execute("CREATE DATABASE " + name);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create test database " + name, e);
+        }
+        return server.getJdbcUrl("postgres", name);
+    }
+
+    private static EmbeddedPostgres server() {
+        if (server == null) {
+            try {
+                server = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                } catch (IOException ignored) {
+                    // The process is exiting anyway
+                }
+            }));
+        }
+        return server;
+    }
+}
@@ -0,0 +1,98 @@
+package com.dailytask.integration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps the application's data source and counts, across all threads, the
+ * statements executed through it and the rows read from their result sets.
+ * Counting at the JDBC level catches statements whichever way they are issued.
+ */
+class QueryCounter implements BeanPostProcessor {
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+
+    void reset() {
+        statements.set(0);
+        rows.set(0);
+    }
+
+    long statements() {
+        return statements.get();
+    }
+
+    long rows() {
+        return rows.get();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(Connection.class, super.getConnection(), this::onConnection);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(Connection.class, super.getConnection(username, password), this::onConnection);
+            }
+
+            private Object onConnection(Method method, Object result) {
+                return switch (method.getName()) {
+                    case "createStatement" -> proxy(Statement.class, (Statement) result, QueryCounter.this::onStatement);
+                    case "prepareStatement" -> proxy(PreparedStatement.class, (PreparedStatement) result, QueryCounter.this::onStatement);
+                    case "prepareCall" -> proxy(CallableStatement.class, (CallableStatement) result, QueryCounter.this::onStatement);
+                    default -> result;
+                };
+            }
+        };
+    }
+
+    private Object onStatement(Method method, Object result) {
+        if (method.getName().startsWith("execute")) {
+            statements.incrementAndGet();
+        }
+        return result instanceof ResultSet resultSet ? proxy(ResultSet.class, resultSet, this::onResultSet) : result;
+    }
+
+    private Object onResultSet(Method method, Object result) {
+        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            rows.incrementAndGet();
+        }
+        return result;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.handle(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(QueryCounter.class.getClassLoader(), new Class<?>[] {type}, invocationHandler));
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(Method method, Object result);
+    }
+}
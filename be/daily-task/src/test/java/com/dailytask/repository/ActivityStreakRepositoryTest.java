@@ -0,0 +1,105 @@
+package com.dailytask.repository;
+
+import com.dailytask.config.JpaConfig;
+import com.dailytask.entity.ActivityKind;
+import com.dailytask.entity.User;
+import com.dailytask.integration.PostgresTestDatabase;
+import com.dailytask.repository.projection.ActivitySpan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The run and longest-run statements are native PostgreSQL, with date
+ * arithmetic in their conditions, so they run against embedded PostgreSQL.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+class ActivityStreakRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+    private static final String TASKS = ActivityKind.TASKS.name();
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> PostgresTestDatabase.url("activity_streaks"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ActivityRunRepository activityRunRepository;
+
+    @Autowired
+    private ActivityStreakRepository activityStreakRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("streakuser");
+        userId = entityManager.persistAndFlush(user).getId();
+        activityStreakRepository.lock(userId, TASKS);
+    }
+
+    @Test
+    void updateLongest_ShouldStoreOnlyLongerOrEquallyLongMoreRecentRuns() {
+        activityStreakRepository.updateLongest(userId, TASKS, DAY, DAY.plusDays(2));
+
+        assertThat(activityStreakRepository.updateLongest(userId, TASKS, DAY.plusDays(10), DAY.plusDays(11))).isZero();
+        assertThat(activityStreakRepository.updateLongest(userId, TASKS, DAY.minusDays(10), DAY.minusDays(8))).isZero();
+        assertThat(longest()).isEqualTo(new ActivitySpan(ActivityKind.TASKS, DAY, DAY.plusDays(2)));
+
+        assertThat(activityStreakRepository.updateLongest(userId, TASKS, DAY.plusDays(10), DAY.plusDays(12))).isOne();
+        assertThat(activityStreakRepository.updateLongest(userId, TASKS, DAY.plusDays(20), DAY.plusDays(25))).isOne();
+        assertThat(longest()).isEqualTo(new ActivitySpan(ActivityKind.TASKS, DAY.plusDays(20), DAY.plusDays(25)));
+    }
+
+    @Test
+    void refreshLongestContaining_ShouldRederiveOnlyWhenDateIsInStoredLongestRun() {
+        activityRunRepository.insertRun(userId, TASKS, DAY, DAY.plusDays(1));
+        activityRunRepository.insertRun(userId, TASKS, DAY.plusDays(5), DAY.plusDays(7));
+        activityStreakRepository.updateLongest(userId, TASKS, DAY.plusDays(5), DAY.plusDays(9));
+
+        assertThat(activityStreakRepository.refreshLongestContaining(userId, TASKS, DAY)).isZero();
+        assertThat(activityStreakRepository.refreshLongestContaining(userId, TASKS, DAY.plusDays(8))).isOne();
+        assertThat(longest()).isEqualTo(new ActivitySpan(ActivityKind.TASKS, DAY.plusDays(5), DAY.plusDays(7)));
+    }
+
+    @Test
+    void findNeighbourSpans_ShouldReturnRunsEndingTheDayBeforeAndStartingTheDayAfter() {
+        activityRunRepository.insertRun(userId, TASKS, DAY.minusDays(4), DAY.minusDays(1));
+        activityRunRepository.insertRun(userId, TASKS, DAY.plusDays(1), DAY.plusDays(2));
+        activityRunRepository.insertRun(userId, TASKS, DAY.plusDays(4), DAY.plusDays(6));
+        activityRunRepository.insertRun(userId, ActivityKind.REFLECTIONS.name(), DAY.minusDays(1), DAY.minusDays(1));
+
+        List<ActivitySpan> neighbours = activityRunRepository.findNeighbourSpansByUserIdAndKind(
+            userId, ActivityKind.TASKS, DAY.minusDays(1), DAY.plusDays(1));
+
+        assertThat(neighbours).containsExactlyInAnyOrder(
+            new ActivitySpan(ActivityKind.TASKS, DAY.minusDays(4), DAY.minusDays(1)),
+            new ActivitySpan(ActivityKind.TASKS, DAY.plusDays(1), DAY.plusDays(2)));
+    }
+
+    private ActivitySpan longest() {
+        return activityStreakRepository.findLongestSpansByUserId(userId).stream()
+            .filter(span -> span.kind() == ActivityKind.TASKS)
+            .findFirst()
+            .orElseThrow();
+    }
+}
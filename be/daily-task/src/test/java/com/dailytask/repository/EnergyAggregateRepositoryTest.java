@@ -0,0 +1,104 @@
+package com.dailytask.repository;
+
+import com.dailytask.config.JpaConfig;
+import com.dailytask.entity.User;
+import com.dailytask.integration.PostgresTestDatabase;
+import com.dailytask.repository.projection.EnergySums;
+import com.dailytask.repository.projection.RefreshedDay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The day refresh and the energy aggregate additions are PostgreSQL
+ * statements over arrays, so they run against embedded PostgreSQL.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+class EnergyAggregateRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+    private static final LocalDate MONTH = LocalDate.of(2026, 3, 1);
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> PostgresTestDatabase.url("energy_aggregates"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Autowired
+    private EnergyAssessmentRepository energyAssessmentRepository;
+
+    @Autowired
+    private MonthlyEnergySummaryRepository monthlyEnergySummaryRepository;
+
+    @Autowired
+    private EnergyTotalsRepository energyTotalsRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("aggregateuser");
+        userId = entityManager.persistAndFlush(user).getId();
+    }
+
+    @Test
+    void refreshDays_ShouldReturnNewAndPreviousEnergyValues() {
+        energyAssessmentRepository.upsertByUserIdAndDate(userId, DAY, 3);
+        RefreshedDay inserted = refresh();
+
+        assertThat(inserted.getDate()).isEqualTo(DAY);
+        assertThat(inserted.getEnergyLevel()).isEqualTo(3);
+        assertThat(inserted.getPreviousEnergyLevel()).isNull();
+        assertThat(inserted.energyChange()).isEqualTo(new EnergySums(3, 1, 0, 0));
+
+        energyAssessmentRepository.upsertByUserIdAndDate(userId, DAY, 5);
+        RefreshedDay updated = refresh();
+
+        assertThat(updated.getEnergyLevel()).isEqualTo(5);
+        assertThat(updated.getPreviousEnergyLevel()).isEqualTo(3);
+        assertThat(updated.energyChange()).isEqualTo(new EnergySums(2, 0, 0, 0));
+    }
+
+    @Test
+    void additions_ShouldCreateRowsThenAccumulate() {
+        energyTotalsRepository.addToTotals(userId, 3, 1, 0, 0);
+        monthlyEnergySummaryRepository.addToMonths(userId, new LocalDate[] {MONTH},
+            new Long[] {3L}, new Long[] {1L}, new Long[] {0L}, new Long[] {0L});
+        energyTotalsRepository.addToTotals(userId, -3, -1, 7, 1);
+        monthlyEnergySummaryRepository.addToMonths(userId, new LocalDate[] {MONTH},
+            new Long[] {-3L}, new Long[] {-1L}, new Long[] {7L}, new Long[] {1L});
+        entityManager.clear();
+
+        assertThat(energyTotalsRepository.findSumsByUserId(userId)).contains(new EnergySums(0, 0, 7, 1));
+        assertThat(monthlyEnergySummaryRepository.findSumsByUserIdAndMonthBetween(userId, MONTH, MONTH))
+            .isEqualTo(new EnergySums(0, 0, 7, 1));
+    }
+
+    private RefreshedDay refresh() {
+        dailySummaryRepository.lockDays(userId, new LocalDate[] {DAY});
+        List<RefreshedDay> days = dailySummaryRepository.refreshDays(userId, new LocalDate[] {DAY});
+        assertThat(days).hasSize(1);
+        return days.get(0);
+    }
+}
@@ -1,5 +1,6 @@
 package com.dailytask.repository;
 
+import com.dailytask.config.JpaConfig;
 import com.dailytask.entity.EnergyAssessment;
 import com.dailytask.entity.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.LocalDate;
@@ -16,6 +18,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(JpaConfig.class)
 @TestPropertySource(locations = "classpath:application-test.properties")
 class EnergyAssessmentRepositoryTest {
 
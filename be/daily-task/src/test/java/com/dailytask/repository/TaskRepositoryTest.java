@@ -1,12 +1,17 @@
 package com.dailytask.repository;
 
+import com.dailytask.config.JpaConfig;
+import com.dailytask.dto.response.TaskResponse;
 import com.dailytask.entity.Task;
 import com.dailytask.entity.User;
+import com.dailytask.repository.projection.DateCount;
+import com.dailytask.repository.projection.TaskStatsCounts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.LocalDate;
@@ -15,6 +20,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(JpaConfig.class)
 @TestPropertySource(locations = "classpath:application-test.properties")
 class TaskRepositoryTest {
 
@@ -122,6 +128,15 @@ class TaskRepositoryTest {
         assertThat(tasks.get(1).getStarred()).isFalse();
     }
 
+    @Test
+    void findByUserAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc_ShouldReturnTasksOrderedByDate() {
+        List<Task> tasks = taskRepository.findByUserAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc(testUser1, yesterday, tomorrow);
+
+        assertThat(tasks).hasSize(4);
+        assertThat(tasks).extracting(Task::getTitle)
+                .containsExactly("Task 3", "Task 1", "Task 2", "Task 5");
+    }
+
     @Test
     void findStarredTasksByUserOrderByDateDesc_ShouldReturnStarredTasksOrderedByDate() {
         List<Task> tasks = taskRepository.findStarredTasksByUserOrderByDateDesc(testUser1);
@@ -169,6 +184,39 @@ class TaskRepositoryTest {
         assertThat(tasks.get(0).getDate()).isEqualTo(tomorrow);
     }
 
+    @Test
+    void findResponsesByUserIdAndDateOrderByStarredDescCreatedAtAsc_ShouldReturnOrderedResponses() {
+        List<TaskResponse> tasks = taskRepository.findResponsesByUserIdAndDateOrderByStarredDescCreatedAtAsc(testUser1.getId(), today);
+
+        assertThat(tasks).hasSize(2);
+        assertThat(tasks.get(0).starred()).isTrue();
+        assertThat(tasks.get(1).starred()).isFalse();
+        assertThat(tasks).allSatisfy(task -> assertThat(task.username()).isEqualTo("testuser1"));
+    }
+
+    @Test
+    void countByUserIdAndDate_ShouldReturnSameCountAsEntityVariant() {
+        assertThat(taskRepository.countByUserIdAndDate(testUser1.getId(), today))
+                .isEqualTo(taskRepository.countByUserAndDate(testUser1, today));
+    }
+
+    @Test
+    void findStatsByUserIdAndDate_ShouldCountDayTotalsAndAllTimeStarred() {
+        TaskStatsCounts counts = taskRepository.findStatsByUserIdAndDate(testUser1.getId(), today);
+
+        assertThat(counts.totalTasks()).isEqualTo(2);
+        assertThat(counts.completedTasks()).isEqualTo(1);
+        assertThat(counts.starredTasks()).isEqualTo(taskRepository.countStarredByUser(testUser1));
+    }
+
+    @Test
+    void countByUserIdAndDateInGroupByDate_ShouldCountOnlyRequestedDatesWithTasks() {
+        List<DateCount> counts = taskRepository.countByUserIdAndDateInGroupByDate(
+                testUser1.getId(), List.of(today, yesterday, today.minusDays(5)));
+
+        assertThat(counts).containsExactlyInAnyOrder(new DateCount(today, 2), new DateCount(yesterday, 1));
+    }
+
     @Test
     void findDistinctDatesByUserOrderByDateDesc_ShouldReturnDistinctDates() {
         List<LocalDate> dates = taskRepository.findDistinctDatesByUserOrderByDateDesc(testUser1);
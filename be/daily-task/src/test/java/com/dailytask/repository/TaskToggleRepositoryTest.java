@@ -0,0 +1,135 @@
+package com.dailytask.repository;
+
+import com.dailytask.config.JpaConfig;
+import com.dailytask.entity.Task;
+import com.dailytask.entity.User;
+import com.dailytask.integration.PostgresTestDatabase;
+import com.dailytask.repository.projection.ToggledTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The toggles are data-modifying CTEs over tasks and daily_summaries, so they
+ * run against embedded PostgreSQL rather than H2.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+class TaskToggleRepositoryTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> PostgresTestDatabase.url("toggles"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Long userId;
+    private Long openTaskId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("toggleuser");
+        user = entityManager.persist(user);
+        userId = user.getId();
+        today = LocalDate.now();
+
+        openTaskId = entityManager.persist(task(user, false)).getId();
+        entityManager.persist(task(user, true));
+        entityManager.flush();
+    }
+
+    @Test
+    void toggleCompleted_ShouldFlipTaskAndMoveDayCountInOneStatement() {
+        insertSummary(2, 1, 0);
+
+        ToggledTask toggled = taskRepository.toggleCompletedByIdAndUsername(openTaskId, "toggleuser").orElseThrow();
+
+        assertThat(toggled.getId()).isEqualTo(openTaskId);
+        assertThat(toggled.getCompleted()).isTrue();
+        assertThat(toggled.getUserId()).isEqualTo(userId);
+        assertThat(toggled.getDate()).isEqualTo(today);
+        assertThat(toggled.getUpdatedAt()).isNotNull();
+        assertThat(toggled.getTotalTasks()).isEqualTo(2);
+        assertThat(toggled.getCompletedTasks()).isEqualTo(2);
+        assertThat(summaryColumn("completed_tasks")).isEqualTo(2);
+
+        taskRepository.toggleCompletedByIdAndUsername(openTaskId, "toggleuser");
+
+        assertThat(summaryColumn("completed_tasks")).isEqualTo(1);
+    }
+
+    @Test
+    void toggleStarred_ShouldFlipTaskAndMoveStarredCount() {
+        insertSummary(2, 1, 0);
+
+        ToggledTask toggled = taskRepository.toggleStarredByIdAndUsername(openTaskId, "toggleuser").orElseThrow();
+
+        assertThat(toggled.getStarred()).isTrue();
+        assertThat(summaryColumn("starred_tasks")).isEqualTo(1);
+        assertThat(summaryColumn("completed_tasks")).isEqualTo(1);
+    }
+
+    @Test
+    void toggleCompleted_ShouldChangeNothing_WhenTaskBelongsToAnotherUser() {
+        insertSummary(2, 1, 0);
+
+        assertThat(taskRepository.toggleCompletedByIdAndUsername(openTaskId, "testuser1")).isEmpty();
+        assertThat(summaryColumn("completed_tasks")).isEqualTo(1);
+    }
+
+    @Test
+    void toggleCompleted_ShouldReturnNoCounts_WhenDayHasNoSummaryRow() {
+        ToggledTask toggled = taskRepository.toggleCompletedByIdAndUsername(openTaskId, "toggleuser").orElseThrow();
+
+        assertThat(toggled.getCompleted()).isTrue();
+        assertThat(toggled.hasSummary()).isFalse();
+    }
+
+    private Task task(User user, boolean completed) {
+        Task task = new Task();
+        task.setTitle(completed ? "Done" : "Open");
+        task.setDate(today);
+        task.setCompleted(completed);
+        task.setUser(user);
+        return task;
+    }
+
+    private void insertSummary(int totalTasks, int completedTasks, int starredTasks) {
+        entityManager.getEntityManager()
+            .createNativeQuery("INSERT INTO daily_summaries (user_id, date, total_tasks, completed_tasks, starred_tasks) " +
+                               "VALUES (:userId, :date, :total, :completed, :starred)")
+            .setParameter("userId", userId)
+            .setParameter("date", today)
+            .setParameter("total", totalTasks)
+            .setParameter("completed", completedTasks)
+            .setParameter("starred", starredTasks)
+            .executeUpdate();
+    }
+
+    private int summaryColumn(String column) {
+        return ((Number) entityManager.getEntityManager()
+            .createNativeQuery("SELECT " + column + " FROM daily_summaries WHERE user_id = :userId AND date = :date")
+            .setParameter("userId", userId)
+            .setParameter("date", today)
+            .getSingleResult()).intValue();
+    }
+}
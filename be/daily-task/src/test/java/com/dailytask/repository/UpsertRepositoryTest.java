@@ -0,0 +1,152 @@
+package com.dailytask.repository;
+
+import com.dailytask.config.JpaConfig;
+import com.dailytask.entity.EnergyAssessment;
+import com.dailytask.entity.Reflection;
+import com.dailytask.entity.User;
+import com.dailytask.integration.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reflection and energy assessment upserts are PostgreSQL
+ * {@code INSERT ... ON CONFLICT ... RETURNING} statements, so they run
+ * against embedded PostgreSQL rather than H2.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+class UpsertRepositoryTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2020, 1, 1, 8, 0);
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> PostgresTestDatabase.url("upserts"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReflectionRepository reflectionRepository;
+
+    @Autowired
+    private EnergyAssessmentRepository energyAssessmentRepository;
+
+    private Long userId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("upsertuser");
+        userId = entityManager.persistAndFlush(user).getId();
+        today = LocalDate.now();
+    }
+
+    @Test
+    void reflectionUpsert_ShouldInsert_WhenDayHasNoReflection() {
+        Reflection inserted = reflectionRepository.upsertByUserIdAndDate(userId, today, 7, "Good day");
+
+        assertThat(inserted.getId()).isNotNull();
+        assertThat(inserted.getDate()).isEqualTo(today);
+        assertThat(inserted.getEnergyRating()).isEqualTo(7);
+        assertThat(inserted.getReflectionText()).isEqualTo("Good day");
+        assertThat(inserted.getCreatedAt()).isNotNull();
+        assertStored(inserted);
+    }
+
+    @Test
+    void reflectionUpsert_ShouldUpdateSameRowAndKeepCreatedAt_WhenDayHasReflection() {
+        Long id = reflectionRepository.upsertByUserIdAndDate(userId, today, 7, "Good day").getId();
+        backdate("reflections", id);
+
+        Reflection updated = reflectionRepository.upsertByUserIdAndDate(userId, today, 3, "Long day");
+
+        assertThat(updated.getId()).isEqualTo(id);
+        assertThat(updated.getEnergyRating()).isEqualTo(3);
+        assertThat(updated.getReflectionText()).isEqualTo("Long day");
+        assertThat(updated.getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(updated.getUpdatedAt()).isAfter(CREATED_AT);
+        assertThat(rowsOfUser("Reflection")).isEqualTo(1);
+        assertStored(updated);
+    }
+
+    @Test
+    void energyAssessmentUpsert_ShouldInsert_WhenDayHasNoAssessment() {
+        EnergyAssessment inserted = energyAssessmentRepository.upsertByUserIdAndDate(userId, today, 4);
+
+        assertThat(inserted.getId()).isNotNull();
+        assertThat(inserted.getDate()).isEqualTo(today);
+        assertThat(inserted.getEnergyLevel()).isEqualTo(4);
+        assertThat(inserted.getCreatedAt()).isNotNull();
+        assertStored(inserted);
+    }
+
+    @Test
+    void energyAssessmentUpsert_ShouldUpdateSameRowAndKeepCreatedAt_WhenDayHasAssessment() {
+        Long id = energyAssessmentRepository.upsertByUserIdAndDate(userId, today, 4).getId();
+        backdate("energy_assessments", id);
+
+        EnergyAssessment updated = energyAssessmentRepository.upsertByUserIdAndDate(userId, today, 2);
+
+        assertThat(updated.getId()).isEqualTo(id);
+        assertThat(updated.getEnergyLevel()).isEqualTo(2);
+        assertThat(updated.getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(updated.getUpdatedAt()).isAfter(CREATED_AT);
+        assertThat(rowsOfUser("EnergyAssessment")).isEqualTo(1);
+        assertStored(updated);
+    }
+
+    // Moves the row's timestamps into the past, since both calls share one transaction and so one LOCALTIMESTAMP.
+    // Clearing afterwards makes the next upsert hydrate a new instance, as it would in its own request.
+    private void backdate(String table, Long id) {
+        entityManager.getEntityManager()
+            .createNativeQuery("UPDATE " + table + " SET created_at = :createdAt, updated_at = :createdAt WHERE id = :id")
+            .setParameter("createdAt", CREATED_AT)
+            .setParameter("id", id)
+            .executeUpdate();
+        entityManager.clear();
+    }
+
+    // The migrations seed sample users with their own rows
+    private long rowsOfUser(String entity) {
+        return entityManager.getEntityManager()
+            .createQuery("SELECT COUNT(e) FROM " + entity + " e WHERE e.user.id = :userId", Long.class)
+            .setParameter("userId", userId)
+            .getSingleResult();
+    }
+
+    private void assertStored(Reflection returned) {
+        entityManager.clear();
+        Reflection stored = entityManager.find(Reflection.class, returned.getId());
+        assertThat(stored.getEnergyRating()).isEqualTo(returned.getEnergyRating());
+        assertThat(stored.getReflectionText()).isEqualTo(returned.getReflectionText());
+        assertThat(stored.getCreatedAt()).isEqualTo(returned.getCreatedAt());
+        assertThat(stored.getUpdatedAt()).isEqualTo(returned.getUpdatedAt());
+        assertThat(stored.getUser().getId()).isEqualTo(userId);
+    }
+
+    private void assertStored(EnergyAssessment returned) {
+        entityManager.clear();
+        EnergyAssessment stored = entityManager.find(EnergyAssessment.class, returned.getId());
+        assertThat(stored.getEnergyLevel()).isEqualTo(returned.getEnergyLevel());
+        assertThat(stored.getCreatedAt()).isEqualTo(returned.getCreatedAt());
+        assertThat(stored.getUpdatedAt()).isEqualTo(returned.getUpdatedAt());
+        assertThat(stored.getUser().getId()).isEqualTo(userId);
+    }
+}
@@ -1,11 +1,14 @@
 package com.dailytask.repository;
 
+import com.dailytask.config.JpaConfig;
 import com.dailytask.entity.User;
+import com.dailytask.repository.projection.UsernameEntry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 
 import java.util.List;
@@ -14,6 +17,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(JpaConfig.class)
 @TestPropertySource(locations = "classpath:application-test.properties")
 class UserRepositoryTest {
 
@@ -81,19 +85,12 @@ class UserRepositoryTest {
     }
 
     @Test
-    void findByUsernameContainingIgnoreCase_ShouldReturnMatchingUsers() {
-        List<User> users = userRepository.findByUsernameContainingIgnoreCase("test");
+    void findAllUsernames_ShouldReturnIdAndUsernameOfEveryUser() {
+        List<UsernameEntry> entries = userRepository.findAllUsernames();
 
-        assertThat(users).hasSize(2);
-        assertThat(users).extracting(User::getUsername)
-                .containsExactlyInAnyOrder("testuser1", "testuser2");
-    }
-
-    @Test
-    void findByUsernameContainingIgnoreCase_ShouldReturnEmpty_WhenNoMatch() {
-        List<User> users = userRepository.findByUsernameContainingIgnoreCase("nomatch");
-
-        assertThat(users).isEmpty();
+        assertThat(entries).containsExactlyInAnyOrder(
+                new UsernameEntry(testUser1.getId(), "testuser1"),
+                new UsernameEntry(testUser2.getId(), "testuser2"));
     }
 
     @Test
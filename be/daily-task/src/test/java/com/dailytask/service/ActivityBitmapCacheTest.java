@@ -0,0 +1,99 @@
+package com.dailytask.service;
+
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.projection.DayActivity;
+import com.dailytask.service.cache.ActivityBitmapCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.dailytask.service.cache.ActivityBitmapCache.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityBitmapCacheTest {
+
+    private static final LocalDate NEW_YEARS_EVE = LocalDate.of(2025, 12, 31);
+    private static final LocalDate NEW_YEARS_DAY = LocalDate.of(2026, 1, 1);
+
+    @Mock
+    private DailySummaryRepository dailySummaryRepository;
+
+    private ActivityBitmapCache activityBitmapCache;
+
+    @BeforeEach
+    void setUp() {
+        activityBitmapCache = new ActivityBitmapCache(dailySummaryRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void flags_ShouldLoadEachYearOnceAcrossYearBoundary() {
+        when(dailySummaryRepository.findActivityByUserIdAndDateBetween(1L, LocalDate.of(2025, 1, 1), NEW_YEARS_EVE))
+            .thenReturn(List.of(new DayActivity(NEW_YEARS_EVE, 2, 2, 7, null)));
+        when(dailySummaryRepository.findActivityByUserIdAndDateBetween(1L, NEW_YEARS_DAY, LocalDate.of(2026, 12, 31)))
+            .thenReturn(List.of(new DayActivity(NEW_YEARS_DAY, 3, 1, null, 4)));
+
+        int[] flags = activityBitmapCache.flags(1L, NEW_YEARS_EVE.minusDays(1), NEW_YEARS_DAY.plusDays(1));
+
+        assertThat(flags).containsExactly(
+            0,
+            HAS_TASKS | ALL_TASKS_COMPLETED | HAS_REFLECTION,
+            HAS_TASKS | HAS_ENERGY_ASSESSMENT,
+            0);
+        assertThat(activityBitmapCache.flags(1L, NEW_YEARS_DAY)).isEqualTo(HAS_TASKS | HAS_ENERGY_ASSESSMENT);
+        verify(dailySummaryRepository, times(2)).findActivityByUserIdAndDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void updateOnCommit_ShouldPatchCachedYear_WhenTransactionCommits() {
+        when(dailySummaryRepository.findActivityByUserIdAndDateBetween(eq(1L), any(), any())).thenReturn(List.of());
+        assertThat(activityBitmapCache.flags(1L, NEW_YEARS_DAY)).isZero();
+
+        List<TransactionSynchronization> synchronizations = write(new DayActivity(NEW_YEARS_DAY, 0, 0, 5, null));
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(activityBitmapCache.flags(1L, NEW_YEARS_DAY)).isEqualTo(HAS_REFLECTION);
+        verify(dailySummaryRepository, times(1)).findActivityByUserIdAndDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void updateOnCommit_ShouldDropPatchedYear_WhenTransactionRollsBack() {
+        when(dailySummaryRepository.findActivityByUserIdAndDateBetween(eq(1L), any(), any())).thenReturn(List.of());
+        activityBitmapCache.flags(1L, NEW_YEARS_DAY);
+
+        List<TransactionSynchronization> synchronizations = write(new DayActivity(NEW_YEARS_DAY, 1, 0, null, null));
+        // A failing commit has already run beforeCommit
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(activityBitmapCache.flags(1L, NEW_YEARS_DAY)).isZero();
+        verify(dailySummaryRepository, times(2)).findActivityByUserIdAndDateBetween(any(), any(), any());
+    }
+
+    private List<TransactionSynchronization> write(DayActivity day) {
+        TransactionSynchronizationManager.initSynchronization();
+        activityBitmapCache.updateOnCommit(1L, List.of(day));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        return synchronizations;
+    }
+}
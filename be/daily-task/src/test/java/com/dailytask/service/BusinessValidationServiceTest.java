@@ -0,0 +1,77 @@
+package com.dailytask.service;
+
+import com.dailytask.exception.BusinessRuleViolationException;
+import com.dailytask.repository.EnergyAssessmentRepository;
+import com.dailytask.repository.ReflectionRepository;
+import com.dailytask.repository.TaskRepository;
+import com.dailytask.service.validation.BusinessValidationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+class BusinessValidationServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ReflectionRepository reflectionRepository;
+
+    @Mock
+    private EnergyAssessmentRepository energyAssessmentRepository;
+
+    @InjectMocks
+    private BusinessValidationService businessValidationService;
+
+    @Test
+    void validateCalendarRange_ShouldAcceptAnyYearUpToOneLeapYearOfDays() {
+        assertThatCode(() -> businessValidationService.validateCalendarRange(
+            LocalDate.of(2016, 1, 1), LocalDate.of(2016, 12, 31))).doesNotThrowAnyException();
+        assertThatCode(() -> businessValidationService.validateCalendarRange(
+            LocalDate.now().minusYears(10), LocalDate.now().minusYears(10))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void validateCalendarRange_ShouldRejectReversedOrLongerRanges() {
+        LocalDate today = LocalDate.now();
+
+        assertThatThrownBy(() -> businessValidationService.validateCalendarRange(today, today.minusDays(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> businessValidationService.validateCalendarRange(today, today.plusDays(366)))
+            .isInstanceOf(BusinessRuleViolationException.class)
+            .hasMessageContaining("367 days");
+    }
+
+    @Test
+    void validateDailyDataRange_ShouldAcceptYearFromThreeYearsAgo() {
+        LocalDate start = LocalDate.now().minusYears(3);
+
+        assertThatCode(() -> businessValidationService.validateDailyDataRange(start, start.plusDays(365)))
+            .doesNotThrowAnyException();
+        assertThatThrownBy(() -> businessValidationService.validateDailyDataRange(start, start.plusDays(366)))
+            .isInstanceOf(BusinessRuleViolationException.class)
+            .hasMessageContaining("Daily data range");
+        assertThatThrownBy(() -> businessValidationService.validateDailyDataRange(start, start.minusDays(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void validateHeatmapYear_ShouldAcceptPastYearsUpToNextYear() {
+        int nextYear = LocalDate.now().getYear() + 1;
+
+        assertThatCode(() -> businessValidationService.validateHeatmapYear(2005)).doesNotThrowAnyException();
+        assertThatCode(() -> businessValidationService.validateHeatmapYear(nextYear)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> businessValidationService.validateHeatmapYear(nextYear + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> businessValidationService.validateHeatmapYear(1899))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
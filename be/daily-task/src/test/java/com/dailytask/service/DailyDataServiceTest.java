@@ -0,0 +1,279 @@
+package com.dailytask.service;
+
+import com.dailytask.dto.response.ActivityCalendarResponse;
+import com.dailytask.dto.response.DailyDataResponse;
+import com.dailytask.dto.response.EnergyAssessmentResponse;
+import com.dailytask.dto.response.HeatmapResponse;
+import com.dailytask.dto.response.ReflectionResponse;
+import com.dailytask.dto.response.TaskResponse;
+import com.dailytask.entity.Reflection;
+import com.dailytask.entity.User;
+import com.dailytask.exception.ResourceNotFoundException;
+import com.dailytask.mapper.EnergyAssessmentMapper;
+import com.dailytask.mapper.EnergyAssessmentMapperImpl;
+import com.dailytask.mapper.ReflectionMapper;
+import com.dailytask.mapper.ReflectionMapperImpl;
+import com.dailytask.repository.DailySnapshotRepository;
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.EnergyAssessmentRepository;
+import com.dailytask.repository.ReflectionRepository;
+import com.dailytask.repository.TaskRepository;
+import com.dailytask.repository.projection.DailySnapshotHeader;
+import com.dailytask.repository.projection.DayActivity;
+import com.dailytask.service.cache.ActivityBitmapCache;
+import com.dailytask.service.concurrent.FanOut;
+import com.dailytask.service.context.RequestUserContext;
+import com.dailytask.service.impl.DailyDataServiceImpl;
+import com.dailytask.service.validation.BusinessValidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyDataServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ReflectionRepository reflectionRepository;
+
+    @Mock
+    private EnergyAssessmentRepository energyAssessmentRepository;
+
+    @Mock
+    private DailySnapshotRepository dailySnapshotRepository;
+
+    @Mock
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Mock
+    private RequestUserContext requestUserContext;
+
+    @Mock
+    private BusinessValidationService businessValidationService;
+
+    @Spy
+    private ReflectionMapper reflectionMapper = new ReflectionMapperImpl();
+
+    @Spy
+    private EnergyAssessmentMapper energyAssessmentMapper = new EnergyAssessmentMapperImpl();
+
+    @Mock
+    private ActivityBitmapCache activityBitmapCache;
+
+    @Spy
+    private FanOut fanOut = new FanOut(Runnable::run, 4);
+
+    @InjectMocks
+    private DailyDataServiceImpl dailyDataService;
+
+    private User testUser;
+    private LocalDate today;
+    private LocalDate yesterday;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+
+        today = LocalDate.now();
+        yesterday = today.minusDays(1);
+    }
+
+    @Test
+    void getDailyData_ShouldAssembleSnapshotFromHeaderAndTasks() {
+        when(dailySnapshotRepository.findHeaderByUsernameAndDate("testuser", today))
+            .thenReturn(Optional.of(new DailySnapshotHeader(testUser, createReflection(today, 6), null)));
+        when(taskRepository.findResponsesByUsernameAndDateOrderByStarredDescCreatedAtAsc("testuser", today))
+            .thenReturn(List.of(createTask(1L, today, true, true), createTask(2L, today, false, true)));
+
+        DailyDataResponse response = dailyDataService.getDailyData("testuser", today);
+
+        assertThat(response.tasks()).hasSize(2);
+        assertThat(response.reflection().energyRating()).isEqualTo(6);
+        assertThat(response.energyAssessment()).isNull();
+        assertThat(response.stats().completedTasks()).isEqualTo(1);
+        assertThat(response.stats().starredTasks()).isEqualTo(2);
+        assertThat(response.stats().averageEnergyRating()).isEqualTo(6.0);
+        assertThat(response.stats().averageEnergyLevel()).isNull();
+        verifyNoInteractions(requestUserContext);
+    }
+
+    @Test
+    void getDailyData_ShouldThrowResourceNotFoundException_WhenUserNotExists() {
+        when(dailySnapshotRepository.findHeaderByUsernameAndDate("unknown", today)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> dailyDataService.getDailyData("unknown", today))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("User not found with username: 'unknown'");
+    }
+
+    @Test
+    void getDailyDataVersion_ShouldThrowResourceNotFoundException_WhenUserNotExists() {
+        when(dailySnapshotRepository.findVersionByUsernameAndDate("unknown", today)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> dailyDataService.getDailyDataVersion("unknown", today))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("User not found with username: 'unknown'");
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getDailyDataRange_ShouldAssembleEveryDayFromThreeRangeQueries() {
+        when(requestUserContext.getUserId("testuser")).thenReturn(1L);
+        when(taskRepository.findResponsesByUserIdAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc(1L, yesterday, today))
+            .thenReturn(List.of(
+                createTask(1L, yesterday, true, false),
+                createTask(2L, today, true, true),
+                createTask(3L, today, false, false)));
+        when(reflectionRepository.findResponsesByUserIdAndDateBetweenOrderByDateDesc(1L, yesterday, today))
+            .thenReturn(List.of(new ReflectionResponse(null, today, 8, null, "testuser", null, null)));
+        when(energyAssessmentRepository.findResponsesByUserIdAndDateBetweenOrderByDateDesc(1L, yesterday, today))
+            .thenReturn(List.of(new EnergyAssessmentResponse(null, yesterday, 3, "testuser", null, null)));
+
+        List<DailyDataResponse> responses = dailyDataService.getDailyDataRange("testuser", yesterday, today);
+
+        assertThat(responses).extracting(DailyDataResponse::date).containsExactly(yesterday, today);
+        verify(businessValidationService).validateDailyDataRange(yesterday, today);
+
+        DailyDataResponse first = responses.get(0);
+        assertThat(first.tasks()).hasSize(1);
+        assertThat(first.reflection()).isNull();
+        assertThat(first.energyAssessment().energyLevel()).isEqualTo(3);
+        assertThat(first.stats().completedTasks()).isEqualTo(1);
+        assertThat(first.stats().averageEnergyLevel()).isEqualTo(3.0);
+
+        DailyDataResponse second = responses.get(1);
+        assertThat(second.tasks()).hasSize(2);
+        assertThat(second.reflection().energyRating()).isEqualTo(8);
+        assertThat(second.energyAssessment()).isNull();
+        assertThat(second.stats().totalTasks()).isEqualTo(2);
+        assertThat(second.stats().completedTasks()).isEqualTo(1);
+        assertThat(second.stats().incompleteTasks()).isEqualTo(1);
+        assertThat(second.stats().starredTasks()).isEqualTo(1);
+
+        verify(requestUserContext, times(1)).getUserId("testuser");
+    }
+
+    @Test
+    void getDailyDataRange_ShouldReturnEmptyDays_WhenNoDataExists() {
+        when(requestUserContext.getUserId("testuser")).thenReturn(1L);
+
+        List<DailyDataResponse> responses = dailyDataService.getDailyDataRange("testuser", yesterday, today);
+
+        assertThat(responses).hasSize(2);
+        assertThat(responses).allSatisfy(day -> {
+            assertThat(day.tasks()).isEmpty();
+            assertThat(day.stats().totalTasks()).isZero();
+        });
+    }
+
+    @Test
+    void streamDailyDataRange_ShouldMergeDateOrderedCursorsOneDayAtATime() {
+        LocalDate dayBefore = yesterday.minusDays(1);
+        when(requestUserContext.getUserId("testuser")).thenReturn(1L);
+        when(taskRepository.streamResponsesByUserIdAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc(1L, dayBefore, today))
+            .thenReturn(Stream.of(
+                createTask(1L, dayBefore, true, false),
+                createTask(2L, today, false, true),
+                createTask(3L, today, true, false)));
+        when(reflectionRepository.streamResponsesByUserIdAndDateBetweenOrderByDateAsc(1L, dayBefore, today))
+            .thenReturn(Stream.of(new ReflectionResponse(null, yesterday, 5, null, "testuser", null, null)));
+        when(energyAssessmentRepository.streamResponsesByUserIdAndDateBetweenOrderByDateAsc(1L, dayBefore, today))
+            .thenReturn(Stream.of(
+                new EnergyAssessmentResponse(null, dayBefore, 2, "testuser", null, null),
+                new EnergyAssessmentResponse(null, today, 9, "testuser", null, null)));
+
+        List<DailyDataResponse> streamed = new ArrayList<>();
+        dailyDataService.streamDailyDataRange("testuser", dayBefore, today, streamed::add);
+
+        assertThat(streamed).extracting(DailyDataResponse::date).containsExactly(dayBefore, yesterday, today);
+        assertThat(streamed.get(0).tasks()).extracting(TaskResponse::id).containsExactly(1L);
+        assertThat(streamed.get(0).energyAssessment().energyLevel()).isEqualTo(2);
+        assertThat(streamed.get(1).tasks()).isEmpty();
+        assertThat(streamed.get(1).reflection().energyRating()).isEqualTo(5);
+        assertThat(streamed.get(1).energyAssessment()).isNull();
+        assertThat(streamed.get(2).tasks()).extracting(TaskResponse::id).containsExactly(2L, 3L);
+        assertThat(streamed.get(2).stats().completedTasks()).isEqualTo(1);
+        assertThat(streamed.get(2).reflection()).isNull();
+        assertThat(streamed.get(2).stats().averageEnergyLevel()).isEqualTo(9.0);
+        verify(taskRepository, never()).findResponsesByUserIdAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc(any(), any(), any());
+    }
+
+    @Test
+    void getDailyDataRange_ShouldThrowResourceNotFoundException_WhenUserNotExists() {
+        when(requestUserContext.getUserId("unknown"))
+            .thenThrow(new ResourceNotFoundException("User", "username", "unknown"));
+
+        assertThatThrownBy(() -> dailyDataService.getDailyDataRange("unknown", yesterday, today))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("User not found with username: 'unknown'");
+
+        verify(taskRepository, never()).findResponsesByUserIdAndDateBetweenOrderByDateAscStarredDescCreatedAtAsc(any(), any(), any());
+    }
+
+    @Test
+    void getActivityCalendar_ShouldReturnOneFlagPerDayFromBitmaps() {
+        when(requestUserContext.getUserId("testuser")).thenReturn(1L);
+        when(activityBitmapCache.flags(1L, yesterday, today))
+            .thenReturn(new int[] {ActivityBitmapCache.HAS_REFLECTION, ActivityBitmapCache.HAS_TASKS});
+
+        ActivityCalendarResponse calendar = dailyDataService.getActivityCalendar("testuser", yesterday, today);
+
+        assertThat(calendar.days()).containsExactly(ActivityBitmapCache.HAS_REFLECTION, ActivityBitmapCache.HAS_TASKS);
+        verify(businessValidationService).validateCalendarRange(yesterday, today);
+        verifyNoInteractions(taskRepository, reflectionRepository, energyAssessmentRepository);
+    }
+
+    @Test
+    void getHeatmap_ShouldFillParallelArraysForEveryDayOfYearFromOneRangeRead() {
+        int year = today.getYear();
+        LocalDate newYearsDay = LocalDate.of(year, 1, 1);
+        LocalDate newYearsEve = LocalDate.of(year, 12, 31);
+        when(requestUserContext.getUserId("testuser")).thenReturn(1L);
+        when(dailySummaryRepository.findActivityByUserIdAndDateBetween(1L, newYearsDay, newYearsEve))
+            .thenReturn(List.of(
+                new DayActivity(newYearsDay.plusDays(1), 4, 3, null, 2),
+                new DayActivity(newYearsEve, 0, 0, 9, null)));
+
+        HeatmapResponse heatmap = dailyDataService.getHeatmap("testuser", year);
+
+        int days = newYearsDay.lengthOfYear();
+        assertThat(heatmap.startDate()).isEqualTo(newYearsDay);
+        assertThat(heatmap.totalTasks()).hasSize(days).startsWith(0, 4);
+        assertThat(heatmap.completedTasks()).hasSize(days).startsWith(0, 3);
+        assertThat(heatmap.energyLevels()).hasSize(days).startsWith(null, 2);
+        assertThat(heatmap.energyRatings()).hasSize(days).endsWith(9);
+        verify(businessValidationService).validateHeatmapYear(year);
+        verifyNoInteractions(taskRepository, reflectionRepository, energyAssessmentRepository);
+    }
+
+    private TaskResponse createTask(Long id, LocalDate date, boolean completed, boolean starred) {
+        return new TaskResponse(id, "Task " + id, null, date, completed, starred, "testuser", null, null);
+    }
+
+    private Reflection createReflection(LocalDate date, int energyRating) {
+        Reflection reflection = new Reflection();
+        reflection.setDate(date);
+        reflection.setEnergyRating(energyRating);
+        reflection.setUser(testUser);
+        return reflection;
+    }
+}
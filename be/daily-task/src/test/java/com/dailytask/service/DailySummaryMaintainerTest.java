@@ -0,0 +1,139 @@
+package com.dailytask.service;
+
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.EnergyTotalsRepository;
+import com.dailytask.repository.MonthlyEnergySummaryRepository;
+import com.dailytask.repository.projection.DayActivity;
+import com.dailytask.repository.projection.RefreshedDay;
+import com.dailytask.service.cache.ActivityBitmapCache;
+import com.dailytask.service.summary.DailySummaryMaintainer;
+import com.dailytask.service.summary.StreakMaintainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailySummaryMaintainerTest {
+
+    @Mock
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Mock
+    private MonthlyEnergySummaryRepository monthlyEnergySummaryRepository;
+
+    @Mock
+    private EnergyTotalsRepository energyTotalsRepository;
+
+    @Mock
+    private StreakMaintainer streakMaintainer;
+
+    @Mock
+    private ActivityBitmapCache activityBitmapCache;
+
+    @InjectMocks
+    private DailySummaryMaintainer dailySummaryMaintainer;
+
+    @Test
+    void refresh_ShouldLockThenRecomputeDistinctDaysInDateOrder() {
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        LocalDate[] expected = {yesterday, today};
+        when(dailySummaryRepository.refreshDays(1L, expected)).thenReturn(List.of(
+            refreshedDay(yesterday, 1, 1, null, null, null, null), refreshedDay(today, 0, 0, 6, null, 6, null)));
+
+        dailySummaryMaintainer.refresh(1L, List.of(today, yesterday, today));
+
+        List<DayActivity> activity = List.of(
+            new DayActivity(yesterday, 1, 1, null, null), new DayActivity(today, 0, 0, 6, null));
+        InOrder inOrder = inOrder(dailySummaryRepository, streakMaintainer, activityBitmapCache);
+        inOrder.verify(dailySummaryRepository).lockDays(1L, expected);
+        inOrder.verify(dailySummaryRepository).refreshDays(1L, expected);
+        inOrder.verify(streakMaintainer).update(1L, activity);
+        inOrder.verify(activityBitmapCache).updateOnCommit(1L, activity);
+        verifyNoMoreInteractions(dailySummaryRepository);
+        verifyNoInteractions(energyTotalsRepository, monthlyEnergySummaryRepository);
+    }
+
+    @Test
+    void refresh_ShouldSkipStatements_WhenNoDaysTouched() {
+        dailySummaryMaintainer.refresh(1L, List.of());
+
+        verify(dailySummaryRepository, never()).lockDays(any(), any());
+        verifyNoMoreInteractions(dailySummaryRepository);
+        verifyNoInteractions(streakMaintainer, activityBitmapCache);
+    }
+
+    @Test
+    void refreshEnergy_ShouldAddEachDaysChangeToTotalsThenTouchedMonths() {
+        LocalDate lastOfJanuary = LocalDate.of(2026, 1, 31);
+        LocalDate firstOfFebruary = LocalDate.of(2026, 2, 1);
+        LocalDate midFebruary = LocalDate.of(2026, 2, 14);
+        LocalDate[] days = {lastOfJanuary, firstOfFebruary, midFebruary};
+        when(dailySummaryRepository.refreshDays(1L, days)).thenReturn(List.of(
+            refreshedDay(lastOfJanuary, 0, 0, null, 3, null, null),
+            refreshedDay(firstOfFebruary, 0, 0, 7, null, 5, null),
+            refreshedDay(midFebruary, 0, 0, null, 4, null, 4)));
+
+        dailySummaryMaintainer.refreshEnergy(1L, List.of(midFebruary, lastOfJanuary, firstOfFebruary));
+
+        InOrder inOrder = inOrder(dailySummaryRepository, energyTotalsRepository, monthlyEnergySummaryRepository);
+        inOrder.verify(dailySummaryRepository).lockDays(1L, days);
+        inOrder.verify(dailySummaryRepository).refreshDays(1L, days);
+        inOrder.verify(energyTotalsRepository).addToTotals(1L, 3, 1, 2, 0);
+        inOrder.verify(monthlyEnergySummaryRepository).addToMonths(1L, new LocalDate[] {LocalDate.of(2026, 1, 1), firstOfFebruary},
+            new Long[] {3L, 0L}, new Long[] {1L, 0L}, new Long[] {0L, 2L}, new Long[] {0L, 0L});
+        verify(energyTotalsRepository, never()).lockUser(any());
+        verify(monthlyEnergySummaryRepository, never()).refreshMonths(any(), any());
+    }
+
+    @Test
+    void refreshEnergy_ShouldSkipAggregates_WhenNoEnergyValueChanged() {
+        LocalDate today = LocalDate.now();
+        when(dailySummaryRepository.refreshDays(1L, new LocalDate[] {today}))
+            .thenReturn(List.of(refreshedDay(today, 0, 0, 6, 4, 6, 4)));
+
+        dailySummaryMaintainer.refreshEnergy(1L, today);
+
+        verifyNoInteractions(energyTotalsRepository, monthlyEnergySummaryRepository);
+    }
+
+    @Test
+    void rebuild_ShouldReplaceStreaksBetweenDayAndEnergyLocks() {
+        LocalDate today = LocalDate.now();
+
+        dailySummaryMaintainer.rebuild(1L, List.of(today));
+
+        InOrder inOrder = inOrder(dailySummaryRepository, streakMaintainer, energyTotalsRepository);
+        inOrder.verify(dailySummaryRepository).refreshDays(1L, new LocalDate[] {today});
+        inOrder.verify(streakMaintainer).rebuild(1L);
+        inOrder.verify(energyTotalsRepository).lockUser(1L);
+        verify(activityBitmapCache).invalidateOnCommit(1L);
+        verify(streakMaintainer, never()).update(any(), any());
+    }
+
+    private static RefreshedDay refreshedDay(LocalDate date, long totalTasks, long completedTasks,
+                                             Integer energyRating, Integer energyLevel,
+                                             Integer previousEnergyRating, Integer previousEnergyLevel) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("date", date);
+        row.put("totalTasks", totalTasks);
+        row.put("completedTasks", completedTasks);
+        row.put("energyRating", energyRating);
+        row.put("energyLevel", energyLevel);
+        row.put("previousEnergyRating", previousEnergyRating);
+        row.put("previousEnergyLevel", previousEnergyLevel);
+        return new SpelAwareProxyProjectionFactory().createProjection(RefreshedDay.class, row);
+    }
+}
@@ -0,0 +1,81 @@
+package com.dailytask.service;
+
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.EnergyTotalsRepository;
+import com.dailytask.repository.MonthlyEnergySummaryRepository;
+import com.dailytask.repository.projection.EnergySums;
+import com.dailytask.service.summary.EnergyAverages;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnergyAveragesTest {
+
+    @Mock
+    private EnergyTotalsRepository energyTotalsRepository;
+
+    @Mock
+    private MonthlyEnergySummaryRepository monthlyEnergySummaryRepository;
+
+    @Mock
+    private DailySummaryRepository dailySummaryRepository;
+
+    @InjectMocks
+    private EnergyAverages energyAverages;
+
+    @Test
+    void sums_ShouldCombineFullMonthBucketsWithPartialEdgeDays() {
+        when(monthlyEnergySummaryRepository.findSumsByUserIdAndMonthBetween(1L, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 4, 1)))
+            .thenReturn(new EnergySums(60, 10, 14, 2));
+        when(dailySummaryRepository.findEnergySumsByUserIdAndDateBetweenEither(1L,
+                LocalDate.of(2026, 1, 20), LocalDate.of(2026, 1, 31), LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 3)))
+            .thenReturn(new EnergySums(4, 2, 0, 0));
+
+        EnergySums sums = energyAverages.sums(1L, LocalDate.of(2026, 1, 20), LocalDate.of(2026, 5, 3));
+
+        assertThat(sums.averageEnergyLevel()).isEqualTo(64.0 / 12);
+        assertThat(sums.averageEnergyRating()).isEqualTo(7.0);
+    }
+
+    @Test
+    void sums_ShouldReadOnlyBuckets_WhenRangeIsWholeMonths() {
+        when(monthlyEnergySummaryRepository.findSumsByUserIdAndMonthBetween(1L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1)))
+            .thenReturn(new EnergySums(9, 3, 0, 0));
+
+        EnergySums sums = energyAverages.sums(1L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 28));
+
+        assertThat(sums.averageEnergyLevel()).isEqualTo(3.0);
+        assertThat(sums.averageEnergyRating()).isNull();
+        verifyNoInteractions(dailySummaryRepository);
+    }
+
+    @Test
+    void sums_ShouldReadDaysOnly_WhenRangeCoversNoWholeMonth() {
+        when(dailySummaryRepository.findEnergySumsByUserIdAndDateBetweenEither(eq(1L),
+                eq(LocalDate.of(2026, 1, 20)), eq(LocalDate.of(2026, 2, 10)), any(), any()))
+            .thenReturn(new EnergySums(5, 1, 8, 1));
+
+        EnergySums sums = energyAverages.sums(1L, LocalDate.of(2026, 1, 20), LocalDate.of(2026, 2, 10));
+
+        assertThat(sums.averageEnergyLevel()).isEqualTo(5.0);
+        verifyNoInteractions(monthlyEnergySummaryRepository);
+    }
+
+    @Test
+    void sums_ShouldReadTotalsRow_ForAllTimeAverages() {
+        when(energyTotalsRepository.findSumsByUserId(1L)).thenReturn(Optional.empty());
+
+        assertThat(energyAverages.sums(1L)).isEqualTo(EnergySums.EMPTY);
+        assertThat(EnergySums.EMPTY.averageEnergyLevel()).isNull();
+    }
+}
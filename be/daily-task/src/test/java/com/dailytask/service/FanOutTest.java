@@ -0,0 +1,134 @@
+package com.dailytask.service;
+
+import com.dailytask.exception.ResourceNotFoundException;
+import com.dailytask.service.concurrent.FanOut;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FanOutTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void join_ShouldRunForksInParallel() {
+        FanOut fanOut = new FanOut(executor, 4);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (FanOut.Scope scope = fanOut.open()) {
+            // Each fork only finishes once the other one has started
+            FanOut.Subtask<String> first = scope.fork(() -> awaitThenReturn(bothStarted, "first"));
+            FanOut.Subtask<String> second = scope.fork(() -> awaitThenReturn(bothStarted, "second"));
+            scope.join();
+
+            assertThat(first.get()).isEqualTo("first");
+            assertThat(second.get()).isEqualTo("second");
+        }
+    }
+
+    @Test
+    void join_ShouldRethrowFirstFailureUnwrapped() {
+        FanOut fanOut = new FanOut(executor, 4);
+
+        try (FanOut.Scope scope = fanOut.open()) {
+            scope.fork(() -> {
+                throw new ResourceNotFoundException("User", "username", "ghost");
+            });
+            scope.fork(() -> "ok");
+
+            assertThatThrownBy(scope::join)
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("User not found with username: 'ghost'");
+        }
+    }
+
+    @Test
+    void join_ShouldInterruptRemainingForks_WhenOneFails() throws InterruptedException {
+        FanOut fanOut = new FanOut(executor, 4);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+
+        try (FanOut.Scope scope = fanOut.open()) {
+            scope.fork(() -> {
+                slowStarted.countDown();
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException e) {
+                    slowInterrupted.countDown();
+                }
+                return "slow";
+            });
+            scope.fork(() -> {
+                awaitQuietly(slowStarted);
+                throw new ResourceNotFoundException("User", "username", "ghost");
+            });
+
+            assertThatThrownBy(scope::join).isInstanceOf(ResourceNotFoundException.class);
+        }
+
+        assertThat(slowInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void fork_ShouldNeverRunMoreReadsThanPermits() {
+        FanOut fanOut = new FanOut(executor, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        try (FanOut.Scope scope = fanOut.open()) {
+            for (int i = 0; i < 8; i++) {
+                scope.fork(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(20);
+                    running.decrementAndGet();
+                    return null;
+                });
+            }
+            scope.join();
+        }
+
+        assertThat(peak.get()).isEqualTo(2);
+    }
+
+    private static String awaitThenReturn(CountDownLatch latch, String value) {
+        latch.countDown();
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Forks did not run in parallel");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return value;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.dailytask.service;
+
+import com.dailytask.entity.User;
+import com.dailytask.repository.UserRepository;
+import com.dailytask.repository.projection.UsernameEntry;
+import com.dailytask.service.search.InMemoryUsernameSearch;
+import com.dailytask.service.search.UserSearchMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryUsernameSearchTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final Map<Long, User> users = new LinkedHashMap<>();
+
+    private InMemoryUsernameSearch usernameSearch;
+
+    @BeforeEach
+    void setUp() {
+        for (String username : List.of("Ann", "annabel", "joanna", "hannah", "jo_ann", "bob")) {
+            addUser(username);
+        }
+        lenient().when(userRepository.findAllUsernames()).thenAnswer(invocation -> users.values().stream()
+            .map(user -> new UsernameEntry(user.getId(), user.getUsername()))
+            .toList());
+        lenient().when(userRepository.findAllById(anyIterable())).thenAnswer(invocation ->
+            ((Collection<?>) invocation.getArgument(0)).stream().map(users::get).filter(Objects::nonNull).toList());
+        usernameSearch = new InMemoryUsernameSearch(userRepository);
+    }
+
+    @Test
+    void search_ShouldRankExactThenPrefixThenSimilarity_WhenContains() {
+        // jo_ann shares the whole word "ann" with the term; hannah and joanna only one trigram each
+        assertThat(usernames(usernameSearch.search("ann", UserSearchMode.CONTAINS, 10)))
+            .containsExactly("Ann", "annabel", "jo_ann", "hannah", "joanna");
+    }
+
+    @Test
+    void search_ShouldOnlyMatchNameStarts_WhenPrefix() {
+        assertThat(usernames(usernameSearch.search("ann", UserSearchMode.PREFIX, 10)))
+            .containsExactly("Ann", "annabel");
+        assertThat(usernameSearch.search("nna", UserSearchMode.PREFIX, 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldReturnAtMostLimitUsers() {
+        assertThat(usernames(usernameSearch.search("a", UserSearchMode.CONTAINS, 2)))
+            .containsExactly("Ann", "annabel");
+    }
+
+    @Test
+    void search_ShouldLoadUsernamesOnceAndFollowCreatesAndDeletes() {
+        usernameSearch.search("bob", UserSearchMode.CONTAINS, 10);
+
+        User bobby = addUser("bobby");
+        usernameSearch.userCreated(bobby.getId(), bobby.getUsername());
+        usernameSearch.userDeleted(6L);
+
+        assertThat(usernames(usernameSearch.search("bob", UserSearchMode.CONTAINS, 10))).containsExactly("bobby");
+        verify(userRepository, times(1)).findAllUsernames();
+    }
+
+    @Test
+    void search_ShouldNotReadUsers_WhenNothingMatches() {
+        assertThat(usernameSearch.search("zed", UserSearchMode.CONTAINS, 10)).isEmpty();
+        verify(userRepository, never()).findAllById(anyIterable());
+    }
+
+    private User addUser(String username) {
+        User user = new User();
+        user.setId((long) users.size() + 1);
+        user.setUsername(username);
+        users.put(user.getId(), user);
+        return user;
+    }
+
+    private static List<String> usernames(List<User> found) {
+        return found.stream().map(User::getUsername).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.dailytask.service;
+
+import com.dailytask.dto.response.CursorPageResponse;
+import com.dailytask.dto.response.SearchResultResponse;
+import com.dailytask.repository.SearchRepository;
+import com.dailytask.repository.projection.SearchHit;
+import com.dailytask.service.context.RequestUserContext;
+import com.dailytask.service.impl.SearchServiceImpl;
+import com.dailytask.service.pagination.SearchCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 15);
+
+    @Mock
+    private SearchRepository searchRepository;
+
+    @Mock
+    private RequestUserContext requestUserContext;
+
+    private SearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SearchServiceImpl(searchRepository, requestUserContext, 2, 100);
+    }
+
+    @Test
+    void search_ShouldReturnCursorAfterLastHit_WhenMoreHitsThanPageSize() {
+        when(requestUserContext.getUserId("testuser")).thenReturn(1L);
+        SearchCursor first = SearchCursor.FIRST;
+        when(searchRepository.search(1L, "plan", first.rank(), first.date(), first.type(), first.id(), 3)).thenReturn(List.of(
+            new Hit("TASK", 7L, DATE, 0.9f, "Plan trip", null),
+            new Hit("REFLECTION", 3L, DATE, 0.5f, null, "Good plan"),
+            new Hit("TASK", 5L, DATE.minusDays(1), 0.5f, "Plan", null)));
+
+        CursorPageResponse<SearchResultResponse> page = searchService.search("testuser", "plan", null, null);
+
+        assertThat(page.items()).extracting(SearchResultResponse::id).containsExactly(7L, 3L);
+        assertThat(SearchCursor.decode(page.nextCursor())).isEqualTo(new SearchCursor(0.5f, DATE, "REFLECTION", 3L));
+    }
+
+    @Test
+    void search_ShouldEscapeTextAndMarkMatches() {
+        when(requestUserContext.getUserId("testuser")).thenReturn(1L);
+        when(searchRepository.search(eq(1L), eq("zebra"), anyFloat(), any(), any(), anyLong(), eq(3))).thenReturn(List.of(
+            new Hit("TASK", 7L, DATE, 0.6f, "Feed <b>the</b> " + SearchHit.MATCH_START + "zebra" + SearchHit.MATCH_END, "a & b")));
+
+        CursorPageResponse<SearchResultResponse> page = searchService.search("testuser", "zebra", null, null);
+
+        assertThat(page.items().get(0).title()).isEqualTo("Feed &lt;b&gt;the&lt;/b&gt; <mark>zebra</mark>");
+        assertThat(page.items().get(0).snippet()).isEqualTo("a &amp; b");
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void search_ShouldRejectBlankQueryAndInvalidCursor() {
+        assertThatThrownBy(() -> searchService.search("testuser", " ", null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchService.search("testuser", "plan", "not-a-cursor", null))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(searchRepository);
+    }
+
+    private record Hit(String getType, Long getId, LocalDate getDate, Float getRank, String getTitle, String getSnippet)
+        implements SearchHit {
+    }
+}
@@ -0,0 +1,95 @@
+package com.dailytask.service;
+
+import com.dailytask.entity.ActivityKind;
+import com.dailytask.repository.ActivityRunRepository;
+import com.dailytask.repository.ActivityStreakRepository;
+import com.dailytask.repository.projection.ActivitySpan;
+import com.dailytask.repository.projection.DayActivity;
+import com.dailytask.service.summary.StreakMaintainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreakMaintainerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Mock
+    private ActivityRunRepository activityRunRepository;
+
+    @Mock
+    private ActivityStreakRepository activityStreakRepository;
+
+    @InjectMocks
+    private StreakMaintainer streakMaintainer;
+
+    @Test
+    void update_ShouldTakeNoLock_WhenActivityDidNotChange() {
+        List<DayActivity> activity = List.of(new DayActivity(DAY, 2, 1, null, null));
+        when(activityRunRepository.findSpansByUserIdContainingAny(1L, List.of(DAY)))
+            .thenReturn(List.of(new ActivitySpan(ActivityKind.TASKS, DAY.minusDays(3), DAY)));
+
+        streakMaintainer.update(1L, activity);
+
+        verify(activityStreakRepository, never()).lock(any(), anyString());
+        verify(activityRunRepository, never()).insertRun(any(), any(), any(), any());
+    }
+
+    @Test
+    void update_ShouldBridgeNeighbouringRunsWithOneLookup_WhenDayBecomesActive() {
+        ActivitySpan before = new ActivitySpan(ActivityKind.REFLECTIONS, DAY.minusDays(4), DAY.minusDays(1));
+        ActivitySpan after = new ActivitySpan(ActivityKind.REFLECTIONS, DAY.plusDays(1), DAY.plusDays(2));
+        List<DayActivity> activity = List.of(new DayActivity(DAY, 0, 0, 7, null));
+        when(activityRunRepository.findSpansByUserIdContainingAny(1L, List.of(DAY))).thenReturn(List.of());
+        when(activityRunRepository.findNeighbourSpansByUserIdAndKind(1L, ActivityKind.REFLECTIONS, DAY.minusDays(1), DAY.plusDays(1)))
+            .thenReturn(List.of(before, after));
+
+        streakMaintainer.update(1L, activity);
+
+        verify(activityStreakRepository).lock(1L, "REFLECTIONS");
+        verify(activityRunRepository).deleteRun(1L, "REFLECTIONS", DAY.plusDays(1));
+        verify(activityRunRepository).updateEndDate(1L, "REFLECTIONS", DAY.minusDays(4), DAY.plusDays(2));
+        verify(activityStreakRepository).updateLongest(1L, "REFLECTIONS", DAY.minusDays(4), DAY.plusDays(2));
+        verify(activityStreakRepository, never()).lock(1L, "TASKS");
+    }
+
+    @Test
+    void update_ShouldSplitLoadedRunWithoutLookingItUp_WhenDayBecomesInactive() {
+        ActivitySpan run = new ActivitySpan(ActivityKind.TASKS, DAY.minusDays(5), DAY.plusDays(5));
+        List<DayActivity> activity = List.of(new DayActivity(DAY, 0, 0, null, null));
+        when(activityRunRepository.findSpansByUserIdContainingAny(1L, List.of(DAY))).thenReturn(List.of(run));
+
+        streakMaintainer.update(1L, activity);
+
+        verify(activityRunRepository).updateEndDate(1L, "TASKS", DAY.minusDays(5), DAY.minusDays(1));
+        verify(activityRunRepository).insertRun(1L, "TASKS", DAY.plusDays(1), DAY.plusDays(5));
+        verify(activityStreakRepository).refreshLongestContaining(1L, "TASKS", DAY);
+        verify(activityRunRepository, never()).findNeighbourSpansByUserIdAndKind(any(), any(), any(), any());
+    }
+
+    @Test
+    void update_ShouldCutRunsLeftByEarlierDays_WhenSeveralDaysOfOneRunBecomeInactive() {
+        ActivitySpan run = new ActivitySpan(ActivityKind.TASKS, DAY.minusDays(5), DAY.plusDays(5));
+        List<DayActivity> activity = List.of(new DayActivity(DAY, 0, 0, null, null),
+            new DayActivity(DAY.plusDays(2), 0, 0, null, null));
+        when(activityRunRepository.findSpansByUserIdContainingAny(1L, List.of(DAY, DAY.plusDays(2)))).thenReturn(List.of(run));
+
+        streakMaintainer.update(1L, activity);
+
+        verify(activityRunRepository).updateEndDate(1L, "TASKS", DAY.minusDays(5), DAY.minusDays(1));
+        verify(activityRunRepository).insertRun(1L, "TASKS", DAY.plusDays(1), DAY.plusDays(5));
+        // The second day falls in the run the first one split off
+        verify(activityRunRepository).updateEndDate(1L, "TASKS", DAY.plusDays(1), DAY.plusDays(1));
+        verify(activityRunRepository).insertRun(1L, "TASKS", DAY.plusDays(3), DAY.plusDays(5));
+    }
+}
@@ -0,0 +1,72 @@
+package com.dailytask.service;
+
+import com.dailytask.dto.response.StreakResponse;
+import com.dailytask.entity.ActivityKind;
+import com.dailytask.repository.ActivityRunRepository;
+import com.dailytask.repository.ActivityStreakRepository;
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.projection.ActivitySpan;
+import com.dailytask.repository.projection.DayActivity;
+import com.dailytask.service.context.RequestUserContext;
+import com.dailytask.service.impl.StreakServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreakServiceTest {
+
+    @Mock
+    private ActivityRunRepository activityRunRepository;
+
+    @Mock
+    private ActivityStreakRepository activityStreakRepository;
+
+    @Mock
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Mock
+    private RequestUserContext requestUserContext;
+
+    @InjectMocks
+    private StreakServiceImpl streakService;
+
+    @Test
+    void getStreaks_ShouldCountCurrentRunUpToAsOfAndBuildWindowsFromRecentDays() {
+        LocalDate today = LocalDate.of(2026, 3, 31);
+        when(requestUserContext.getUserId("testuser")).thenReturn(1L);
+        when(activityRunRepository.findCurrentSpansByUserId(1L, today, today.minusDays(1))).thenReturn(List.of(
+            new ActivitySpan(ActivityKind.TASKS, today.minusDays(2), today.plusDays(3)),
+            new ActivitySpan(ActivityKind.REFLECTIONS, today.minusDays(4), today.minusDays(1))));
+        when(activityStreakRepository.findLongestSpansByUserId(1L)).thenReturn(List.of(
+            new ActivitySpan(ActivityKind.TASKS, today.minusDays(40), today.minusDays(31))));
+        when(dailySummaryRepository.findActivityByUserIdAndDateBetween(1L, today.minusDays(89), today)).thenReturn(List.of(
+            new DayActivity(today.minusDays(20), 4, 4, null, 3),
+            new DayActivity(today.minusDays(1), 2, 1, 6, null),
+            new DayActivity(today, 2, 0, null, null)));
+
+        StreakResponse response = streakService.getStreaks("testuser", today);
+
+        assertThat(response.tasks().currentStreak()).isEqualTo(3);
+        assertThat(response.tasks().longestStreak()).isEqualTo(10);
+        assertThat(response.reflections().currentStreak()).isEqualTo(4);
+        assertThat(response.reflections().longestStreak()).isZero();
+        assertThat(response.energyAssessments().currentStreakStart()).isNull();
+
+        StreakResponse.Window week = response.tasks().windows().get(0);
+        assertThat(week.days()).isEqualTo(7);
+        assertThat(week.activeDays()).isEqualTo(2);
+        assertThat(week.completionRate()).isEqualTo(0.25);
+        assertThat(response.tasks().windows().get(1).completionRate()).isEqualTo(0.625);
+        assertThat(response.energyAssessments().windows().get(1).activeDays()).isEqualTo(1);
+        assertThat(response.energyAssessments().windows().get(1).completionRate()).isNull();
+    }
+}
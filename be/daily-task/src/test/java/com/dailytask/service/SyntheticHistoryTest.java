@@ -0,0 +1,78 @@
+package com.dailytask.service;
+
+import com.dailytask.dataset.DatasetProperties;
+import com.dailytask.dataset.SyntheticHistory;
+import com.dailytask.dataset.SyntheticUser;
+import com.dailytask.entity.ActivityKind;
+import com.dailytask.repository.projection.ActivitySpan;
+import com.dailytask.repository.projection.EnergySums;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class SyntheticHistoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    private final SyntheticHistory history = new SyntheticHistory(new DatasetProperties(100, 2, 4, "synthetic", 42, 10), TODAY);
+
+    @Test
+    void user_ShouldBeSameForSameIndex_AndDifferForOtherIndexes() {
+        assertThat(history.user(7)).isEqualTo(history.user(7));
+        assertThat(history.user(7).username()).isEqualTo("synthetic-7");
+        assertThat(history.user(8).days()).isNotEqualTo(history.user(7).days());
+    }
+
+    @Test
+    void user_ShouldOnlyGenerateWhatTheApiWouldAccept() {
+        List<SyntheticUser> users = IntStream.range(0, 100).mapToObj(history::user).toList();
+
+        for (SyntheticUser user : users) {
+            assertThat(user.days()).extracting(SyntheticUser.Day::date)
+                .isSorted()
+                .doesNotHaveDuplicates()
+                .allMatch(date -> !date.isBefore(TODAY.minusYears(2)) && !date.isAfter(TODAY.plusDays(7)));
+            for (SyntheticUser.Day day : user.days()) {
+                assertThat(day.tasks()).hasSizeLessThanOrEqualTo(50);
+                assertThat(day.energyLevel()).satisfiesAnyOf(level -> assertThat(level).isNull(), level -> assertThat(level).isBetween(1, 5));
+                assertThat(day.energyRating()).satisfiesAnyOf(rating -> assertThat(rating).isNull(), rating -> assertThat(rating).isBetween(1, 10));
+                if (day.date().isAfter(TODAY)) {
+                    assertThat(day.tasks()).noneMatch(SyntheticUser.Task::completed);
+                    assertThat(day.energyLevel()).isNull();
+                    assertThat(day.energyRating()).isNull();
+                }
+            }
+        }
+        assertThat(users).flatMap(SyntheticUser::days).hasSizeGreaterThan(10_000);
+    }
+
+    @Test
+    void runsAndEnergyByMonth_ShouldMatchTheDays() {
+        LocalDate first = LocalDate.of(2026, 1, 30);
+        SyntheticUser user = new SyntheticUser("synthetic-0", first.atStartOfDay(), List.of(
+            day(first, 1, 8),
+            day(first.plusDays(1), null, 6),
+            day(first.plusDays(2), 3, null),
+            day(first.plusDays(4), 4, null)));
+
+        assertThat(user.runs(ActivityKind.ENERGY_ASSESSMENTS)).containsExactly(
+            new ActivitySpan(ActivityKind.ENERGY_ASSESSMENTS, first, first),
+            new ActivitySpan(ActivityKind.ENERGY_ASSESSMENTS, first.plusDays(2), first.plusDays(2)),
+            new ActivitySpan(ActivityKind.ENERGY_ASSESSMENTS, first.plusDays(4), first.plusDays(4)));
+        assertThat(user.runs(ActivityKind.REFLECTIONS)).containsExactly(
+            new ActivitySpan(ActivityKind.REFLECTIONS, first, first.plusDays(1)));
+        assertThat(user.runs(ActivityKind.TASKS)).isEmpty();
+        assertThat(user.energyByMonth()).containsExactly(
+            entry(LocalDate.of(2026, 1, 1), new EnergySums(1, 1, 14, 2)),
+            entry(LocalDate.of(2026, 2, 1), new EnergySums(7, 2, 0, 0)));
+    }
+
+    private static SyntheticUser.Day day(LocalDate date, Integer energyLevel, Integer energyRating) {
+        return new SyntheticUser.Day(date, List.of(), energyLevel, energyRating, null);
+    }
+}
@@ -0,0 +1,285 @@
+package com.dailytask.service;
+
+import com.dailytask.dto.request.BulkTaskRequest;
+import com.dailytask.dto.response.BulkTaskResponse;
+import com.dailytask.dto.response.CursorPageResponse;
+import com.dailytask.dto.response.DailyTaskStatsResponse;
+import com.dailytask.dto.response.TaskStatsResponse;
+import com.dailytask.dto.response.TaskResponse;
+import com.dailytask.entity.Task;
+import com.dailytask.entity.User;
+import com.dailytask.exception.ResourceNotFoundException;
+import com.dailytask.mapper.TaskMapper;
+import com.dailytask.mapper.TaskMapperImpl;
+import com.dailytask.repository.DailySummaryRepository;
+import com.dailytask.repository.TaskRepository;
+import com.dailytask.repository.UserRepository;
+import com.dailytask.repository.projection.DailyTaskCounts;
+import com.dailytask.repository.projection.DayActivity;
+import com.dailytask.repository.projection.TaskStatsCounts;
+import com.dailytask.repository.projection.ToggledTask;
+import com.dailytask.service.context.RequestUserContext;
+import com.dailytask.service.impl.TaskServiceImpl;
+import com.dailytask.service.pagination.TaskCursor;
+import com.dailytask.service.summary.DailySummaryMaintainer;
+import com.dailytask.service.validation.BusinessValidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RequestUserContext requestUserContext;
+
+    @Mock
+    private BusinessValidationService businessValidationService;
+
+    @Mock
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Mock
+    private DailySummaryMaintainer dailySummaryMaintainer;
+
+    @Spy
+    private TaskMapper taskMapper = new TaskMapperImpl();
+
+    private TaskServiceImpl taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new TaskServiceImpl(taskRepository, userRepository, requestUserContext, taskMapper,
+            businessValidationService, dailySummaryRepository, dailySummaryMaintainer, 2, 3);
+    }
+
+    @Test
+    void toggleTaskCompletion_ShouldReturnRowFromSingleUpdateAndOnlyPatchBitmap() {
+        when(taskRepository.toggleCompletedByIdAndUsername(1L, "testuser"))
+            .thenReturn(Optional.of(toggledTask(true, false, 2L, 1L)));
+
+        TaskResponse response = taskService.toggleTaskCompletion("testuser", 1L);
+
+        assertThat(response.completed()).isTrue();
+        assertThat(response.username()).isEqualTo("testuser");
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any());
+        verify(dailySummaryMaintainer).toggled(10L, new DayActivity(LocalDate.now(), 2, 1, null, 3));
+        verify(dailySummaryMaintainer, never()).refresh(anyLong(), any(LocalDate.class));
+        verifyNoInteractions(requestUserContext);
+    }
+
+    @Test
+    void toggleTaskCompletion_ShouldRefreshDay_WhenDayHasNoSummaryRow() {
+        when(taskRepository.toggleCompletedByIdAndUsername(1L, "testuser"))
+            .thenReturn(Optional.of(toggledTask(true, false, null, null)));
+
+        taskService.toggleTaskCompletion("testuser", 1L);
+
+        verify(dailySummaryMaintainer).refresh(10L, LocalDate.now());
+        verify(dailySummaryMaintainer, never()).toggled(anyLong(), any());
+    }
+
+    @Test
+    void toggleTaskStar_ShouldReturnRowFromSingleUpdate() {
+        when(taskRepository.toggleStarredByIdAndUsername(1L, "testuser"))
+            .thenReturn(Optional.of(toggledTask(false, true, 2L, 0L)));
+
+        TaskResponse response = taskService.toggleTaskStar("testuser", 1L);
+
+        assertThat(response.starred()).isTrue();
+        verify(taskRepository, never()).save(any());
+        verifyNoInteractions(dailySummaryMaintainer);
+    }
+
+    @Test
+    void toggleTaskCompletion_ShouldThrowResourceNotFoundException_WhenTaskNotOwnedOrMissing() {
+        when(taskRepository.toggleCompletedByIdAndUsername(999L, "testuser")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.toggleTaskCompletion("testuser", 999L))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("Task not found with id: '999'");
+    }
+
+    @Test
+    void bulkWriteTasks_ShouldValidateOncePerDateAndWriteInBatches() {
+        LocalDate today = LocalDate.now();
+        LocalDate tomorrow = today.plusDays(1);
+        Task existing = createTask(1L, false, false);
+        Task doomed = createTask(2L, false, false);
+        when(requestUserContext.getUserId("testuser")).thenReturn(10L);
+        when(taskRepository.findByUserIdAndIdIn(eq(10L), anyCollection())).thenReturn(List.of(existing, doomed));
+        when(userRepository.getReferenceById(10L)).thenReturn(new User());
+
+        BulkTaskRequest request = new BulkTaskRequest(
+            List.of(
+                new BulkTaskRequest.Create("Plan", null, today),
+                new BulkTaskRequest.Create("Gym", null, today),
+                new BulkTaskRequest.Create("Call", null, tomorrow)),
+            List.of(new BulkTaskRequest.Update(1L, "Renamed", null, true, null)),
+            List.of(2L));
+
+        BulkTaskResponse response = taskService.bulkWriteTasks("testuser", request);
+
+        assertThat(response.created()).extracting(TaskResponse::title).containsExactly("Plan", "Gym", "Call");
+        assertThat(response.created()).allSatisfy(task -> {
+            assertThat(task.completed()).isFalse();
+            assertThat(task.starred()).isFalse();
+            assertThat(task.username()).isEqualTo("testuser");
+        });
+        assertThat(response.updated()).singleElement().satisfies(task -> {
+            assertThat(task.title()).isEqualTo("Renamed");
+            assertThat(task.completed()).isTrue();
+        });
+        assertThat(response.deleted()).containsExactly(2L);
+        // The deleted task frees one of today's slots
+        verify(businessValidationService).validateBulkTaskCreation(10L, Map.of(today, 1L, tomorrow, 1L));
+        verify(taskRepository).deleteAllByIdInBatch(List.of(2L));
+        verify(taskRepository).saveAll(anyList());
+        verify(taskRepository).flush();
+        verify(businessValidationService, never()).validateTaskCreation(any(), any());
+        verify(dailySummaryMaintainer).refresh(10L, Set.of(today, tomorrow));
+    }
+
+    @Test
+    void bulkWriteTasks_ShouldThrowResourceNotFoundException_WhenTargetNotOwned() {
+        when(requestUserContext.getUserId("testuser")).thenReturn(10L);
+        when(taskRepository.findByUserIdAndIdIn(eq(10L), anyCollection())).thenReturn(List.of());
+
+        BulkTaskRequest request = new BulkTaskRequest(null, null, List.of(5L));
+
+        assertThatThrownBy(() -> taskService.bulkWriteTasks("testuser", request))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("Task not found with id: '5'");
+        verify(taskRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void getAllTasksByUser_ShouldReturnCursorForNextPage_WhenMoreTasksExist() {
+        User user = new User();
+        Task last = createTask(7L, false, true);
+        last.setCreatedAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+        when(requestUserContext.getUserId("testuser")).thenReturn(10L);
+        when(userRepository.getReferenceById(10L)).thenReturn(user);
+        when(taskRepository.findByUserOrderByDateDescCreatedAtDescIdDesc(eq(user), eq(ScrollPosition.keyset()), eq(Limit.of(2))))
+            .thenReturn(Window.from(List.of(createTask(8L, false, false), last), ScrollPosition::offset, true));
+
+        CursorPageResponse<TaskResponse> page = taskService.getAllTasksByUser("testuser", null, null);
+
+        assertThat(page.items()).extracting(TaskResponse::id).containsExactly(8L, 7L);
+        assertThat(page.nextCursor()).isEqualTo(TaskCursor.encode(last));
+
+        KeysetScrollPosition position = (KeysetScrollPosition) TaskCursor.decode(page.nextCursor());
+        assertThat(position.getKeys())
+            .containsEntry("date", last.getDate())
+            .containsEntry("starred", true)
+            .containsEntry("createdAt", last.getCreatedAt())
+            .containsEntry("id", 7L);
+    }
+
+    @Test
+    void getStarredTasksByUser_ShouldClampPageSizeAndOmitCursorOnLastPage() {
+        User user = new User();
+        when(requestUserContext.getUserId("testuser")).thenReturn(10L);
+        when(userRepository.getReferenceById(10L)).thenReturn(user);
+        when(taskRepository.findByUserAndStarredTrueOrderByDateDescCreatedAtDescIdDesc(eq(user), any(), eq(Limit.of(3))))
+            .thenReturn(Window.from(List.of(createTask(1L, false, true)), ScrollPosition::offset, false));
+
+        CursorPageResponse<TaskResponse> page = taskService.getStarredTasksByUser("testuser", null, 500);
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void getIncompleteTasksByUser_ShouldRejectMalformedCursor() {
+        when(requestUserContext.getUserId("testuser")).thenReturn(10L);
+
+        assertThatThrownBy(() -> taskService.getIncompleteTasksByUser("testuser", "not-a-cursor", null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void getTaskStats_ShouldBuildResponseFromSingleAggregate() {
+        LocalDate today = LocalDate.now();
+        when(requestUserContext.getUserId("testuser")).thenReturn(10L);
+        when(taskRepository.findStatsByUserIdAndDate(10L, today)).thenReturn(new TaskStatsCounts(5, 2, 7));
+
+        TaskStatsResponse stats = taskService.getTaskStats("testuser", today);
+
+        assertThat(stats).isEqualTo(new TaskStatsResponse(5, 2, 7, 3));
+    }
+
+    @Test
+    void getDailyTaskStats_ShouldFillDaysWithoutTasks() {
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        when(requestUserContext.getUserId("testuser")).thenReturn(10L);
+        when(dailySummaryRepository.findDailyStatsByUserIdAndDateBetween(10L, yesterday, today))
+            .thenReturn(List.of(new DailyTaskCounts(today, 4, 1, 2)));
+
+        List<DailyTaskStatsResponse> stats = taskService.getDailyTaskStats("testuser", yesterday, today);
+
+        assertThat(stats).containsExactly(
+            new DailyTaskStatsResponse(yesterday, 0, 0, 0, 0),
+            new DailyTaskStatsResponse(today, 4, 1, 2, 3));
+        verify(businessValidationService).validateDateRange(yesterday, today);
+    }
+
+    private ToggledTask toggledTask(boolean completed, boolean starred, Long totalTasks, Long completedTasks) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1L);
+        row.put("title", "Task 1");
+        row.put("date", LocalDate.now());
+        row.put("completed", completed);
+        row.put("starred", starred);
+        row.put("userId", 10L);
+        row.put("totalTasks", totalTasks);
+        row.put("completedTasks", completedTasks);
+        row.put("energyLevel", 3);
+        return new SpelAwareProxyProjectionFactory().createProjection(ToggledTask.class, row);
+    }
+
+    private Task createTask(Long id, boolean completed, boolean starred) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setDate(LocalDate.now());
+        task.setCompleted(completed);
+        task.setStarred(starred);
+        User user = new User();
+        user.setId(10L);
+        task.setUser(user);
+        return task;
+    }
+}
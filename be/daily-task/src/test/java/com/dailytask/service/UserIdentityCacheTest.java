@@ -0,0 +1,137 @@
+package com.dailytask.service;
+
+import com.dailytask.entity.User;
+import com.dailytask.exception.ResourceNotFoundException;
+import com.dailytask.repository.UserRepository;
+import com.dailytask.service.cache.UserIdentityCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentityCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdentityCache userIdentityCache;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userIdentityCache = new UserIdentityCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+    }
+
+    @Test
+    void getUserId_ShouldHitRepositoryOnlyOnce_WhenCalledRepeatedly() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        assertThat(userIdentityCache.getUserId("testuser")).isEqualTo(1L);
+        assertThat(userIdentityCache.getUserId("testuser")).isEqualTo(1L);
+
+        verify(userRepository, times(1)).findByUsername("testuser");
+        assertThat(userIdentityCache.stats().hitCount()).isEqualTo(1);
+        assertThat(userIdentityCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getUserId_ShouldThrowResourceNotFoundException_WhenUserNotExists() {
+        when(userRepository.findByUsername("unknown")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userIdentityCache.getUserId("unknown"))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("User not found with username: 'unknown'");
+    }
+
+    @Test
+    void getUserId_ShouldNotCacheMissingUsers() {
+        when(userRepository.findByUsername("newuser"))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(testUser));
+
+        assertThatThrownBy(() -> userIdentityCache.getUserId("newuser"))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(userIdentityCache.getUserId("newuser")).isEqualTo(1L);
+    }
+
+    @Test
+    void invalidate_ShouldForceReload() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        userIdentityCache.getUserId("testuser");
+        userIdentityCache.invalidate("testuser");
+        userIdentityCache.getUserId("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void invalidateOnCommit_ShouldKeepEntryUntilCommit_WhenUserIsDeletedConcurrently() {
+        AtomicBoolean deleted = new AtomicBoolean();
+        when(userRepository.findByUsername("testuser"))
+            .thenAnswer(invocation -> deleted.get() ? Optional.empty() : Optional.of(testUser));
+        userIdentityCache.getUserId("testuser");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userIdentityCache.invalidateOnCommit("testuser");
+            // Another request before the commit still sees the row, and must not cache it past the commit
+            assertThat(userIdentityCache.getUserId("testuser")).isEqualTo(1L);
+
+            deleted.set(true);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThatThrownBy(() -> userIdentityCache.getUserId("testuser"))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void invalidateOnCommit_ShouldKeepEntry_WhenTransactionRollsBack() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        userIdentityCache.getUserId("testuser");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userIdentityCache.invalidateOnCommit("testuser");
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        userIdentityCache.getUserId("testuser");
+
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void invalidateOnCommit_ShouldDropEntryAtOnce_OutsideTransaction() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        userIdentityCache.getUserId("testuser");
+        userIdentityCache.invalidateOnCommit("testuser");
+        userIdentityCache.getUserId("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+}
@@ -5,14 +5,22 @@ import com.dailytask.dto.response.UserResponse;
 import com.dailytask.entity.User;
 import com.dailytask.exception.DuplicateResourceException;
 import com.dailytask.exception.ResourceNotFoundException;
+import com.dailytask.mapper.UserMapper;
+import com.dailytask.mapper.UserMapperImpl;
 import com.dailytask.repository.UserRepository;
+import com.dailytask.service.cache.UserIdentityCache;
 import com.dailytask.service.impl.UserServiceImpl;
+import com.dailytask.service.search.UserSearchMode;
+import com.dailytask.service.search.UsernameSearch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,13 +38,22 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private UserIdentityCache userIdentityCache;
+
+    @Mock
+    private UsernameSearch usernameSearch;
+
+    @Spy
+    private UserMapper userMapper = new UserMapperImpl();
+
     private UserServiceImpl userService;
 
     private User testUser;
 
     @BeforeEach
     void setUp() {
+        userService = new UserServiceImpl(userRepository, userMapper, userIdentityCache, usernameSearch, 20, 100);
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("testuser");
@@ -56,6 +73,42 @@ class UserServiceTest {
         assertThat(response.id()).isEqualTo(testUser.getId());
         verify(userRepository).existsByUsername("newuser");
         verify(userRepository).save(any(User.class));
+        verify(userIdentityCache).invalidateOnCommit("testuser");
+        verify(usernameSearch).userCreated(1L, "testuser");
+    }
+
+    @Test
+    void createUser_ShouldIndexUserOnlyOnCommit() {
+        when(userRepository.existsByUsername("newuser")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.createUser(new CreateUserRequest("newuser"));
+            verify(usernameSearch, never()).userCreated(any(), anyString());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(usernameSearch).userCreated(1L, "testuser");
+    }
+
+    @Test
+    void createUser_ShouldLeaveIndexUntouched_WhenTransactionRollsBack() {
+        when(userRepository.existsByUsername("newuser")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.createUser(new CreateUserRequest("newuser"));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(usernameSearch);
     }
 
     @Test
@@ -118,35 +171,52 @@ class UserServiceTest {
     @Test
     void searchUsers_ShouldReturnMatchingUsers() {
         List<User> users = List.of(testUser);
-        when(userRepository.findByUsernameContainingIgnoreCase("test")).thenReturn(users);
+        when(usernameSearch.search("test", UserSearchMode.CONTAINS, 20)).thenReturn(users);
 
-        List<UserResponse> responses = userService.searchUsers("test");
+        List<UserResponse> responses = userService.searchUsers(" Test ", UserSearchMode.CONTAINS, null);
 
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).username()).isEqualTo(testUser.getUsername());
-        verify(userRepository).findByUsernameContainingIgnoreCase("test");
+        verify(usernameSearch).search("test", UserSearchMode.CONTAINS, 20);
+    }
+
+    @Test
+    void searchUsers_ShouldCapLimit() {
+        when(usernameSearch.search("test", UserSearchMode.PREFIX, 100)).thenReturn(List.of());
+
+        assertThat(userService.searchUsers("test", UserSearchMode.PREFIX, 500)).isEmpty();
+    }
+
+    @Test
+    void searchUsers_ShouldRejectBlankTermAndInvalidLimit() {
+        assertThatThrownBy(() -> userService.searchUsers(" ", UserSearchMode.CONTAINS, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> userService.searchUsers("test", UserSearchMode.CONTAINS, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(usernameSearch);
     }
 
     @Test
     void deleteUser_ShouldDeleteUser_WhenUserExists() {
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
         userService.deleteUser(1L);
 
-        verify(userRepository).existsById(1L);
-        verify(userRepository).deleteById(1L);
+        verify(userRepository).delete(testUser);
+        verify(userIdentityCache).invalidateOnCommit("testuser");
+        verify(usernameSearch).userDeleted(1L);
     }
 
     @Test
     void deleteUser_ShouldThrowResourceNotFoundException_WhenUserNotExists() {
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userService.deleteUser(1L))
             .isInstanceOf(ResourceNotFoundException.class)
             .hasMessageContaining("User not found with id: '1'");
 
-        verify(userRepository).existsById(1L);
-        verify(userRepository, never()).deleteById(any());
+        verify(userRepository, never()).delete(any());
+        verifyNoInteractions(usernameSearch);
     }
 
     @Test